@@ -0,0 +1,18 @@
+package demo.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+// One ObjectMapper for the whole client: Spring Boot's, with Blackbird registered.
+// Controllers inject it and keep their ObjectReader instead of creating a mapper per request.
+@Configuration
+public class JsonConfig {
+
+	@Bean
+	public Module blackbirdModule() {
+		return new BlackbirdModule(); // generated accessors instead of reflection
+	}
+}
@@ -0,0 +1,61 @@
+package demo.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+// The one WebClient every service uses to reach the backend.
+// Its own connection pool: bounded connections, a bounded queue of requests waiting for one (beyond it the call
+// fails fast instead of piling up), idle / old connections evicted in the background, kept alive in between.
+// Built from Boot's WebClient.Builder, so it shares the application ObjectMapper and records
+// http.client.requests timers tagged with the route template (uri="/aii/objects/{systemID}/{id}").
+@Configuration
+public class WebClientConfig {
+
+	@Bean(destroyMethod = "dispose")
+	public ConnectionProvider backendConnectionProvider(
+			@Value("${backend.pool.max-connections:50}") int maxConnections,
+			@Value("${backend.pool.pending-acquire-max-count:500}") int pendingAcquireMaxCount,
+			@Value("${backend.pool.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMillis,
+			@Value("${backend.pool.max-idle-time-ms:30000}") long maxIdleTimeMillis,
+			@Value("${backend.pool.max-life-time-ms:300000}") long maxLifeTimeMillis) {
+		return ConnectionProvider.builder("backend")
+				.maxConnections(maxConnections)
+				.pendingAcquireMaxCount(pendingAcquireMaxCount)
+				.pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMillis))
+				.maxIdleTime(Duration.ofMillis(maxIdleTimeMillis)) // below the backend's keep-alive timeout
+				.maxLifeTime(Duration.ofMillis(maxLifeTimeMillis))
+				.evictInBackground(Duration.ofMillis(maxIdleTimeMillis / 2))
+				.metrics(true) // reactor.netty.connection.provider.* gauges (active / idle / pending)
+				.build();
+	}
+
+	@Bean
+	public WebClient backendWebClient(WebClient.Builder builder, ConnectionProvider backendConnectionProvider,
+			@Value("${backend.url}") String backendUrl,
+			@Value("${backend.connect-timeout-ms:2000}") int connectTimeoutMillis,
+			@Value("${backend.response-timeout-ms:5000}") long responseTimeoutMillis,
+			@Value("${backend.http2:false}") boolean http2) {
+		HttpClient httpClient = HttpClient.create(backendConnectionProvider)
+				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+				.responseTimeout(Duration.ofMillis(responseTimeoutMillis))
+				.keepAlive(true)
+				.compress(true) // Accept-Encoding: gzip, the backend compresses JSON responses
+				// h2c multiplexes requests over a few connections; needs server.http2.enabled on the backend
+				.protocol(http2 ? new HttpProtocol[] { HttpProtocol.H2C, HttpProtocol.HTTP11 }
+						: new HttpProtocol[] { HttpProtocol.HTTP11 });
+		return builder
+				.baseUrl(backendUrl)
+				.clientConnector(new ReactorClientHttpConnector(httpClient))
+				.build();
+	}
+}
@@ -1,5 +1,6 @@
 package demo.controller;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -8,7 +9,9 @@ import demo.model.UserBoundary;
 import demo.model.CommandBoundary;
 import java.util.List;
 
+// Blocking variant (profile "blocking"), see ReactiveAdminViewController
 @Controller
+@Profile("blocking")
 @RequestMapping("/admin")
 public class AdminViewController {
 	private final AdminService adminService;
@@ -1,9 +1,12 @@
 package demo.controller;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
 import demo.model.CommandBoundary;
 import demo.model.ObjectId;
 import demo.model.UserBoundary.UserId;
@@ -12,16 +15,18 @@ import demo.service.CommandService;
 import java.util.List;
 import java.util.Map;
 
+// Blocking variant (profile "blocking"), see ReactiveCommandViewController
 @Controller
+@Profile("blocking")
 @RequestMapping("/commands")
 public class CommandViewController {
 
 	private final CommandService commandService;
-	private final ObjectMapper objectMapper;
+	private final ObjectReader attributesReader; // commandAttributes form field -> Map, built once
 
-	public CommandViewController(CommandService commandService) {
+	public CommandViewController(CommandService commandService, ObjectMapper objectMapper) {
 		this.commandService = commandService;
-		this.objectMapper = new ObjectMapper();
+		this.attributesReader = objectMapper.readerForMapOf(Object.class);
 	}
 
 	@GetMapping("/invoke")
@@ -40,7 +45,7 @@ public class CommandViewController {
 			Model model) {
 		try {
 			if (commandAttributesJson != null && !commandAttributesJson.isEmpty()) {
-				command.setCommandAttributes(objectMapper.readValue(commandAttributesJson, Map.class));
+				command.setCommandAttributes(attributesReader.readValue(commandAttributesJson));
 			}
 
 			List<Object> result = commandService.invokeCommand(command);
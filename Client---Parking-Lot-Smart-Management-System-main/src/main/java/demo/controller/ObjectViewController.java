@@ -4,28 +4,38 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import demo.model.CreatedBy;
 import demo.model.Location;
 import demo.model.ObjectBoundary;
 import demo.model.UserBoundary.UserId;
+import demo.model.CompositeSearchResult;
+import demo.service.CompositeSearchService;
 import demo.service.ObjectService;
 
 
+// Blocking variant (profile "blocking"), see ReactiveObjectViewController
 @Controller
+@Profile("blocking")
 @RequestMapping("/objects")
 public class ObjectViewController {
     private final ObjectService objectService;
+    private final CompositeSearchService compositeSearchService;
+    private final ObjectReader detailsReader; // objectDetails form field -> Map, built once
 
 
-    public ObjectViewController(ObjectService objectService) {
+    public ObjectViewController(ObjectService objectService, CompositeSearchService compositeSearchService,
+                                ObjectMapper objectMapper) {
         this.objectService = objectService;
+        this.compositeSearchService = compositeSearchService;
+        this.detailsReader = objectMapper.readerForMapOf(Object.class);
     }
     
     @GetMapping("/create")
@@ -42,10 +52,8 @@ public class ObjectViewController {
     @PostMapping("/create")
     public String createObject(@ModelAttribute ObjectBoundary object, Model model) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
             if (object.getObjectDetailsJson() != null && !object.getObjectDetailsJson().isEmpty()) {
-                TypeReference<Map<String, Object>> typeRef = new TypeReference<>() {};
-                object.setObjectDetails(mapper.readValue(object.getObjectDetailsJson(), typeRef));
+                object.setObjectDetails(detailsReader.readValue(object.getObjectDetailsJson()));
             }
             
             ObjectBoundary created = objectService.createObject(object);
@@ -190,6 +198,25 @@ public class ObjectViewController {
         }
     }
     
+    // Type, near me and alias pattern at once (any of them may be left empty)
+    @GetMapping("/search/combined")
+    public String searchCombined(@RequestParam(required = false) String type,
+                                 @RequestParam(required = false) Double lat,
+                                 @RequestParam(required = false) Double lng,
+                                 @RequestParam(required = false) Double distance,
+                                 @RequestParam(defaultValue = "NEUTRAL") String units,
+                                 @RequestParam(required = false) String pattern,
+                                 @RequestParam String userSystemID,
+                                 @RequestParam String userEmail,
+                                 @RequestParam(defaultValue = "10") int size,
+                                 Model model) {
+        CompositeSearchResult result = compositeSearchService.search(
+            userSystemID, userEmail, type, lat, lng, distance, units, pattern, size).block();
+        model.addAttribute("objects", result.getObjects());
+        model.addAttribute("missingLegs", result.getMissingLegs());
+        return "objects/list";
+    }
+    
     @ControllerAdvice
     public class GlobalExceptionHandler {
         
@@ -251,10 +278,8 @@ public class ObjectViewController {
     @PostMapping("/update")
     public String updateObject(@ModelAttribute ObjectBoundary object, Model model) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
             if (object.getObjectDetailsJson() != null && !object.getObjectDetailsJson().isEmpty()) {
-                TypeReference<Map<String, Object>> typeRef = new TypeReference<>() {};
-                object.setObjectDetails(mapper.readValue(object.getObjectDetailsJson(), typeRef));
+                object.setObjectDetails(detailsReader.readValue(object.getObjectDetailsJson()));
             }
             
             objectService.updateObject(
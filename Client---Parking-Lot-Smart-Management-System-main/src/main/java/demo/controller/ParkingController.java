@@ -2,6 +2,7 @@ package demo.controller;
 
 import demo.model.ObjectBoundary;
 import demo.service.ObjectService;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,7 +11,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
 
+// Blocking variant (profile "blocking"), see ReactiveParkingController
 @Controller
+@Profile("blocking")
 @RequestMapping("/parking")
 public class ParkingController {
 
@@ -0,0 +1,91 @@
+package demo.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.*;
+import demo.service.ReactiveAdminService;
+import reactor.core.publisher.Mono;
+
+// Async MVC variant of the blocking AdminViewController (profile "blocking"): the page is rendered once the backend answers,
+// no servlet thread waits for it
+@Controller
+@Profile("!blocking")
+@RequestMapping("/admin")
+public class ReactiveAdminViewController {
+	private final ReactiveAdminService adminService;
+
+	public ReactiveAdminViewController(ReactiveAdminService adminService) {
+		this.adminService = adminService;
+	}
+
+	@GetMapping
+	public String showAdminDashboard() {
+		return "admin/dashboard";
+	}
+
+	@GetMapping("/users")
+	public Mono<String> getAllUsers(@RequestParam String userSystemID,
+			@RequestParam String userEmail,
+			@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = "10") int size,
+			Model model) {
+		return adminService.getAllUsers(userSystemID, userEmail, page, size)
+				.collectList()
+				.map(users -> {
+					model.addAttribute("users", users);
+					return "admin/users";
+				})
+				.onErrorResume(e -> error(e, model));
+	}
+
+	@GetMapping("/commands")
+	public Mono<String> getAllCommands(@RequestParam String userSystemID,
+			@RequestParam String userEmail,
+			@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = "10") int size,
+			Model model) {
+		return adminService.getAllCommands(userSystemID, userEmail, page, size)
+				.collectList()
+				.map(commands -> {
+					model.addAttribute("commands", commands);
+					return "admin/commands";
+				})
+				.onErrorResume(e -> error(e, model));
+	}
+
+	@PostMapping("/users/delete")
+	public Mono<String> deleteAllUsers(@RequestParam String userSystemID,
+			@RequestParam String userEmail,
+			Model model) {
+		return deleted(adminService.deleteAllUsers(userSystemID, userEmail), "All users deleted successfully", model);
+	}
+
+	@PostMapping("/objects/delete")
+	public Mono<String> deleteAllObjects(@RequestParam String userSystemID,
+			@RequestParam String userEmail,
+			Model model) {
+		return deleted(adminService.deleteAllObjects(userSystemID, userEmail), "All objects deleted successfully", model);
+	}
+
+	@PostMapping("/commands/delete")
+	public Mono<String> deleteAllCommands(@RequestParam String userSystemID,
+			@RequestParam String userEmail,
+			Model model) {
+		return deleted(adminService.deleteAllCommands(userSystemID, userEmail), "All commands deleted successfully", model);
+	}
+
+	private Mono<String> deleted(Mono<Void> delete, String message, Model model) {
+		return delete
+				.then(Mono.fromCallable(() -> {
+					model.addAttribute("message", message);
+					return "admin/dashboard";
+				}))
+				.onErrorResume(e -> error(e, model));
+	}
+
+	private Mono<String> error(Throwable e, Model model) {
+		model.addAttribute("error", e.getMessage());
+		return Mono.just("error");
+	}
+}
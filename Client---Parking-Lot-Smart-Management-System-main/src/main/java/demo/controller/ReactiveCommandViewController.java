@@ -0,0 +1,61 @@
+package demo.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import demo.model.CommandBoundary;
+import demo.model.ObjectId;
+import demo.model.UserBoundary.UserId;
+import demo.service.ReactiveCommandService;
+import reactor.core.publisher.Mono;
+
+// Async MVC variant of the blocking CommandViewController (profile "blocking"): the result page is rendered once the backend
+// answers, no servlet thread waits for it
+@Controller
+@Profile("!blocking")
+@RequestMapping("/commands")
+public class ReactiveCommandViewController {
+
+	private final ReactiveCommandService commandService;
+	private final ObjectReader attributesReader; // commandAttributes form field -> Map, built once
+
+	public ReactiveCommandViewController(ReactiveCommandService commandService, ObjectMapper objectMapper) {
+		this.commandService = commandService;
+		this.attributesReader = objectMapper.readerForMapOf(Object.class);
+	}
+
+	@GetMapping("/invoke")
+	public String showCommandForm(Model model) {
+	    CommandBoundary command = new CommandBoundary();
+	    command.setTargetObject(new CommandBoundary.TargetObject());
+	    command.getTargetObject().setObjectId(new ObjectId());
+	    command.setInvokedBy(new CommandBoundary.InvokedBy());
+	    command.getInvokedBy().setUserId(new UserId());
+	    model.addAttribute("command", command);
+	    return "commands/invoke";
+	}
+
+	@PostMapping("/invoke")
+	public Mono<String> invokeCommand(@ModelAttribute CommandBoundary command, @RequestParam String commandAttributesJson,
+			Model model) {
+		return Mono.fromCallable(() -> {
+					if (commandAttributesJson != null && !commandAttributesJson.isEmpty()) {
+						command.setCommandAttributes(attributesReader.readValue(commandAttributesJson));
+					}
+					return command;
+				})
+				.flatMap(parsed -> commandService.invokeCommand(parsed).collectList())
+				.map(result -> {
+					model.addAttribute("result", result);
+					return "commands/result";
+				})
+				.onErrorResume(e -> {
+					model.addAttribute("error", e.getMessage());
+					return Mono.just("error");
+				});
+	}
+}
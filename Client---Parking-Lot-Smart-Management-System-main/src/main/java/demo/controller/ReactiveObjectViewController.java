@@ -0,0 +1,270 @@
+package demo.controller;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import demo.model.CreatedBy;
+import demo.model.Location;
+import demo.model.ObjectBoundary;
+import demo.model.UserBoundary.UserId;
+import demo.service.CompositeSearchService;
+import demo.service.ReactiveObjectService;
+import reactor.core.publisher.Mono;
+
+
+// Async MVC: handlers return Mono<view name>, the servlet thread is released while the backend answers
+// and the page is rendered once the Mono completes. Blocking variant: ObjectViewController (profile "blocking")
+@Controller
+@Profile("!blocking")
+@RequestMapping("/objects")
+public class ReactiveObjectViewController {
+    private final ReactiveObjectService objectService;
+    private final CompositeSearchService compositeSearchService;
+    private final ObjectReader detailsReader; // objectDetails form field -> Map, built once
+
+
+    public ReactiveObjectViewController(ReactiveObjectService objectService,
+                                        CompositeSearchService compositeSearchService, ObjectMapper objectMapper) {
+        this.objectService = objectService;
+        this.compositeSearchService = compositeSearchService;
+        this.detailsReader = objectMapper.readerForMapOf(Object.class);
+    }
+
+    @GetMapping("/create")
+    public String showCreateForm(Model model) {
+        ObjectBoundary object = new ObjectBoundary();
+        object.setLocation(new Location());
+        object.setCreatedBy(new CreatedBy());
+        object.getCreatedBy().setUserId(new UserId());
+        model.addAttribute("object", object);
+        return "objects/create";
+    }
+
+
+    @PostMapping("/create")
+    public Mono<String> createObject(@ModelAttribute ObjectBoundary object, Model model) {
+        return Mono.fromCallable(() -> readDetails(object))
+                .flatMap(objectService::createObject)
+                .map(created -> {
+                    model.addAttribute("message", "Object created successfully!");
+                    model.addAttribute("object", created);
+                    return "objects/details";
+                })
+                .onErrorResume(e -> {
+                    if (e.getMessage() != null && (e.getMessage().contains("END_USER") || e.getMessage().contains("ADMIN"))) {
+                        model.addAttribute("error", "Only OPERATOR can create objects");
+                    } else {
+                        model.addAttribute("error", "Error creating object: " + e.getMessage());
+                    }
+                    return Mono.just("error");
+                });
+    }
+
+    @GetMapping("/view")
+    public Mono<String> viewObject(@RequestParam String systemID,
+                            @RequestParam String id,
+                            @RequestParam String userSystemID,
+                            @RequestParam String userEmail,
+                            Model model) {
+        return objectService.getObject(systemID, id, userSystemID, userEmail)
+                .map(object -> {
+                    if (!object.isActive()) {
+                        model.addAttribute("error", "The requested parking spot is not active.");
+                        return "error";
+                    }
+                    model.addAttribute("object", object);
+                    return "objects/details";
+                })
+                .switchIfEmpty(Mono.error(new NotFoundException("Object not found")))
+                .onErrorResume(e -> {
+                    model.addAttribute("error", "Parking spot not found. It might not exist or is inactive.");
+                    return Mono.just("error");
+                });
+    }
+
+    @GetMapping("/manage")
+    public String showManagePage() {
+        return "objects/manage";
+    }
+
+    @GetMapping("/search")
+    public String showSearchPage(Model model) {
+        model.addAttribute("searchTypes", Arrays.asList("type", "alias", "location", "typeAndStatus"));
+        return "objects/search";
+    }
+
+    @GetMapping("/search/byType")
+    public Mono<String> searchByType(@RequestParam String type, String userSystemID, String userEmail,
+                             @RequestParam(defaultValue = "0") int page,
+                             @RequestParam(defaultValue = "10") int size, Model model) {
+        model.addAttribute("searchType", "type");
+        model.addAttribute("searchValue", type);
+        return objectService.getObjectsByType(userSystemID, userEmail, type, page, size)
+                .collectList()
+                .onErrorReturn(List.of())
+                .map(objects -> {
+                    model.addAttribute("objects", objects);
+                    return "objects/list";
+                });
+    }
+
+    @GetMapping("/search/byTypeAndStatus")
+    public Mono<String> searchByTypeAndStatus(@RequestParam String type,
+                                      @RequestParam String status,
+                                      @RequestParam String userSystemID,
+                                      @RequestParam String userEmail,
+                                      @RequestParam(defaultValue = "0") int page,
+                                      @RequestParam(defaultValue = "10") int size,
+                                      Model model) {
+        return toList(objectService.getObjectsByTypeAndStatus(userSystemID, userEmail, type, status, page, size)
+                .collectList(), model, "objects/list");
+    }
+
+    @GetMapping("/search/byAlias")
+    public Mono<String> searchByAlias(@RequestParam String alias,
+                             @RequestParam String userSystemID,
+                             @RequestParam String userEmail,
+                             @RequestParam(defaultValue = "0") int page,
+                             @RequestParam(defaultValue = "10") int size,
+                             Model model) {
+        return toList(objectService.getObjectsByAlias(userSystemID, userEmail, alias, page, size).collectList(),
+                model, "objects/list");
+    }
+
+    @GetMapping("/search/byAliasPattern")
+    public Mono<String> searchByAliasPattern(@RequestParam String pattern,
+                                    @RequestParam String userSystemID,
+                                    @RequestParam String userEmail,
+                                    @RequestParam(defaultValue = "0") int page,
+                                    @RequestParam(defaultValue = "10") int size,
+                                    Model model) {
+        return toList(objectService.getObjectsByAliasPattern(userSystemID, userEmail, pattern, page, size)
+                .collectList(), model, "objects/search");
+    }
+
+    @GetMapping("/search/byLocation")
+    public Mono<String> searchByLocation(@RequestParam double lat,
+                                 @RequestParam double lng,
+                                 @RequestParam double distance,
+                                 @RequestParam(defaultValue = "NEUTRAL") String units,
+                                 @RequestParam(defaultValue = "false") boolean useCircle,
+                                 @RequestParam String userSystemID,
+                                 @RequestParam String userEmail,
+                                 @RequestParam(defaultValue = "0") int page,
+                                 @RequestParam(defaultValue = "10") int size,
+                                 Model model) {
+        return toList(objectService.getObjectsByLocation(userSystemID, userEmail, lat, lng, distance, units, useCircle,
+                page, size).collectList(), model, "objects/list");
+    }
+
+    // Type, near me and alias pattern at once (any of them may be left empty)
+    @GetMapping("/search/combined")
+    public Mono<String> searchCombined(@RequestParam(required = false) String type,
+                                 @RequestParam(required = false) Double lat,
+                                 @RequestParam(required = false) Double lng,
+                                 @RequestParam(required = false) Double distance,
+                                 @RequestParam(defaultValue = "NEUTRAL") String units,
+                                 @RequestParam(required = false) String pattern,
+                                 @RequestParam String userSystemID,
+                                 @RequestParam String userEmail,
+                                 @RequestParam(defaultValue = "10") int size,
+                                 Model model) {
+        return compositeSearchService.search(userSystemID, userEmail, type, lat, lng, distance, units, pattern, size)
+                .map(result -> {
+                    model.addAttribute("objects", result.getObjects());
+                    model.addAttribute("missingLegs", result.getMissingLegs());
+                    return "objects/list";
+                });
+    }
+
+    @GetMapping("/list")
+    public Mono<String> listObjects(@RequestParam(defaultValue = "0") int page,
+                             @RequestParam(defaultValue = "10") int size,
+                             @RequestParam String userSystemID,
+                             @RequestParam String userEmail,
+                             Model model) {
+        return objectService.getAllObjects(userSystemID, userEmail, page, size)
+                .collectList()
+                .onErrorReturn(List.of())
+                .map(objects -> {
+                    model.addAttribute("objects", objects);
+                    return "objects/list";
+                });
+    }
+
+    @GetMapping("/update/{systemID}/{id}")
+    public Mono<String> showUpdateForm(@PathVariable String systemID,
+                               @PathVariable String id,
+                               @RequestParam String userSystemID,
+                               @RequestParam String userEmail,
+                               Model model) {
+        return objectService.getObject(systemID, id, userSystemID, userEmail)
+                .map(object -> {
+                    model.addAttribute("object", object);
+                    return "objects/update";
+                })
+                .onErrorResume(e -> {
+                    model.addAttribute("error", e.getMessage());
+                    return Mono.just("error");
+                });
+    }
+
+    @GetMapping("/update")
+    public String showUpdateInitialForm(Model model) {
+        ObjectBoundary object = new ObjectBoundary();
+        object.setLocation(new Location());
+        object.setCreatedBy(new CreatedBy());
+        object.getCreatedBy().setUserId(new UserId());
+        model.addAttribute("object", object);
+        return "objects/update";
+    }
+
+    @PostMapping("/update")
+    public Mono<String> updateObject(@ModelAttribute ObjectBoundary object, Model model) {
+        return Mono.fromCallable(() -> readDetails(object))
+                .flatMap(parsed -> objectService.updateObject(
+                        parsed.getObjectId().getSystemID(),
+                        parsed.getObjectId().getId(),
+                        parsed.getCreatedBy().getUserId().getSystemID(),
+                        parsed.getCreatedBy().getUserId().getEmail(),
+                        parsed))
+                .then(Mono.fromCallable(() -> {
+                    model.addAttribute("message", "Object updated successfully!");
+                    model.addAttribute("object", object);
+                    return "objects/details";
+                }))
+                .onErrorResume(e -> {
+                    model.addAttribute("error", e.getMessage());
+                    return Mono.just("error");
+                });
+    }
+
+    // objectDetails arrive as a JSON text field
+    private ObjectBoundary readDetails(ObjectBoundary object) throws Exception {
+        if (object.getObjectDetailsJson() != null && !object.getObjectDetailsJson().isEmpty()) {
+            object.setObjectDetails(detailsReader.readValue(object.getObjectDetailsJson()));
+        }
+        return object;
+    }
+
+    // Search results page, or the error message on the given page
+    private Mono<String> toList(Mono<List<ObjectBoundary>> objects, Model model, String errorView) {
+        return objects
+                .map(list -> {
+                    model.addAttribute("objects", list);
+                    return "objects/list";
+                })
+                .onErrorResume(e -> {
+                    model.addAttribute("error", e.getMessage());
+                    return Mono.just(errorView);
+                });
+    }
+}
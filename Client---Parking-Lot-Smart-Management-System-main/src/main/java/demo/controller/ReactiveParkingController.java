@@ -0,0 +1,59 @@
+package demo.controller;
+
+import demo.model.ObjectBoundary;
+import demo.service.ReactiveObjectService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Async MVC variant of the blocking ParkingController (profile "blocking"): results are rendered once the backend answers,
+// no servlet thread waits for it
+@Controller
+@Profile("!blocking")
+@RequestMapping("/parking")
+public class ReactiveParkingController {
+
+    private static final String USER_SYSTEM_ID = "2025a.Shir.Falach";
+    private static final String USER_EMAIL = "enduser@example.com";
+
+    private final ReactiveObjectService objectService;
+
+    public ReactiveParkingController(ReactiveObjectService objectService) {
+        this.objectService = objectService;
+    }
+
+    @GetMapping("/search")
+    public String showSearchPage() {
+        return "parking/search";
+    }
+
+    @GetMapping("/search/byType")
+    public Mono<String> searchByType(@RequestParam String type,
+                                @RequestParam(defaultValue = "10") int size,
+                                Model model) {
+        return searchResults(objectService.getObjectsByType(USER_SYSTEM_ID, USER_EMAIL, type, 0, size), model);
+    }
+
+    @GetMapping("/search/byAliasPattern")
+    public Mono<String> searchByAliasPattern(@RequestParam String pattern,
+                                        @RequestParam(defaultValue = "10") int size,
+                                        Model model) {
+        return searchResults(objectService.getObjectsByAliasPattern(USER_SYSTEM_ID, USER_EMAIL, pattern, 0, size), model);
+    }
+
+    private Mono<String> searchResults(Flux<ObjectBoundary> objects, Model model) {
+        return objects
+                .collectList()
+                .doOnNext(list -> model.addAttribute("objects", list))
+                .onErrorResume(e -> {
+                    model.addAttribute("error", e.getMessage());
+                    return Mono.empty();
+                })
+                .thenReturn("parking/searchResults");
+    }
+}
@@ -0,0 +1,137 @@
+package demo.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.*;
+import demo.model.NewUserBoundary;
+import demo.model.UserBoundary;
+import demo.service.ReactiveUserService;
+import reactor.core.publisher.Mono;
+
+// Async MVC variant of the blocking UserViewController (profile "blocking"): the page is rendered once the backend answers,
+// no servlet thread waits for it
+@Controller
+@Profile("!blocking")
+public class ReactiveUserViewController {
+
+    private final ReactiveUserService userService;
+
+    public ReactiveUserViewController(ReactiveUserService userService) {
+        this.userService = userService;
+    }
+
+    @GetMapping("/")
+    public String home() {
+        return "home";
+    }
+
+    @GetMapping("/users/register")
+    public String showRegisterForm(Model model) {
+        model.addAttribute("newUser", new NewUserBoundary());
+        return "register";
+    }
+
+    @PostMapping("/users/register")
+    public Mono<String> registerUser(@ModelAttribute NewUserBoundary newUser, Model model) {
+        return userService.createUser(newUser)
+                .map(createdUser -> {
+                    model.addAttribute("message", "User created successfully!");
+                    model.addAttribute("user", createdUser);
+                    return "userDetails";
+                })
+                .onErrorResume(e -> {
+                    model.addAttribute("error", e.getMessage());
+                    return Mono.just("register");
+                });
+    }
+
+    @GetMapping("/users/login")
+    public String showLoginForm() {
+        return "login";
+    }
+
+    @PostMapping("/users/login")
+    public Mono<String> loginUser(@RequestParam String systemID,
+                          @RequestParam String userEmail,
+                          Model model) {
+        return userService.loginUser(systemID, userEmail)
+                .map(user -> {
+                    model.addAttribute("user", user);
+                    return "userDetails";
+                })
+                .switchIfEmpty(Mono.error(new NotFoundException("User not found")))
+                .onErrorResume(e -> {
+                    model.addAttribute("error", "User not found. Please check your System ID and Email.");
+                    return Mono.just("login");
+                });
+    }
+
+    @GetMapping("/users/update")
+    public String showUpdateForm(Model model) {
+        model.addAttribute("user", new UserBoundary());  // Empty user for the form
+        return "updateDirect";
+    }
+
+    @PostMapping("/users/update-direct")
+    public Mono<String> updateUserDirect(@RequestParam String systemID,
+                                 @RequestParam String userEmail,
+                                 @ModelAttribute UserBoundary updatedUser,
+                                 Model model) {
+        return updated(userService.updateUser(systemID, userEmail, updatedUser), updatedUser, model, "updateDirect");
+    }
+
+    @GetMapping("/users/update/{systemID}/{userEmail}")
+    public Mono<String> showUpdateForm(@PathVariable String systemID,
+                               @PathVariable String userEmail,
+                               Model model) {
+        return userService.loginUser(systemID, userEmail)
+                .map(currentUser -> {
+                    model.addAttribute("user", currentUser);
+                    model.addAttribute("systemID", systemID);
+                    model.addAttribute("userEmail", userEmail);
+                    return "updateUser";
+                })
+                .onErrorResume(e -> {
+                    model.addAttribute("error", e.getMessage());
+                    return Mono.just("login");
+                });
+    }
+
+    @PostMapping("/users/update/{systemID}/{userEmail}")
+    public Mono<String> updateUser(@PathVariable String systemID,
+                            @PathVariable String userEmail,
+                            @ModelAttribute UserBoundary updatedUser,
+                            Model model) {
+        return updated(userService.updateUser(systemID, userEmail, updatedUser), updatedUser, model, "updateUser");
+    }
+
+    @GetMapping("/dashboard")
+    public Mono<String> redirectToDashboard(@RequestParam String systemID, @RequestParam String userEmail, Model model) {
+        return userService.loginUser(systemID, userEmail)
+                .map(user -> switch (user.getRole()) {
+                    case "ADMIN" -> "redirect:/admin";
+                    case "OPERATOR" -> "redirect:/objects/manage";
+                    case "END_USER" -> "redirect:/parking/search";
+                    default -> throw new IllegalArgumentException("Unknown role: " + user.getRole());
+                })
+                .onErrorResume(e -> {
+                    model.addAttribute("error", "Failed to determine dashboard: " + e.getMessage());
+                    return Mono.just("error");
+                });
+    }
+
+    // User details page after an update, or the form again with the error
+    private Mono<String> updated(Mono<Void> update, UserBoundary updatedUser, Model model, String errorView) {
+        return update
+                .then(Mono.fromCallable(() -> {
+                    model.addAttribute("message", "User updated successfully!");
+                    model.addAttribute("user", updatedUser);
+                    return "userDetails";
+                }))
+                .onErrorResume(e -> {
+                    model.addAttribute("error", e.getMessage());
+                    return Mono.just(errorView);
+                });
+    }
+}
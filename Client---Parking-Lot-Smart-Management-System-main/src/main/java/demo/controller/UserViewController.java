@@ -1,5 +1,6 @@
 package demo.controller;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -8,7 +9,9 @@ import demo.model.UserBoundary;
 import demo.service.UserService;
 import jakarta.servlet.http.HttpSession;
 
+// Blocking variant (profile "blocking"), see ReactiveUserViewController
 @Controller
+@Profile("blocking")
 public class UserViewController {
 
 private final UserService userService;
@@ -0,0 +1,49 @@
+package demo.model;
+
+import java.util.List;
+
+// Merged result of a combined search: objects found by any leg, each once,
+// and the legs that failed or missed the deadline (their objects are not included)
+public class CompositeSearchResult {
+	private List<ObjectBoundary> objects;
+	private List<String> missingLegs;
+
+	// Default Constructor
+	public CompositeSearchResult() {}
+
+	// Full Constructor
+	public CompositeSearchResult(List<ObjectBoundary> objects, List<String> missingLegs) {
+		this.objects = objects;
+		this.missingLegs = missingLegs;
+	}
+
+	// Some legs did not answer in time
+	public boolean isPartial() {
+		return missingLegs != null && !missingLegs.isEmpty();
+	}
+
+	// Getters and Setters
+	public List<ObjectBoundary> getObjects() {
+		return objects;
+	}
+
+	public void setObjects(List<ObjectBoundary> objects) {
+		this.objects = objects;
+	}
+
+	public List<String> getMissingLegs() {
+		return missingLegs;
+	}
+
+	public void setMissingLegs(List<String> missingLegs) {
+		this.missingLegs = missingLegs;
+	}
+
+	@Override
+	public String toString() {
+		return "CompositeSearchResult{" +
+				"objects=" + objects +
+				", missingLegs=" + missingLegs +
+				'}';
+	}
+}
@@ -1,83 +1,38 @@
 package demo.service;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 import demo.model.UserBoundary;
 import demo.model.CommandBoundary;
 import java.util.List;
 
+// Blocking fallback (profile "blocking"): waits on the servlet thread for the backend
 @Service
+@Profile("blocking")
 public class AdminService {
-	private final WebClient webClient;
+	private final ReactiveAdminService reactiveAdminService;
 
-	public AdminService(@Value("${backend.url}") String backendUrl) {
-		this.webClient = WebClient.create(backendUrl);
+	public AdminService(ReactiveAdminService reactiveAdminService) {
+		this.reactiveAdminService = reactiveAdminService;
 	}
 
 	public void deleteAllUsers(String userSystemID, String userEmail) {
-		webClient.delete()
-		.uri(uriBuilder -> uriBuilder
-				.path("/aii/admin/users")
-				.queryParam("userSystemID", userSystemID)
-				.queryParam("userEmail", userEmail)
-				.build())
-		.retrieve()
-		.toBodilessEntity()
-		.block();
+		reactiveAdminService.deleteAllUsers(userSystemID, userEmail).block();
 	}
 
 	public void deleteAllObjects(String userSystemID, String userEmail) {
-		webClient.delete()
-		.uri(uriBuilder -> uriBuilder
-				.path("/aii/admin/objects")
-				.queryParam("userSystemID", userSystemID)
-				.queryParam("userEmail", userEmail)
-				.build())
-		.retrieve()
-		.toBodilessEntity()
-		.block();
+		reactiveAdminService.deleteAllObjects(userSystemID, userEmail).block();
 	}
 
 	public void deleteAllCommands(String userSystemID, String userEmail) {
-		webClient.delete()
-		.uri(uriBuilder -> uriBuilder
-				.path("/aii/admin/commands")
-				.queryParam("userSystemID", userSystemID)
-				.queryParam("userEmail", userEmail)
-				.build())
-		.retrieve()
-		.toBodilessEntity()
-		.block();
+		reactiveAdminService.deleteAllCommands(userSystemID, userEmail).block();
 	}
 
 	public List<UserBoundary> getAllUsers(String userSystemID, String userEmail, int page, int size) {
-		return webClient.get()
-				.uri(uriBuilder -> uriBuilder
-						.path("/aii/admin/users")
-						.queryParam("userSystemID", userSystemID)
-						.queryParam("userEmail", userEmail)
-						.queryParam("page", page)
-						.queryParam("size", size)
-						.build())
-				.retrieve()
-				.bodyToFlux(UserBoundary.class)
-				.collectList()
-				.block();
+		return reactiveAdminService.getAllUsers(userSystemID, userEmail, page, size).collectList().block();
 	}
 
 	public List<CommandBoundary> getAllCommands(String userSystemID, String userEmail, int page, int size) {
-		return webClient.get()
-				.uri(uriBuilder -> uriBuilder
-						.path("/aii/admin/commands")
-						.queryParam("userSystemID", userSystemID)
-						.queryParam("userEmail", userEmail)
-						.queryParam("page", page)
-						.queryParam("size", size)
-						.build())
-				.retrieve()
-				.bodyToFlux(CommandBoundary.class)
-				.collectList()
-				.block();
+		return reactiveAdminService.getAllCommands(userSystemID, userEmail, page, size).collectList().block();
 	}
 }
@@ -1,21 +1,21 @@
 package demo.service;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 import demo.model.CommandBoundary;
 import java.util.List;
 
+// Blocking fallback (profile "blocking"): waits on the servlet thread for the backend
 @Service
+@Profile("blocking")
 public class CommandService {
-	private final WebClient webClient;
+	private final ReactiveCommandService reactiveCommandService;
 
-	public CommandService(@Value("${backend.url}") String backendUrl) {
-		this.webClient = WebClient.create(backendUrl);
+	public CommandService(ReactiveCommandService reactiveCommandService) {
+		this.reactiveCommandService = reactiveCommandService;
 	}
 
 	public List<Object> invokeCommand(CommandBoundary command) {
-		return webClient.post().uri("/aii/commands").bodyValue(command).retrieve().bodyToFlux(Object.class)
-				.collectList().block();
+		return reactiveCommandService.invokeCommand(command).collectList().block();
 	}
 }
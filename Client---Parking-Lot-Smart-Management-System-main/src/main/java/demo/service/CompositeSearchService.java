@@ -0,0 +1,83 @@
+package demo.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import demo.model.CompositeSearchResult;
+import demo.model.ObjectBoundary;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// "type + near me + alias pattern" in one page: the searches given (null = skip) run concurrently against the
+// backend, results are merged in leg order and deduplicated by ObjectId. All legs share one deadline; a leg that
+// fails or is still running then is dropped and reported, the others are returned.
+@Service
+public class CompositeSearchService {
+	private final ReactiveObjectService objectService;
+	private final Duration deadline;
+
+	public CompositeSearchService(ReactiveObjectService objectService,
+			@Value("${search.composite.deadline-ms:1500}") long deadlineMillis) {
+		this.objectService = objectService;
+		this.deadline = Duration.ofMillis(deadlineMillis);
+	}
+
+	public Mono<CompositeSearchResult> search(String userSystemID, String userEmail, String type,
+			Double lat, Double lng, Double distance, String units, String pattern, int size) {
+		List<Mono<Leg>> legs = new ArrayList<>();
+		if (type != null && !type.isBlank()) {
+			legs.add(leg("byType", objectService.getObjectsByType(userSystemID, userEmail, type, 0, size)));
+		}
+		if (lat != null && lng != null && distance != null) {
+			legs.add(leg("byLocation", objectService.getObjectsByLocation(userSystemID, userEmail, lat, lng,
+					distance, units, true, 0, size)));
+		}
+		if (pattern != null && !pattern.isBlank()) {
+			legs.add(leg("byAliasPattern", objectService.getObjectsByAliasPattern(userSystemID, userEmail, pattern,
+					0, size)));
+		}
+		if (legs.isEmpty()) {
+			return Mono.just(new CompositeSearchResult(List.of(), List.of()));
+		}
+		// all legs are subscribed together, so the per-leg timeout is the global deadline
+		return Flux.mergeSequential(legs)
+				.collectList()
+				.map(this::merge);
+	}
+
+	// One search; an error or the deadline turns into a missing leg instead of failing the page
+	private Mono<Leg> leg(String name, Flux<ObjectBoundary> search) {
+		return search.collectList()
+				.timeout(deadline)
+				.map(objects -> new Leg(name, objects))
+				.onErrorResume(e -> Mono.just(new Leg(name, null)));
+	}
+
+	private CompositeSearchResult merge(List<Leg> legs) {
+		Map<String, ObjectBoundary> merged = new LinkedHashMap<>();
+		List<String> missing = new ArrayList<>();
+		for (Leg leg : legs) {
+			if (leg.objects() == null) {
+				missing.add(leg.name());
+				continue;
+			}
+			for (ObjectBoundary object : leg.objects()) {
+				merged.putIfAbsent(key(object), object);
+			}
+		}
+		return new CompositeSearchResult(new ArrayList<>(merged.values()), missing);
+	}
+
+	private String key(ObjectBoundary object) {
+		return object.getObjectId().getSystemID() + "@@" + object.getObjectId().getId();
+	}
+
+	private record Leg(String name, List<ObjectBoundary> objects) {
+	}
+}
@@ -1,150 +1,61 @@
 package demo.service;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 import demo.model.ObjectBoundary;
 import java.util.List;
 
+// Blocking fallback (profile "blocking"): waits on the servlet thread for the backend
 @Service
+@Profile("blocking")
 public class ObjectService {
-    private final WebClient webClient;
+    private final ReactiveObjectService reactiveObjectService;
     
-    public ObjectService(@Value("${backend.url}") String backendUrl) {
-        this.webClient = WebClient.create(backendUrl);
+    public ObjectService(ReactiveObjectService reactiveObjectService) {
+        this.reactiveObjectService = reactiveObjectService;
     }
 
     public ObjectBoundary createObject(ObjectBoundary object) {
-        return webClient.post()
-                .uri("/aii/objects")
-                .bodyValue(object)
-                .retrieve()
-                .bodyToMono(ObjectBoundary.class)
-                .block();
+        return reactiveObjectService.createObject(object).block();
     }
 
     public ObjectBoundary getObject(String systemID, String id, String userSystemID, String userEmail) {
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                    .path("/aii/objects/{systemID}/{id}")
-                    .queryParam("userSystemID", userSystemID)
-                    .queryParam("userEmail", userEmail)
-                    .build(systemID, id))
-                .retrieve()
-                .bodyToMono(ObjectBoundary.class)
-                .block();
+        return reactiveObjectService.getObject(systemID, id, userSystemID, userEmail).block();
     }
 
     public void updateObject(String systemID, String id, String userSystemID, 
                            String userEmail, ObjectBoundary object) {
-        webClient.put()
-                .uri(uriBuilder -> uriBuilder
-                    .path("/aii/objects/{systemID}/{id}")
-                    .queryParam("userSystemID", userSystemID)
-                    .queryParam("userEmail", userEmail)
-                    .build(systemID, id))
-                .bodyValue(object)
-                .retrieve()
-                .toBodilessEntity()
-                .block();
+        reactiveObjectService.updateObject(systemID, id, userSystemID, userEmail, object).block();
     }
 
     public List<ObjectBoundary> getAllObjects(String userSystemID, String userEmail, int page, int size) {
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                    .path("/aii/objects")
-                    .queryParam("userSystemID", userSystemID)
-                    .queryParam("userEmail", userEmail)
-                    .queryParam("page", page)
-                    .queryParam("size", size)
-                    .build())
-                .retrieve()
-                .bodyToFlux(ObjectBoundary.class)
-                .collectList()
-                .block();
+        return reactiveObjectService.getAllObjects(userSystemID, userEmail, page, size).collectList().block();
     }
 
     public List<ObjectBoundary> getObjectsByType(String userSystemID, String userEmail, String type, int page, int size) {
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                    .path("/aii/objects/search/byType/{type}")
-                    .queryParam("userSystemID", userSystemID)
-                    .queryParam("userEmail", userEmail)
-                    .queryParam("page", page)
-                    .queryParam("size", size)
-                    .build(type))
-                .retrieve()
-                .bodyToFlux(ObjectBoundary.class)
-                .collectList()
-                .block();
+        return reactiveObjectService.getObjectsByType(userSystemID, userEmail, type, page, size).collectList().block();
     }
 
     public List<ObjectBoundary> getObjectsByTypeAndStatus(String userSystemID, String userEmail, String type, 
                                                         String status, int page, int size) {
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                    .path("/aii/objects/search/byTypeAndStatus/{type}/{status}")
-                    .queryParam("userSystemID", userSystemID)
-                    .queryParam("userEmail", userEmail)
-                    .queryParam("page", page)
-                    .queryParam("size", size)
-                    .build(type, status))
-                .retrieve()
-                .bodyToFlux(ObjectBoundary.class)
-                .collectList()
-                .block();
+        return reactiveObjectService.getObjectsByTypeAndStatus(userSystemID, userEmail, type, status, page, size)
+                .collectList().block();
     }
 
     public List<ObjectBoundary> getObjectsByLocation(String userSystemID, String userEmail, double lat, 
                                                    double lng, double distance, String units, boolean useCircle, int page, int size) {
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                    .path("/aii/objects/search/byLocation/{lat}/{lng}/{distance}")
-                    .queryParam("userSystemID", userSystemID)
-                    .queryParam("userEmail", userEmail)
-                    .queryParam("units", units)
-                    .queryParam("useCircle", useCircle)
-                    .queryParam("page", page)
-                    .queryParam("size", size)
-                    .build(lat, lng, distance))
-                .retrieve()
-                .bodyToFlux(ObjectBoundary.class)
-                .collectList()
-                .block();
+        return reactiveObjectService.getObjectsByLocation(userSystemID, userEmail, lat, lng, distance, units, useCircle,
+                page, size).collectList().block();
     }
 
     public List<ObjectBoundary> getObjectsByAlias(String userSystemID, String userEmail, String alias, 
                                                 int page, int size) {
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                    .path("/aii/objects/search/byAlias/{alias}")
-                    .queryParam("userSystemID", userSystemID)
-                    .queryParam("userEmail", userEmail)
-                    .queryParam("page", page)
-                    .queryParam("size", size)
-                    .build(alias))
-                .retrieve()
-                .bodyToFlux(ObjectBoundary.class)
-                .collectList()
-                .block();
+        return reactiveObjectService.getObjectsByAlias(userSystemID, userEmail, alias, page, size).collectList().block();
     }
 
     public List<ObjectBoundary> getObjectsByAliasPattern(String userSystemID, String userEmail, String pattern, 
                                                        int page, int size) {
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                    .path("/aii/objects/search/byAliasPattern/{pattern}")
-                    .queryParam("userSystemID", userSystemID)
-                    .queryParam("userEmail", userEmail)
-                    .queryParam("page", page)
-                    .queryParam("size", size)
-                    .build(pattern))
-                .retrieve()
-                .bodyToFlux(ObjectBoundary.class)
-                .collectList()
-                .block();
+        return reactiveObjectService.getObjectsByAliasPattern(userSystemID, userEmail, pattern, page, size)
+                .collectList().block();
     }
-    
-    
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,65 @@
+package demo.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import demo.model.UserBoundary;
+import demo.model.CommandBoundary;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Non-blocking admin calls: nothing waits for the backend, the caller subscribes
+@Service
+public class ReactiveAdminService {
+	private final WebClient webClient;
+
+	public ReactiveAdminService(WebClient webClient) {
+		this.webClient = webClient; // shared backend client, see WebClientConfig
+	}
+
+	public Mono<Void> deleteAllUsers(String userSystemID, String userEmail) {
+		return deleteAll("/aii/admin/users", userSystemID, userEmail);
+	}
+
+	public Mono<Void> deleteAllObjects(String userSystemID, String userEmail) {
+		return deleteAll("/aii/admin/objects", userSystemID, userEmail);
+	}
+
+	public Mono<Void> deleteAllCommands(String userSystemID, String userEmail) {
+		return deleteAll("/aii/admin/commands", userSystemID, userEmail);
+	}
+
+	public Flux<UserBoundary> getAllUsers(String userSystemID, String userEmail, int page, int size) {
+		return webClient.get()
+				.uri("/aii/admin/users", uriBuilder -> uriBuilder
+						.queryParam("userSystemID", userSystemID)
+						.queryParam("userEmail", userEmail)
+						.queryParam("page", page)
+						.queryParam("size", size)
+						.build())
+				.retrieve()
+				.bodyToFlux(UserBoundary.class);
+	}
+
+	public Flux<CommandBoundary> getAllCommands(String userSystemID, String userEmail, int page, int size) {
+		return webClient.get()
+				.uri("/aii/admin/commands", uriBuilder -> uriBuilder
+						.queryParam("userSystemID", userSystemID)
+						.queryParam("userEmail", userEmail)
+						.queryParam("page", page)
+						.queryParam("size", size)
+						.build())
+				.retrieve()
+				.bodyToFlux(CommandBoundary.class);
+	}
+
+	private Mono<Void> deleteAll(String path, String userSystemID, String userEmail) {
+		return webClient.delete()
+				.uri(path, uriBuilder -> uriBuilder
+						.queryParam("userSystemID", userSystemID)
+						.queryParam("userEmail", userEmail)
+						.build())
+				.retrieve()
+				.toBodilessEntity()
+				.then();
+	}
+}
@@ -0,0 +1,20 @@
+package demo.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import demo.model.CommandBoundary;
+import reactor.core.publisher.Flux;
+
+// Non-blocking command calls: nothing waits for the backend, the caller subscribes
+@Service
+public class ReactiveCommandService {
+	private final WebClient webClient;
+
+	public ReactiveCommandService(WebClient webClient) {
+		this.webClient = webClient; // shared backend client, see WebClientConfig
+	}
+
+	public Flux<Object> invokeCommand(CommandBoundary command) {
+		return webClient.post().uri("/aii/commands").bodyValue(command).retrieve().bodyToFlux(Object.class);
+	}
+}
@@ -0,0 +1,129 @@
+package demo.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import demo.model.ObjectBoundary;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Non-blocking object calls: nothing waits for the backend, the caller subscribes
+@Service
+public class ReactiveObjectService {
+    private final WebClient webClient;
+    
+    public ReactiveObjectService(WebClient webClient) {
+        this.webClient = webClient; // shared backend client, see WebClientConfig
+    }
+
+    public Mono<ObjectBoundary> createObject(ObjectBoundary object) {
+        return webClient.post()
+                .uri("/aii/objects")
+                .bodyValue(object)
+                .retrieve()
+                .bodyToMono(ObjectBoundary.class);
+    }
+
+    public Mono<ObjectBoundary> getObject(String systemID, String id, String userSystemID, String userEmail) {
+        return webClient.get()
+                .uri("/aii/objects/{systemID}/{id}", uriBuilder -> uriBuilder
+                    .queryParam("userSystemID", userSystemID)
+                    .queryParam("userEmail", userEmail)
+                    .build(systemID, id))
+                .retrieve()
+                .bodyToMono(ObjectBoundary.class);
+    }
+
+    public Mono<Void> updateObject(String systemID, String id, String userSystemID, 
+                           String userEmail, ObjectBoundary object) {
+        return webClient.put()
+                .uri("/aii/objects/{systemID}/{id}", uriBuilder -> uriBuilder
+                    .queryParam("userSystemID", userSystemID)
+                    .queryParam("userEmail", userEmail)
+                    .build(systemID, id))
+                .bodyValue(object)
+                .retrieve()
+                .toBodilessEntity()
+                .then();
+    }
+
+    public Flux<ObjectBoundary> getAllObjects(String userSystemID, String userEmail, int page, int size) {
+        return webClient.get()
+                .uri("/aii/objects", uriBuilder -> uriBuilder
+                    .queryParam("userSystemID", userSystemID)
+                    .queryParam("userEmail", userEmail)
+                    .queryParam("page", page)
+                    .queryParam("size", size)
+                    .build())
+                .retrieve()
+                .bodyToFlux(ObjectBoundary.class);
+    }
+
+    public Flux<ObjectBoundary> getObjectsByType(String userSystemID, String userEmail, String type, int page, int size) {
+        return webClient.get()
+                .uri("/aii/objects/search/byType/{type}", uriBuilder -> uriBuilder
+                    .queryParam("userSystemID", userSystemID)
+                    .queryParam("userEmail", userEmail)
+                    .queryParam("page", page)
+                    .queryParam("size", size)
+                    .build(type))
+                .retrieve()
+                .bodyToFlux(ObjectBoundary.class);
+    }
+
+    public Flux<ObjectBoundary> getObjectsByTypeAndStatus(String userSystemID, String userEmail, String type, 
+                                                        String status, int page, int size) {
+        return webClient.get()
+                .uri("/aii/objects/search/byTypeAndStatus/{type}/{status}", uriBuilder -> uriBuilder
+                    .queryParam("userSystemID", userSystemID)
+                    .queryParam("userEmail", userEmail)
+                    .queryParam("page", page)
+                    .queryParam("size", size)
+                    .build(type, status))
+                .retrieve()
+                .bodyToFlux(ObjectBoundary.class);
+    }
+
+    public Flux<ObjectBoundary> getObjectsByLocation(String userSystemID, String userEmail, double lat, 
+                                                   double lng, double distance, String units, boolean useCircle, int page, int size) {
+        return webClient.get()
+                .uri("/aii/objects/search/byLocation/{lat}/{lng}/{distance}", uriBuilder -> uriBuilder
+                    .queryParam("userSystemID", userSystemID)
+                    .queryParam("userEmail", userEmail)
+                    .queryParam("units", units)
+                    .queryParam("useCircle", useCircle)
+                    .queryParam("page", page)
+                    .queryParam("size", size)
+                    .build(lat, lng, distance))
+                .retrieve()
+                .bodyToFlux(ObjectBoundary.class);
+    }
+
+    public Flux<ObjectBoundary> getObjectsByAlias(String userSystemID, String userEmail, String alias, 
+                                                int page, int size) {
+        return webClient.get()
+                .uri("/aii/objects/search/byAlias/{alias}", uriBuilder -> uriBuilder
+                    .queryParam("userSystemID", userSystemID)
+                    .queryParam("userEmail", userEmail)
+                    .queryParam("page", page)
+                    .queryParam("size", size)
+                    .build(alias))
+                .retrieve()
+                .bodyToFlux(ObjectBoundary.class);
+    }
+
+    public Flux<ObjectBoundary> getObjectsByAliasPattern(String userSystemID, String userEmail, String pattern, 
+                                                       int page, int size) {
+        return webClient.get()
+                .uri("/aii/objects/search/byAliasPattern/{pattern}", uriBuilder -> uriBuilder
+                    .queryParam("userSystemID", userSystemID)
+                    .queryParam("userEmail", userEmail)
+                    .queryParam("page", page)
+                    .queryParam("size", size)
+                    .build(pattern))
+                .retrieve()
+                .bodyToFlux(ObjectBoundary.class);
+    }
+    
+    
+
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package demo.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import demo.model.NewUserBoundary;
+import demo.model.UserBoundary;
+import reactor.core.publisher.Mono;
+
+// Non-blocking user calls: nothing waits for the backend, the caller subscribes
+@Service
+public class ReactiveUserService {
+	private final WebClient webClient;
+	
+	public ReactiveUserService(WebClient webClient) {
+        this.webClient = webClient; // shared backend client, see WebClientConfig
+    }
+	
+	public Mono<UserBoundary> createUser(NewUserBoundary newUser) {
+        return webClient.post()
+                .uri("/aii/users")
+                .bodyValue(newUser)
+                .retrieve()
+                .bodyToMono(UserBoundary.class);
+    }
+    
+    public Mono<UserBoundary> loginUser(String systemID, String userEmail) {
+        return webClient.get()
+                .uri("/aii/users/login/{systemID}/{userEmail}", systemID, userEmail)
+                .retrieve()
+                .bodyToMono(UserBoundary.class);
+    }
+    
+    public Mono<Void> updateUser(String systemID, String userEmail, UserBoundary updatedUser) {
+        return webClient.put()
+                .uri("/aii/users/{systemID}/{userEmail}", systemID, userEmail)
+                .bodyValue(updatedUser)
+                .retrieve()
+                .toBodilessEntity()
+                .then();
+    }
+}
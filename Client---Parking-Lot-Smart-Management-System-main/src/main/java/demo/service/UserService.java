@@ -1,42 +1,29 @@
 package demo.service;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 import demo.model.NewUserBoundary;
 import demo.model.UserBoundary;
 
+// Blocking fallback (profile "blocking"): waits on the servlet thread for the backend
 @Service
+@Profile("blocking")
 public class UserService {
-	private final WebClient webClient;
+	private final ReactiveUserService reactiveUserService;
 	
-	public UserService(@Value("${backend.url}") String backendUrl) {
-        this.webClient = WebClient.create(backendUrl);
+	public UserService(ReactiveUserService reactiveUserService) {
+        this.reactiveUserService = reactiveUserService;
     }
 	
 	public UserBoundary createUser(NewUserBoundary newUser) {
-        return webClient.post()
-                .uri("/aii/users")
-                .bodyValue(newUser)
-                .retrieve()
-                .bodyToMono(UserBoundary.class)
-                .block();
+        return reactiveUserService.createUser(newUser).block();
     }
     
     public UserBoundary loginUser(String systemID, String userEmail) {
-        return webClient.get()
-                .uri("/aii/users/login/{systemID}/{userEmail}", systemID, userEmail)
-                .retrieve()
-                .bodyToMono(UserBoundary.class)
-                .block();
+        return reactiveUserService.loginUser(systemID, userEmail).block();
     }
     
     public void updateUser(String systemID, String userEmail, UserBoundary updatedUser) {
-        webClient.put()
-                .uri("/aii/users/{systemID}/{userEmail}", systemID, userEmail)
-                .bodyValue(updatedUser)
-                .retrieve()
-                .toBodilessEntity()
-                .block();
+        reactiveUserService.updateUser(systemID, userEmail, updatedUser).block();
     }
 }
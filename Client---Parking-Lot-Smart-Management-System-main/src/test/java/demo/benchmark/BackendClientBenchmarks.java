@@ -0,0 +1,104 @@
+package demo.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import demo.config.WebClientConfig;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+// Latency of a backend call under concurrency against a stub backend (20ms per response), through the previous
+// setup (one WebClient.create per service) and through the shared WebClientConfig client. Sample mode: the
+// result lists the percentiles, compare p0.99 of the two. The connection counts are checked by
+// BackendConnectionPoolLoadTests. Run main() after mvn test-compile, on the test classpath.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BackendClientBenchmarks {
+	private static final int SERVICES = 4;
+
+	@Param({ "perService", "shared" })
+	public String client;
+
+	private DisposableServer backend;
+	private ConnectionProvider provider;
+	private List<WebClient> clients;
+	private final AtomicInteger next = new AtomicInteger();
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.backend = HttpServer.create()
+				.port(0)
+				.route(routes -> routes.get("/aii/objects", (request, response) -> response
+						.header("Content-Type", "application/json")
+						.sendString(Mono.just("[]").delayElement(Duration.ofMillis(20)))))
+				.bindNow();
+		String backendUrl = "http://localhost:" + this.backend.port();
+
+		if (this.client.equals("shared")) {
+			WebClientConfig config = new WebClientConfig();
+			this.provider = config.backendConnectionProvider(50, 500, 2000, 30000, 300000); // the defaults
+			this.clients = Collections.nCopies(SERVICES,
+					config.backendWebClient(WebClient.builder(), this.provider, backendUrl, 2000, 5000, false));
+		} else {
+			this.clients = new ArrayList<>();
+			for (int i = 0; i < SERVICES; i++) {
+				this.clients.add(WebClient.create(backendUrl));
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		if (this.provider != null) {
+			this.provider.disposeLater().block(Duration.ofSeconds(5));
+		}
+		this.backend.disposeNow();
+	}
+
+	// One call, from the services in turn
+	@Benchmark
+	public String call() {
+		WebClient webClient = this.clients.get(Math.floorMod(this.next.getAndIncrement(), SERVICES));
+		return webClient.get()
+				.uri("/aii/objects")
+				.retrieve()
+				.bodyToMono(String.class)
+				.block(Duration.ofSeconds(10));
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(BackendClientBenchmarks.class.getSimpleName())
+				.build()).run();
+	}
+}
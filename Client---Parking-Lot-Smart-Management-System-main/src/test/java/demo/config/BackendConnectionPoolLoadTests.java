@@ -0,0 +1,127 @@
+package demo.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+// Burst of concurrent backend calls against a stub backend (20ms per response), through
+// the previous setup (one WebClient.create per service) and through the shared WebClientConfig client:
+// the shared client stays within its pool and opens fewer connections. Latency is compared by
+// demo.benchmark.BackendClientBenchmarks, not here.
+class BackendConnectionPoolLoadTests {
+	private static final int REQUESTS = 400;
+	private static final int SERVICES = 4;
+	// below what the default pool behind WebClient.create opens (2 x cores, at least 16)
+	private static final int MAX_CONNECTIONS = 8;
+	private static final long MAX_IDLE_MILLIS = 500;
+
+	private final AtomicInteger opened = new AtomicInteger(); // connections accepted by the stub
+	private final AtomicInteger open = new AtomicInteger();   // connections currently open
+	private DisposableServer backend;
+
+	@BeforeEach
+	void startBackend() {
+		this.backend = HttpServer.create()
+				.port(0)
+				.doOnConnection(connection -> {
+					this.opened.incrementAndGet();
+					this.open.incrementAndGet();
+					connection.onDispose(this.open::decrementAndGet);
+				})
+				.route(routes -> routes.get("/aii/objects", (request, response) -> response
+						.header("Content-Type", "application/json")
+						.sendString(Mono.just("[]").delayElement(Duration.ofMillis(20)))))
+				.bindNow();
+	}
+
+	@AfterEach
+	void stopBackend() {
+		this.backend.disposeNow();
+	}
+
+	@Test
+	void sharedClientOpensFewerConnectionsThanClientPerService() {
+		List<WebClient> clients = new ArrayList<>();
+		for (int i = 0; i < SERVICES; i++) {
+			clients.add(WebClient.create(backendUrl()));
+		}
+		Result perService = burst(clients);
+
+		WebClientConfig config = new WebClientConfig();
+		ConnectionProvider provider = config.backendConnectionProvider(MAX_CONNECTIONS, REQUESTS, 5000,
+				MAX_IDLE_MILLIS, 60000);
+		try {
+			WebClient client = config.backendWebClient(WebClient.builder(), provider, backendUrl(), 2000, 5000, false);
+			Result shared = burst(Collections.nCopies(SERVICES, client));
+
+			assertEquals(0, shared.failures());
+			assertTrue(shared.opened() < perService.opened(),
+					"shared opened " + shared.opened() + ", per service " + perService.opened());
+		} finally {
+			provider.disposeLater().block(Duration.ofSeconds(5));
+		}
+	}
+
+	@Test
+	void sharedTunedClient() throws InterruptedException {
+		WebClientConfig config = new WebClientConfig();
+		ConnectionProvider provider = config.backendConnectionProvider(MAX_CONNECTIONS, REQUESTS, 5000,
+				MAX_IDLE_MILLIS, 60000);
+		try {
+			WebClient client = config.backendWebClient(WebClient.builder(), provider, backendUrl(), 2000, 5000, false);
+			Result result = burst(Collections.nCopies(SERVICES, client));
+
+			assertEquals(0, result.failures());
+			assertTrue(result.opened() <= MAX_CONNECTIONS, "opened " + result.opened() + " connections");
+
+			// idle connections are evicted in the background
+			long deadline = System.currentTimeMillis() + 10 * MAX_IDLE_MILLIS;
+			while (this.open.get() > 0 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(50);
+			}
+			assertEquals(0, this.open.get());
+		} finally {
+			provider.disposeLater().block(Duration.ofSeconds(5));
+		}
+	}
+
+	// Connections the stub accepted during the burst, and the calls that failed
+	private Result burst(List<WebClient> clients) {
+		int openedBefore = this.opened.get();
+		AtomicInteger failures = new AtomicInteger();
+		Flux.range(0, REQUESTS)
+				.flatMap(i -> clients.get(i % clients.size()).get()
+						.uri("/aii/objects")
+						.retrieve()
+						.bodyToMono(String.class)
+						.onErrorResume(e -> {
+							failures.incrementAndGet();
+							return Mono.empty();
+						}), REQUESTS)
+				.blockLast(Duration.ofSeconds(60));
+		return new Result(this.opened.get() - openedBefore, failures.get());
+	}
+
+	private String backendUrl() {
+		return "http://localhost:" + this.backend.port();
+	}
+
+	private record Result(int opened, int failures) {
+	}
+}
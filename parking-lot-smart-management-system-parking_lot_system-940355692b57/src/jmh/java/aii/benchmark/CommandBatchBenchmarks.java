@@ -0,0 +1,118 @@
+package aii.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import aii.Application;
+import aii.boundary.CommandBatchResult;
+import aii.boundary.CommandBoundary;
+import aii.boundary.CreatedBy;
+import aii.boundary.Location;
+import aii.boundary.NewUserBoundary;
+import aii.boundary.ObjectBoundary;
+import aii.boundary.ObjectId;
+import aii.boundary.UserBoundary;
+import aii.data.UserRole;
+import aii.logic.CommandsLogic;
+import aii.logic.ObjectsLogic;
+import aii.logic.UsersLogic;
+
+// batchSize commands (no handler: checks + insert) invoked one by one and as one POST /aii/commands/batch would,
+// without the HTTP layer; the score is the time for all of them, so the two compare directly.
+// The commands are spread over targetCount objects: the batch checks each distinct target once.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CommandBatchBenchmarks {
+	private static final String SYSTEM_ID = "2025a.Shir.Falach";
+	private static final String OPERATOR = "operator@demo.org";
+	private static final String DRIVER = "driver@demo.org";
+
+	@Param({ "10", "100", "1000" })
+	public int batchSize;
+
+	@Param({ "20" })
+	public int targetCount;
+
+	private ConfigurableApplicationContext context;
+	private CommandsLogic commandsLogic;
+	private List<CommandBoundary> commands;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.context = new SpringApplicationBuilder(Application.class)
+				.web(WebApplicationType.NONE)
+				.properties(
+						"spring.datasource.url=jdbc:h2:mem:jmh-batch;DB_CLOSE_DELAY=-1",
+						"spring.jpa.hibernate.ddl-auto=create-drop",
+						"spring.jpa.show-sql=false",
+						"logging.level.root=WARN",
+						"logging.level.org.hibernate.orm.jdbc.bind=WARN",
+						"logging.level.org.hibernate.type=WARN")
+				.run();
+		this.commandsLogic = this.context.getBean(CommandsLogic.class);
+		UsersLogic usersLogic = this.context.getBean(UsersLogic.class);
+		ObjectsLogic objectsLogic = this.context.getBean(ObjectsLogic.class);
+
+		usersLogic.createUser(new NewUserBoundary(OPERATOR, UserRole.OPERATOR, "Operator", "operator-avatar"));
+		usersLogic.createUser(new NewUserBoundary(DRIVER, UserRole.END_USER, "Driver", "driver-avatar"));
+
+		List<ObjectBoundary> targets = new ArrayList<>();
+		for (int i = 0; i < this.targetCount; i++) {
+			ObjectBoundary spot = new ObjectBoundary();
+			spot.setType("parking");
+			spot.setAlias("spot-" + i);
+			spot.setStatus("AVAILABLE");
+			spot.setActive(true);
+			spot.setLocation(new Location(32.1133 + i * 0.0001, 34.8183));
+			spot.setCreatedBy(new CreatedBy(new UserBoundary.UserId(SYSTEM_ID, OPERATOR)));
+			targets.add(objectsLogic.create(SYSTEM_ID, OPERATOR, spot));
+		}
+
+		this.commands = new ArrayList<>(this.batchSize);
+		for (int i = 0; i < this.batchSize; i++) {
+			ObjectBoundary target = targets.get(i % targets.size());
+			CommandBoundary command = new CommandBoundary();
+			command.setCommand("heartbeat");
+			command.setInvokedBy(new CommandBoundary.InvokedBy(new UserBoundary.UserId(SYSTEM_ID, DRIVER)));
+			command.setTargetObject(new CommandBoundary.TargetObject(
+					new ObjectId(target.getObjectId().getSystemID(), target.getObjectId().getId())));
+			command.setCommandAttributes(Map.of("sensor", "gate-" + i));
+			this.commands.add(command);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public void single(Blackhole blackhole) {
+		for (CommandBoundary command : this.commands) {
+			blackhole.consume(this.commandsLogic.invokeCommand(command));
+		}
+	}
+
+	@Benchmark
+	public List<CommandBatchResult> batch() {
+		return this.commandsLogic.invokeCommands(this.commands);
+	}
+}
@@ -0,0 +1,44 @@
+package aii.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import aii.data.CompositeId;
+
+// CompositeId parsing against the String.split("@@", 2) code it replaced.
+// Run with -prof gc to compare allocation per operation as well.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompositeIdBenchmarks {
+	public String objectId = "3f1c2a9e-7d4b-4a43-9b1e-5d0c8e7f6a21@@2025a.Shir.Falach";
+	public String userId = "driver@demo.org@@2025a.Shir.Falach";
+
+	@Benchmark
+	public void splitBaseline(Blackhole blackhole) {
+		String[] object = this.objectId.split("@@", 2);
+		String[] user = this.userId.split("@@", 2);
+		blackhole.consume(object[0]);
+		blackhole.consume(object[1]);
+		blackhole.consume(user[0]);
+		blackhole.consume(user[1]);
+	}
+
+	@Benchmark
+	public void compositeIdParse(Blackhole blackhole) {
+		CompositeId object = CompositeId.parse(this.objectId);
+		CompositeId user = CompositeId.parse(this.userId);
+		blackhole.consume(object.id());
+		blackhole.consume(object.systemID());
+		blackhole.consume(user.id());
+		blackhole.consume(user.systemID());
+	}
+
+}
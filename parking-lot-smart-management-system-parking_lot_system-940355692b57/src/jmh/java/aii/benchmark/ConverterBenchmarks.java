@@ -0,0 +1,141 @@
+package aii.benchmark;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import aii.boundary.CommandBoundary;
+import aii.boundary.CreatedBy;
+import aii.boundary.Location;
+import aii.boundary.ObjectBoundary;
+import aii.boundary.ObjectId;
+import aii.boundary.UserBoundary;
+import aii.converter.CommandAttributesMapToStringConverter;
+import aii.converter.CommandConverter;
+import aii.converter.JsonMappers;
+import aii.converter.ObjectConverter;
+import aii.converter.UserConverter;
+import aii.data.CommandEntity;
+import aii.data.ObjectEntity;
+import aii.data.UserEntity;
+import aii.data.UserRole;
+
+// Boundary <-> entity converters, the command attributes converter and the objectDetails JSON (JsonMappers), no
+// Spring context involved
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConverterBenchmarks {
+	private static final String SYSTEM_ID = "2025a.Shir.Falach";
+
+	private final ObjectConverter objectConverter = new ObjectConverter();
+	private final CommandConverter commandConverter = new CommandConverter();
+	private final UserConverter userConverter = new UserConverter();
+	private final CommandAttributesMapToStringConverter commandAttributesConverter = new CommandAttributesMapToStringConverter(
+			new ObjectMapper());
+
+	private ObjectBoundary objectBoundary;
+	private ObjectEntity objectEntity;
+	private CommandBoundary commandBoundary;
+	private CommandEntity commandEntity;
+	private UserBoundary userBoundary;
+	private UserEntity userEntity;
+	private Map<String, Object> details;
+	private String detailsJson;
+	private String attributesJson;
+
+	@Setup
+	public void setup() {
+		this.details = new LinkedHashMap<>();
+		this.details.put("floor", 2);
+		this.details.put("covered", true);
+		this.details.put("pricePerHour", 12.5);
+		this.details.put("features", List.of("ev-charger", "wide"));
+		this.details.put("heldBy", "driver@demo.org@@" + SYSTEM_ID);
+
+		this.objectBoundary = new ObjectBoundary(new ObjectId(SYSTEM_ID, "3f1c2a9e-7d4b-4a43-9b1e-5d0c8e7f6a21"),
+				"parking", "spot-17", "AVAILABLE", new Location(32.1133, 34.8183), true, new Date(),
+				new CreatedBy(new UserBoundary.UserId(SYSTEM_ID, "operator@demo.org")), this.details);
+		this.objectEntity = this.objectConverter.toEntity(this.objectBoundary);
+
+		this.commandBoundary = new CommandBoundary();
+		this.commandBoundary.setCommandId(new CommandBoundary.CommandId(SYSTEM_ID, "9b0e6f52-13c4-4d7e-8f5a-0c2d4b6a8e91"));
+		this.commandBoundary.setCommand("reserve");
+		this.commandBoundary.setInvocationTimestamp(new Date());
+		this.commandBoundary.setInvokedBy(new CommandBoundary.InvokedBy(new UserBoundary.UserId(SYSTEM_ID, "driver@demo.org")));
+		this.commandBoundary.setTargetObject(new CommandBoundary.TargetObject(this.objectBoundary.getObjectId()));
+		this.commandBoundary.setCommandAttributes(Map.of("minutes", 90, "plate", "12-345-67"));
+		this.commandEntity = this.commandConverter.toEntity(this.commandBoundary);
+
+		this.userBoundary = new UserBoundary(new UserBoundary.UserId(SYSTEM_ID, "driver@demo.org"), UserRole.END_USER,
+				"Driver", "driver-avatar");
+		this.userEntity = this.userConverter.toEntity(this.userBoundary);
+
+		this.detailsJson = JsonMappers.writeMap(this.details);
+		this.attributesJson = this.commandAttributesConverter
+				.convertToDatabaseColumn(this.commandBoundary.getCommandAttributes());
+	}
+
+	@Benchmark
+	public ObjectEntity objectToEntity() {
+		return this.objectConverter.toEntity(this.objectBoundary);
+	}
+
+	@Benchmark
+	public ObjectBoundary objectToBoundary() {
+		return this.objectConverter.toBoundary(this.objectEntity);
+	}
+
+	@Benchmark
+	public CommandEntity commandToEntity() {
+		return this.commandConverter.toEntity(this.commandBoundary);
+	}
+
+	@Benchmark
+	public CommandBoundary commandToBoundary() {
+		return this.commandConverter.toBoundary(this.commandEntity);
+	}
+
+	@Benchmark
+	public UserEntity userToEntity() {
+		return this.userConverter.toEntity(this.userBoundary);
+	}
+
+	@Benchmark
+	public UserBoundary userToBoundary() {
+		return this.userConverter.toBoundary(this.userEntity);
+	}
+
+	@Benchmark
+	public String objectDetailsToJson() {
+		return JsonMappers.writeMap(this.details);
+	}
+
+	@Benchmark
+	public Map<String, Object> objectDetailsFromJson() {
+		return JsonMappers.readMap(this.detailsJson);
+	}
+
+	@Benchmark
+	public Map<String, Object> commandAttributesRoundTrip() {
+		return this.commandAttributesConverter.convertToEntityAttribute(
+				this.commandAttributesConverter.convertToDatabaseColumn(this.commandBoundary.getCommandAttributes()));
+	}
+
+	@Benchmark
+	public Map<String, Object> commandAttributesFromJson() {
+		return this.commandAttributesConverter.convertToEntityAttribute(this.attributesJson);
+	}
+}
@@ -0,0 +1,76 @@
+package aii.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import aii.converter.JsonMappers;
+
+// Per-row JSON conversion cost of a details map: the previous styles against the shared JsonMappers.
+// before-perCall: new ObjectMapper per conversion (client controllers, converter instances created per use)
+// before-perConverter: one ObjectMapper per converter instance, readValue(json, Map.class)
+// after: shared mapper with Blackbird and pre-built reader / writer
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonMappingBenchmarks {
+	private final ObjectMapper perConverterMapper = new ObjectMapper();
+
+	private Map<String, Object> details;
+	private String json;
+
+	@Setup
+	public void setup() throws Exception {
+		this.details = new LinkedHashMap<>();
+		this.details.put("floor", 2);
+		this.details.put("covered", true);
+		this.details.put("hasEVCharger", true);
+		this.details.put("pricePerHour", 12.5);
+		this.details.put("features", List.of("ev-charger", "wide"));
+		this.details.put("heldBy", "driver@demo.org@@2025a.Shir.Falach");
+		this.json = JsonMappers.writeMap(this.details);
+	}
+
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public Map<String, Object> readBeforePerCall() throws Exception {
+		return new ObjectMapper().readValue(this.json, Map.class);
+	}
+
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public Map<String, Object> readBeforePerConverter() throws Exception {
+		return this.perConverterMapper.readValue(this.json, Map.class);
+	}
+
+	@Benchmark
+	public Map<String, Object> readAfter() throws Exception {
+		return JsonMappers.readMap(this.json);
+	}
+
+	@Benchmark
+	public String writeBeforePerCall() throws Exception {
+		return new ObjectMapper().writeValueAsString(this.details);
+	}
+
+	@Benchmark
+	public String writeBeforePerConverter() throws Exception {
+		return this.perConverterMapper.writeValueAsString(this.details);
+	}
+
+	@Benchmark
+	public String writeAfter() throws Exception {
+		return JsonMappers.writeMap(this.details);
+	}
+}
@@ -0,0 +1,125 @@
+package aii.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import aii.Application;
+import aii.boundary.CommandBoundary;
+import aii.boundary.CreatedBy;
+import aii.boundary.Location;
+import aii.boundary.NewUserBoundary;
+import aii.boundary.ObjectBoundary;
+import aii.boundary.ObjectId;
+import aii.boundary.UserBoundary;
+import aii.data.DistanceUnits;
+import aii.data.UserRole;
+import aii.logic.CommandsLogic;
+import aii.logic.ObjectsLogic;
+import aii.logic.UsersLogic;
+
+// End-to-end logic paths (logic -> JPA -> embedded H2), without the HTTP layer.
+// The location search runs with the in-memory spatial index and against the database only.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LogicBenchmarks {
+	private static final String SYSTEM_ID = "2025a.Shir.Falach";
+	private static final String OPERATOR = "operator@demo.org";
+	private static final String DRIVER = "driver@demo.org";
+	private static final double CENTER_LAT = 32.1133;
+	private static final double CENTER_LNG = 34.8183;
+
+	@Param({ "true", "false" })
+	public boolean spatialIndex;
+
+	@Param({ "5000" })
+	public int objectCount;
+
+	private ConfigurableApplicationContext context;
+	private ObjectsLogic objectsLogic;
+	private CommandsLogic commandsLogic;
+	private ObjectBoundary target;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.context = new SpringApplicationBuilder(Application.class)
+				.web(WebApplicationType.NONE)
+				.properties(
+						"spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+						"spring.jpa.hibernate.ddl-auto=create-drop",
+						"spring.jpa.show-sql=false",
+						"logging.level.root=WARN",
+						"logging.level.org.hibernate.orm.jdbc.bind=WARN",
+						"logging.level.org.hibernate.type=WARN",
+						"aii.spatial-index.enabled=" + this.spatialIndex)
+				.run();
+		this.objectsLogic = this.context.getBean(ObjectsLogic.class);
+		this.commandsLogic = this.context.getBean(CommandsLogic.class);
+		UsersLogic usersLogic = this.context.getBean(UsersLogic.class);
+
+		usersLogic.createUser(new NewUserBoundary(OPERATOR, UserRole.OPERATOR, "Operator", "operator-avatar"));
+		usersLogic.createUser(new NewUserBoundary(DRIVER, UserRole.END_USER, "Driver", "driver-avatar"));
+
+		// spots scattered over roughly 20 x 20 km around the center
+		Random random = new Random(42);
+		for (int i = 0; i < this.objectCount; i++) {
+			ObjectBoundary spot = new ObjectBoundary();
+			spot.setType("parking");
+			spot.setAlias("spot-" + i);
+			spot.setStatus("AVAILABLE");
+			spot.setActive(true);
+			spot.setLocation(new Location(CENTER_LAT + (random.nextDouble() - 0.5) * 0.18,
+					CENTER_LNG + (random.nextDouble() - 0.5) * 0.2));
+			spot.setCreatedBy(new CreatedBy(new UserBoundary.UserId(SYSTEM_ID, OPERATOR)));
+			spot.setObjectDetails(Map.of("floor", i % 4));
+			ObjectBoundary created = this.objectsLogic.create(SYSTEM_ID, OPERATOR, spot);
+			if (i == 0) {
+				this.target = created;
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public List<ObjectBoundary> objectsByLocationBox() {
+		return this.objectsLogic.getObjectsByLocation(SYSTEM_ID, DRIVER, CENTER_LAT, CENTER_LNG, 1,
+				DistanceUnits.KILOMETERS, false, false, 0, 20, null);
+	}
+
+	@Benchmark
+	public List<ObjectBoundary> objectsByLocationCircle() {
+		return this.objectsLogic.getObjectsByLocation(SYSTEM_ID, DRIVER, CENTER_LAT, CENTER_LNG, 1,
+				DistanceUnits.KILOMETERS, true, false, 0, 20, null);
+	}
+
+	@Benchmark
+	public List<Object> invokeCommand() {
+		CommandBoundary command = new CommandBoundary();
+		command.setCommand("heartbeat"); // no handler: validation + insert only
+		command.setInvokedBy(new CommandBoundary.InvokedBy(new UserBoundary.UserId(SYSTEM_ID, DRIVER)));
+		command.setTargetObject(new CommandBoundary.TargetObject(
+				new ObjectId(this.target.getObjectId().getSystemID(), this.target.getObjectId().getId())));
+		command.setCommandAttributes(Map.of("sensor", "gate-3"));
+		return this.commandsLogic.invokeCommand(command);
+	}
+}
@@ -0,0 +1,160 @@
+package aii.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import aii.Application;
+import aii.boundary.CreatedBy;
+import aii.boundary.Location;
+import aii.boundary.NewUserBoundary;
+import aii.boundary.ObjectBoundary;
+import aii.boundary.UserBoundary;
+import aii.data.UserRole;
+import aii.logic.ObjectsLogic;
+import aii.logic.UsersLogic;
+
+// Load test of the two request execution modes over HTTP: platform threads (default) and the
+// virtual-threads profile. Each invocation fires a burst of 'concurrency' simultaneous requests
+// (get one object, search by type) and waits for all of them; the score is the time per burst.
+// Failed requests (non-200, connection errors) are counted, not thrown: the virtual-threads profile fails fast
+// once the connection pool is exhausted, so compare the "errors" secondary result of each mode with its score.
+// The embedded H2 answers in microseconds, which hides most of the difference: point the benchmark at a
+// PostgreSQL with -Daii.benchmark.datasource-url=... (and -username / -password) to measure real round-trips.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RequestModeBenchmarks {
+	private static final String SYSTEM_ID = "2025a.Shir.Falach";
+	private static final String OPERATOR = "operator@demo.org";
+	private static final String DRIVER = "driver@demo.org";
+
+	@Param({ "platform", "virtual" })
+	public String threads;
+
+	@Param({ "200", "1000" })
+	public int concurrency;
+
+	@Param({ "200" })
+	public int objectCount;
+
+	private ConfigurableApplicationContext context;
+	private ExecutorService clientExecutor;
+	private HttpClient client;
+	private List<URI> uris;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		SpringApplicationBuilder builder = new SpringApplicationBuilder(Application.class)
+				.properties(
+						"server.port=0",
+						"spring.datasource.url=" + System.getProperty("aii.benchmark.datasource-url",
+								"jdbc:h2:mem:jmh-requests;DB_CLOSE_DELAY=-1"),
+						"spring.datasource.username=" + System.getProperty("aii.benchmark.datasource-username", "sa"),
+						"spring.datasource.password=" + System.getProperty("aii.benchmark.datasource-password", ""),
+						"spring.jpa.hibernate.ddl-auto=create-drop",
+						"spring.jpa.show-sql=false",
+						"spring.docker.compose.enabled=false",
+						"logging.level.root=WARN",
+						"logging.level.org.hibernate.orm.jdbc.bind=WARN",
+						"logging.level.org.hibernate.type=WARN",
+						"logging.level.org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping=WARN");
+		if (this.threads.equals("virtual")) {
+			builder.profiles("virtual-threads");
+		}
+		this.context = builder.run();
+
+		UsersLogic usersLogic = this.context.getBean(UsersLogic.class);
+		ObjectsLogic objectsLogic = this.context.getBean(ObjectsLogic.class);
+		usersLogic.createUser(new NewUserBoundary(OPERATOR, UserRole.OPERATOR, "Operator", "operator-avatar"));
+		usersLogic.createUser(new NewUserBoundary(DRIVER, UserRole.END_USER, "Driver", "driver-avatar"));
+
+		String base = "http://localhost:" + this.context.getEnvironment().getProperty("local.server.port")
+				+ "/aii/objects";
+		String user = "userSystemID=" + SYSTEM_ID + "&userEmail=" + DRIVER;
+		this.uris = new ArrayList<>();
+		for (int i = 0; i < this.objectCount; i++) {
+			ObjectBoundary spot = new ObjectBoundary();
+			spot.setType("parking");
+			spot.setAlias("spot-" + i);
+			spot.setStatus("AVAILABLE");
+			spot.setActive(true);
+			spot.setLocation(new Location(32.1133 + i * 0.0001, 34.8183));
+			spot.setCreatedBy(new CreatedBy(new UserBoundary.UserId(SYSTEM_ID, OPERATOR)));
+			ObjectBoundary created = objectsLogic.create(SYSTEM_ID, OPERATOR, spot);
+			this.uris.add(URI.create(base + "/" + created.getObjectId().getSystemID() + "/"
+					+ created.getObjectId().getId() + "?" + user));
+		}
+		this.uris.add(URI.create(base + "/search/byType/parking?size=20&" + user));
+
+		// the client must not be the bottleneck: one virtual thread per request on this side in both modes
+		this.clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+		this.client = HttpClient.newBuilder().executor(this.clientExecutor).build();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+		this.clientExecutor.shutdownNow();
+	}
+
+	// Requests per outcome, reported per mode next to the score (secondary results "ok" and "errors")
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Outcomes {
+		public long ok;
+		public long errors;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			this.ok = 0;
+			this.errors = 0;
+		}
+	}
+
+	@Benchmark
+	public int burst(Outcomes outcomes) {
+		List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(this.concurrency);
+		for (int i = 0; i < this.concurrency; i++) {
+			HttpRequest request = HttpRequest.newBuilder(this.uris.get(i % this.uris.size())).GET().build();
+			responses.add(this.client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+		}
+		int ok = 0;
+		for (CompletableFuture<HttpResponse<Void>> response : responses) {
+			int status;
+			try {
+				status = response.join().statusCode();
+			} catch (CompletionException e) { // connection refused / reset under overload
+				status = -1;
+			}
+			if (status == 200) {
+				ok++;
+			}
+		}
+		outcomes.ok += ok;
+		outcomes.errors += this.concurrency - ok;
+		return ok;
+	}
+}
@@ -0,0 +1,74 @@
+package aii.boundary;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Outcome of one item of a command batch: the invoked command, or why it was rejected
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CommandBatchResult {
+    private int index;       // Position of the item in the request array
+    private boolean success;
+    private Object result;   // Same payload as a single POST /aii/commands, when successful
+    private String error;    // Rejection reason, when not successful
+
+    // Default Constructor
+    public CommandBatchResult() {}
+
+    public static CommandBatchResult success(int index, Object result) {
+        CommandBatchResult batchResult = new CommandBatchResult();
+        batchResult.index = index;
+        batchResult.success = true;
+        batchResult.result = result;
+        return batchResult;
+    }
+
+    public static CommandBatchResult failure(int index, String error) {
+        CommandBatchResult batchResult = new CommandBatchResult();
+        batchResult.index = index;
+        batchResult.success = false;
+        batchResult.error = error;
+        return batchResult;
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public Object getResult() {
+        return result;
+    }
+
+    public void setResult(Object result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "CommandBatchResult{" +
+                "index=" + index +
+                ", success=" + success +
+                ", result=" + result +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
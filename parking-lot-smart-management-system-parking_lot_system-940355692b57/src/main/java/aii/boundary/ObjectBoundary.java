@@ -4,6 +4,7 @@ import java.util.Date;
 import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import aii.boundary.UserBoundary.UserId;
@@ -24,6 +25,8 @@ public class ObjectBoundary {
 	private Date creationTimestamp;
 	private CreatedBy createdBy;
 	private Map<String, Object> objectDetails;
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private Double distance; // Distance from the search point, only set by the nearest search
 
 	// Default Constructor
 	public ObjectBoundary() {
@@ -117,6 +120,14 @@ public class ObjectBoundary {
 		this.objectDetails = objectDetails;
 	}
 
+	public Double getDistance() {
+		return distance;
+	}
+
+	public void setDistance(Double distance) {
+		this.distance = distance;
+	}
+
 	@Override
 	public String toString() {
 		return "ObjectBoundary{" +
@@ -129,6 +140,7 @@ public class ObjectBoundary {
 				", creationTimestamp=" + creationTimestamp +
 				", createdBy=" + createdBy +
 				", objectDetails=" + objectDetails +
+				(distance != null ? ", distance=" + distance : "") +
 				'}';
 	}
 }
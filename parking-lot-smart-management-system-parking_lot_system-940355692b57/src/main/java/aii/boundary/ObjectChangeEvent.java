@@ -0,0 +1,111 @@
+package aii.boundary;
+
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Status / active change of an object, pushed to the subscribers of GET /aii/objects/stream
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ObjectChangeEvent {
+	private ObjectId objectId;
+	private String type;
+	private String alias;
+	private String status;
+	private String previousStatus; // null for a newly created object
+	private boolean active;
+	private Location location;
+	private Date changedAt;
+
+	// Default Constructor
+	public ObjectChangeEvent() {}
+
+	// Snapshot of the object after the change
+	public static ObjectChangeEvent of(ObjectBoundary object, String previousStatus) {
+		ObjectChangeEvent event = new ObjectChangeEvent();
+		event.objectId = object.getObjectId();
+		event.type = object.getType();
+		event.alias = object.getAlias();
+		event.status = object.getStatus();
+		event.previousStatus = previousStatus;
+		event.active = object.isActive();
+		event.location = object.getLocation();
+		event.changedAt = new Date();
+		return event;
+	}
+
+	// Getters and Setters
+	public ObjectId getObjectId() {
+		return objectId;
+	}
+
+	public void setObjectId(ObjectId objectId) {
+		this.objectId = objectId;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public void setType(String type) {
+		this.type = type;
+	}
+
+	public String getAlias() {
+		return alias;
+	}
+
+	public void setAlias(String alias) {
+		this.alias = alias;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public String getPreviousStatus() {
+		return previousStatus;
+	}
+
+	public void setPreviousStatus(String previousStatus) {
+		this.previousStatus = previousStatus;
+	}
+
+	public boolean isActive() {
+		return active;
+	}
+
+	public void setActive(boolean active) {
+		this.active = active;
+	}
+
+	public Location getLocation() {
+		return location;
+	}
+
+	public void setLocation(Location location) {
+		this.location = location;
+	}
+
+	public Date getChangedAt() {
+		return changedAt;
+	}
+
+	public void setChangedAt(Date changedAt) {
+		this.changedAt = changedAt;
+	}
+
+	@Override
+	public String toString() {
+		return "ObjectChangeEvent{" +
+				"objectId=" + objectId +
+				", type='" + type + '\'' +
+				", status='" + status + '\'' +
+				", previousStatus='" + previousStatus + '\'' +
+				", active=" + active +
+				'}';
+	}
+}
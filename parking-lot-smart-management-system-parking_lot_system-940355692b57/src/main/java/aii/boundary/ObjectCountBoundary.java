@@ -0,0 +1,67 @@
+package aii.boundary;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// One row of GET /aii/objects/stats: the number of objects in a group.
+// Only the dimensions the request grouped by are set, the others are summed over (and left out).
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ObjectCountBoundary {
+	private String type;
+	private String status;
+	private Boolean active;
+	private Location area; // south-west corner of the area cell
+	private long count;
+
+	// Default Constructor
+	public ObjectCountBoundary() {}
+
+	// Full Constructor
+	public ObjectCountBoundary(String type, String status, Boolean active, Location area, long count) {
+		this.type = type;
+		this.status = status;
+		this.active = active;
+		this.area = area;
+		this.count = count;
+	}
+
+	// Getters and Setters
+	public String getType() {
+		return type;
+	}
+
+	public void setType(String type) {
+		this.type = type;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public Boolean getActive() {
+		return active;
+	}
+
+	public void setActive(Boolean active) {
+		this.active = active;
+	}
+
+	public Location getArea() {
+		return area;
+	}
+
+	public void setArea(Location area) {
+		this.area = area;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public void setCount(long count) {
+		this.count = count;
+	}
+}
@@ -1,5 +1,6 @@
 package aii.boundary;
 
+import aii.data.CompositeId;
 import aii.data.UserEntity;
 import aii.data.UserRole;
 import aii.logic.InvalidInputException;
@@ -73,9 +74,9 @@ public class UserBoundary {
     // Constructor to initialize from UserEntity
     public UserBoundary(UserEntity entity) {
         // Decompose uniqueId into email and systemID
-        String[] parts = entity.getUniqueId().split("@@");
-        String email = parts[0];
-        String systemID = parts[1];
+        CompositeId parts = CompositeId.parse(entity.getUniqueId());
+        String email = parts.id();
+        String systemID = parts.systemID();
 
         this.userId = new UserId(systemID, email);
         this.role = entity.getRole();
@@ -86,7 +87,7 @@ public class UserBoundary {
     // Convert UserBoundary to UserEntity
     public UserEntity toEntity() {
         // Generate uniqueId from email and systemID
-        String uniqueId = this.userId.getEmail() + "@@" + this.userId.getSystemID();
+        String uniqueId = CompositeId.combine(this.userId.getEmail(), this.userId.getSystemID());
 
         // Create UserEntity
         return new UserEntity(
@@ -1,10 +1,18 @@
 package aii.controllers;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import aii.boundary.CommandBoundary;
 import aii.boundary.UserBoundary;
+import aii.converter.NdjsonWriter;
 import aii.logic.CommandsLogic;
 import aii.logic.ForbiddenAccessException;
 import aii.logic.InvalidInputException;
@@ -13,7 +21,9 @@ import aii.logic.ObjectsLogic;
 import aii.logic.UsersLogic;
 import aii.data.UserRole;
 
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/aii/admin")
@@ -22,12 +32,19 @@ public class AdminController {
     private final UsersLogic usersLogic; // Logic for user operations
     private final ObjectsLogic objectLogic; // Service for object operations
     private final CommandsLogic commandService; // Service for command operations
+    private final ObjectWriter commandWriter; // NDJSON export rows, built once
+    private final ObjectWriter userWriter;
+
+    private static final int EXPORT_FLUSH_ROWS = 500; // rows per flush of an export response
 
     // Constructor for dependency injection
-    public AdminController(UsersLogic usersLogic, ObjectsLogic objectLogic, CommandsLogic commandService) {
+    public AdminController(UsersLogic usersLogic, ObjectsLogic objectLogic, CommandsLogic commandService,
+            ObjectMapper objectMapper) {
         this.usersLogic = usersLogic;
         this.objectLogic = objectLogic;
         this.commandService = commandService;
+        this.commandWriter = objectMapper.writerFor(CommandBoundary.class);
+        this.userWriter = objectMapper.writerFor(UserBoundary.class);
     }
 
     // DELETE all users - Requires admin credentials
@@ -101,10 +118,69 @@ public class AdminController {
         }
     }
 
+    // Export commands as NDJSON (one command per line, oldest first), streamed while read - no paging.
+    // Optional filters: from / to (ISO date-time, from inclusive, to exclusive) and the command name
+    @GetMapping(path = "/commands/export", produces = {MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportCommands(
+            @RequestParam("userSystemID") String userSystemID,
+            @RequestParam("userEmail") String userEmail,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+            @RequestParam(name = "command", required = false) String command) {
+        validateAdminAccess(userSystemID, userEmail);
+        if (from != null && to != null && !from.before(to)) {
+            throw new InvalidInputException("from must be before to."); // before the response starts
+        }
+        return export("commands.ndjson", out -> {
+            try (NdjsonWriter<CommandBoundary> writer = new NdjsonWriter<>(commandWriter, out, EXPORT_FLUSH_ROWS)) {
+                commandService.exportCommands(userSystemID, userEmail, from, to, command, writer);
+            }
+        });
+    }
+
+    // Export all users as NDJSON, by id
+    @GetMapping(path = "/users/export", produces = {MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam("userSystemID") String userSystemID,
+            @RequestParam("userEmail") String userEmail) {
+        validateAdminAccess(userSystemID, userEmail);
+        return export("users.ndjson", out -> {
+            try (NdjsonWriter<UserBoundary> writer = new NdjsonWriter<>(userWriter, out, EXPORT_FLUSH_ROWS)) {
+                usersLogic.exportUsers(userSystemID, userEmail, writer);
+            }
+        });
+    }
+
+    // GET user role cache counters - Requires admin credentials
+    @GetMapping(path = "/stats/userRoleCache", produces = {MediaType.APPLICATION_JSON_VALUE})
+    public Map<String, Object> getUserRoleCacheStats(
+            @RequestParam("userSystemID") String userSystemID,
+            @RequestParam("userEmail") String userEmail) {
+        validateAdminAccess(userSystemID, userEmail);
+        return usersLogic.getUserRoleCacheStats();
+    }
+
+    // GET optimistic locking conflict / retry counters - Requires admin credentials
+    @GetMapping(path = "/stats/contention", produces = {MediaType.APPLICATION_JSON_VALUE})
+    public Map<String, Object> getContentionStats(
+            @RequestParam("userSystemID") String userSystemID,
+            @RequestParam("userEmail") String userEmail) {
+        validateAdminAccess(userSystemID, userEmail);
+        return objectLogic.getContentionStats();
+    }
+
+    // The body runs on an MVC async thread once the handler returns, in its own read-only transaction
+    private ResponseEntity<StreamingResponseBody> export(String fileName, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
     // Helper method to validate admin access
     private void validateAdminAccess(String userSystemID, String userEmail) {
-        UserBoundary user = usersLogic.loginUser(userSystemID, userEmail);
-        if (user.getRole() != UserRole.ADMIN) {
+        // resolved once for the request, the logic call below reuses it
+        if (usersLogic.getUserRole(userSystemID, userEmail) != UserRole.ADMIN) {
             throw new ForbiddenAccessException("Access denied: Only ADMIN users can perform this operation.");
         }
     }
@@ -1,14 +1,19 @@
 package aii.controllers;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import aii.boundary.CommandBatchResult;
 import aii.boundary.CommandBoundary;
 import aii.logic.CommandsLogic;
 import aii.logic.InvalidInputException;
+import aii.logic.PageCursor;
+import jakarta.servlet.http.HttpServletResponse;
 
+import java.util.Date;
 import java.util.List;
 
 @RestController
@@ -26,16 +31,75 @@ public class CommandController {
     @PostMapping(
             consumes = {MediaType.APPLICATION_JSON_VALUE}, 
             produces = {MediaType.APPLICATION_JSON_VALUE})
-    public List<Object> invokeCommand(@RequestBody CommandBoundary commandBoundary) {
+    public List<Object> invokeCommand(
+            @RequestBody CommandBoundary commandBoundary,
+            @RequestParam(name = "async", required = false, defaultValue = "false") boolean async) {
     	
         try {
-            // Validate and delegate to the service layer
-            return commandService.invokeCommand(commandBoundary);
+            // Validate and delegate to the service layer (async: acknowledged before the row is written)
+            return commandService.invokeCommand(commandBoundary, async);
         } catch (InvalidInputException e) {
             // Translate the custom exception to a 400 Bad Request HTTP response
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
     }
+
+    // Invoke many commands at once (e.g. sensor gateways), one result per item in request order
+    @PostMapping(
+            path = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE})
+    public List<CommandBatchResult> invokeCommands(@RequestBody List<CommandBoundary> commandBoundaries) {
+        return commandService.invokeCommands(commandBoundaries);
+    }
+
+    // Command history of an object, newest first - OPERATOR / ADMIN.
+    // Keyset paging: pass the X-Next-Cursor of a full page as 'after' for the next one.
+    // Optional from / to (ISO date-time, from inclusive, to exclusive) bound the invocation time
+    @GetMapping(
+            path = "/byObject/{systemID}/{id}",
+            produces = {MediaType.APPLICATION_JSON_VALUE})
+    public List<CommandBoundary> getCommandsByObject(
+            @PathVariable("systemID") String objectSystemID,
+            @PathVariable("id") String objectId,
+            @RequestParam("userSystemID") String userSystemID,
+            @RequestParam("userEmail") String userEmail,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+            @RequestParam(name = "size", required = false, defaultValue = "10") int size,
+            @RequestParam(name = "after", required = false) String after,
+            HttpServletResponse response) {
+
+        return withNextCursor(commandService.getCommandsByObject(userSystemID, userEmail, objectSystemID, objectId,
+                from, to, size, after), size, response);
+    }
+
+    // Commands invoked by a user, newest first - OPERATOR / ADMIN, or the user themselves. Paging as above
+    @GetMapping(
+            path = "/byUser/{systemID}/{email}",
+            produces = {MediaType.APPLICATION_JSON_VALUE})
+    public List<CommandBoundary> getCommandsByUser(
+            @PathVariable("systemID") String invokerSystemID,
+            @PathVariable("email") String invokerEmail,
+            @RequestParam("userSystemID") String userSystemID,
+            @RequestParam("userEmail") String userEmail,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+            @RequestParam(name = "size", required = false, defaultValue = "10") int size,
+            @RequestParam(name = "after", required = false) String after,
+            HttpServletResponse response) {
+
+        return withNextCursor(commandService.getCommandsByUser(userSystemID, userEmail, invokerSystemID, invokerEmail,
+                from, to, size, after), size, response);
+    }
+
+    // A full page may have a successor: hand out the cursor of its last command (X-Next-Cursor header)
+    private List<CommandBoundary> withNextCursor(List<CommandBoundary> commands, int size, HttpServletResponse response) {
+        if (!commands.isEmpty() && commands.size() == size) {
+            response.setHeader(PageCursor.NEXT_CURSOR_HEADER, PageCursor.after(commands.get(commands.size() - 1)).encode());
+        }
+        return commands;
+    }
 }
     //old for validation with the team
 /*    public List<Object> invokeCommand(@RequestBody CommandBoundary commandBoundary) {
@@ -0,0 +1,38 @@
+package aii.controllers;
+
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Counts every exception thrown by a controller (aii.exceptions{exception=SimpleName}) and leaves
+// the response to the regular resolvers (@ResponseStatus of the aii.logic exceptions)
+@Component
+public class ExceptionMetrics implements HandlerExceptionResolver, Ordered {
+	private final MeterRegistry meterRegistry;
+
+	public ExceptionMetrics(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		Counter.builder("aii.exceptions")
+				.description("Exceptions thrown by the REST controllers, by type")
+				.tag("exception", ex.getClass().getSimpleName())
+				.register(this.meterRegistry)
+				.increment();
+		return null; // not resolved here
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+}
@@ -1,15 +1,23 @@
 package aii.controllers;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import aii.boundary.ObjectBoundary;
+import aii.boundary.ObjectChangeEvent;
+import aii.boundary.ObjectCountBoundary;
 import aii.data.DistanceUnits;
 import aii.logic.InvalidInputException;
 import aii.logic.NotFoundException;
+import aii.logic.ObjectChangeFeed;
 import aii.logic.ObjectsLogic;
 import aii.logic.ObjectsLogicImplementation;
+import aii.logic.PageCursor;
+import jakarta.servlet.http.HttpServletResponse;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,10 +26,13 @@ import java.util.Optional;
 public class ObjectController {
 
 	private final ObjectsLogic objectLogic;
+	private final long streamTimeoutMillis; // An open change stream is completed after this, clients reconnect
 
 	// Constructor to inject ObjectService
-	public ObjectController(ObjectsLogic objectLogic) {
+	public ObjectController(ObjectsLogic objectLogic,
+			@Value("${aii.objects.stream.timeout-ms:1800000}") long streamTimeoutMillis) {
 		this.objectLogic = objectLogic;
+		this.streamTimeoutMillis = streamTimeoutMillis;
 	}
 
 	// Create a new object
@@ -80,9 +91,11 @@ public class ObjectController {
 			@RequestParam("userSystemID") String userSystemID,
 			@RequestParam("userEmail") String userEmail, 
 			@RequestParam(name = "page", required = false, defaultValue = "0") int page,
-			@RequestParam(name = "size", required = false, defaultValue = "10") int size) {
+			@RequestParam(name = "size", required = false, defaultValue = "10") int size,
+			@RequestParam(name = "after", required = false) String after,
+			HttpServletResponse response) {
 
-		return objectLogic.getAllObjects(userSystemID, userEmail, page, size);
+		return withNextCursor(objectLogic.getAllObjects(userSystemID, userEmail, page, size, after), size, response);
 	}
 
 	// New Search Objects by exact alias with pagination support
@@ -94,7 +107,9 @@ public class ObjectController {
 			@RequestParam("userSystemID") String userSystemID,
 			@RequestParam("userEmail") String userEmail,
 			@RequestParam(name = "size", required = false, defaultValue = "10") int size,
-			@RequestParam(name = "page", required = false, defaultValue = "0") int page) {
+			@RequestParam(name = "page", required = false, defaultValue = "0") int page,
+			@RequestParam(name = "after", required = false) String after,
+			HttpServletResponse response) {
 
 		// Validate inputs
 		if (alias == null || alias.isEmpty()) {
@@ -102,7 +117,7 @@ public class ObjectController {
 		}
 
 		// Delegate to logic layer
-		return this.objectLogic.getObjectsByAlias(userSystemID, userEmail, alias, page, size);
+		return withNextCursor(this.objectLogic.getObjectsByAlias(userSystemID, userEmail, alias, page, size, after), size, response);
 	}
 
 	// New Search Objects by alias pattern with pagination support
@@ -114,7 +129,9 @@ public class ObjectController {
 			@RequestParam("userSystemID") String userSystemID,
 			@RequestParam("userEmail") String userEmail,
 			@RequestParam(name = "size", required = false, defaultValue = "10") int size,
-			@RequestParam(name = "page", required = false, defaultValue = "0") int page) {
+			@RequestParam(name = "page", required = false, defaultValue = "0") int page,
+			@RequestParam(name = "after", required = false) String after,
+			HttpServletResponse response) {
 
 		// Validate inputs
 		if (pattern == null || pattern.isEmpty()) {
@@ -122,7 +139,7 @@ public class ObjectController {
 		}
 
 		// Delegate to logic layer
-		return this.objectLogic.getObjectsByAliasPattern(userSystemID, userEmail, pattern, page, size);
+		return withNextCursor(this.objectLogic.getObjectsByAliasPattern(userSystemID, userEmail, pattern, page, size, after), size, response);
 	}
 
 	// New Search Objects by type with pagination support
@@ -134,10 +151,30 @@ public class ObjectController {
 			@RequestParam("userSystemID") String userSystemID,
 			@RequestParam("userEmail") String userEmail,
 			@RequestParam(name = "size", required = false, defaultValue = "10") int size,
-			@RequestParam(name = "page", required = false, defaultValue = "0") int page) {
+			@RequestParam(name = "page", required = false, defaultValue = "0") int page,
+			@RequestParam(name = "after", required = false) String after,
+			HttpServletResponse response) {
+
+		// Delegate to logic layer
+		return withNextCursor(this.objectLogic.getObjectsByType(userSystemID, userEmail, type, page, size, after), size, response);
+	}
+
+	// New Search Objects by an objectDetails key / value (e.g. /search/byDetail/hasEVCharger/true) with pagination support
+	@GetMapping(
+			path = "/search/byDetail/{key}/{value}",
+			produces = {MediaType.APPLICATION_JSON_VALUE})
+	public List<ObjectBoundary> getObjectsByDetail(
+			@PathVariable("key") String key,
+			@PathVariable("value") String value,
+			@RequestParam("userSystemID") String userSystemID,
+			@RequestParam("userEmail") String userEmail,
+			@RequestParam(name = "size", required = false, defaultValue = "10") int size,
+			@RequestParam(name = "page", required = false, defaultValue = "0") int page,
+			@RequestParam(name = "after", required = false) String after,
+			HttpServletResponse response) {
 
 		// Delegate to logic layer
-		return this.objectLogic.getObjectsByType(userSystemID, userEmail, type, page, size);
+		return withNextCursor(this.objectLogic.getObjectsByDetail(userSystemID, userEmail, key, value, page, size, after), size, response);
 	}
 
 	// New Search Objects by type and status with pagination support
@@ -150,10 +187,12 @@ public class ObjectController {
 			@RequestParam("userSystemID") String userSystemID,
 			@RequestParam("userEmail") String userEmail,
 			@RequestParam(name = "size", required = false, defaultValue = "10") int size,
-			@RequestParam(name = "page", required = false, defaultValue = "0") int page) {
+			@RequestParam(name = "page", required = false, defaultValue = "0") int page,
+			@RequestParam(name = "after", required = false) String after,
+			HttpServletResponse response) {
 
 		// Delegate to logic layer
-		return this.objectLogic.getObjectsByTypeAndStatus(userSystemID, userEmail, type, status, page, size);
+		return withNextCursor(this.objectLogic.getObjectsByTypeAndStatus(userSystemID, userEmail, type, status, page, size, after), size, response);
 	}
 	
 	// New Search Objects by location with pagination support
@@ -166,13 +205,108 @@ public class ObjectController {
 			@PathVariable("distance") double distance,
 			@RequestParam(value = "units", defaultValue = "NEUTRAL") DistanceUnits units,
 			@RequestParam(name = "useCircle", required = false, defaultValue = "false") boolean useCircle,
+			@RequestParam(name = "sortByDistance", required = false, defaultValue = "false") boolean sortByDistance,
 			@RequestParam("userSystemID") String userSystemID,
 			@RequestParam("userEmail") String userEmail,
 			@RequestParam(name = "size", required = false, defaultValue = "10") int size,
-			@RequestParam(name = "page", required = false, defaultValue = "0") int page) {
+			@RequestParam(name = "page", required = false, defaultValue = "0") int page,
+			@RequestParam(name = "after", required = false) String after,
+			HttpServletResponse response) {
+
+		// Delegate to logic layer
+		List<ObjectBoundary> objects = this.objectLogic.getObjectsByLocation(userSystemID, userEmail, lat, lng, distance, units, useCircle, sortByDistance, page, size, after);
+		// distance order has no keyset, so no cursor is offered for it
+		return sortByDistance ? objects : withNextCursor(objects, size, response);
+	}
+
+	// New Search the k nearest active objects, nearest first, each with its distance
+	@GetMapping(
+			path = "/search/nearest/{lat}/{lng}",
+			produces = {MediaType.APPLICATION_JSON_VALUE})
+	public List<ObjectBoundary> getNearestObjects(
+			@PathVariable("lat") double lat,
+			@PathVariable("lng") double lng,
+			@RequestParam(name = "k", required = false, defaultValue = "10") int k,
+			@RequestParam(name = "type", required = false) String type,
+			@RequestParam(name = "status", required = false) String status,
+			@RequestParam(name = "maxDistance", required = false) Double maxDistance,
+			@RequestParam(value = "units", defaultValue = "NEUTRAL") DistanceUnits units,
+			@RequestParam("userSystemID") String userSystemID,
+			@RequestParam("userEmail") String userEmail) {
 
 		// Delegate to logic layer
-		return this.objectLogic.getObjectsByLocation(userSystemID, userEmail, lat, lng, distance, units, useCircle, page, size);
+		return this.objectLogic.getNearestObjects(userSystemID, userEmail, lat, lng, type, status, maxDistance, units, k);
+	}
+
+	// Dashboard counts (e.g. free / occupied per type, per area) from the materialized counts, not a scan of the objects.
+	// groupBy: any of type, status, active, area (default type,status); an area is a grid cell, given by its south-west corner
+	@GetMapping(
+			path = "/stats",
+			produces = {MediaType.APPLICATION_JSON_VALUE})
+	public List<ObjectCountBoundary> getObjectCounts(
+			@RequestParam("userSystemID") String userSystemID,
+			@RequestParam("userEmail") String userEmail,
+			@RequestParam(name = "groupBy", required = false) List<String> groupBy) {
+		return this.objectLogic.getObjectCounts(userSystemID, userEmail, groupBy);
+	}
+
+	// Stream of status / active changes (Server-Sent Events) instead of polling the searches.
+	// Optional filters: type, status and a box minLat..maxLat / minLng..maxLng. The request is asynchronous,
+	// an idle stream holds a connection but no server thread.
+	@GetMapping(
+			path = "/stream",
+			produces = {MediaType.TEXT_EVENT_STREAM_VALUE})
+	public SseEmitter streamChanges(
+			@RequestParam("userSystemID") String userSystemID,
+			@RequestParam("userEmail") String userEmail,
+			@RequestParam(name = "type", required = false) String type,
+			@RequestParam(name = "status", required = false) String status,
+			@RequestParam(name = "minLat", required = false) Double minLat,
+			@RequestParam(name = "maxLat", required = false) Double maxLat,
+			@RequestParam(name = "minLng", required = false) Double minLng,
+			@RequestParam(name = "maxLng", required = false) Double maxLng) {
+
+		SseEmitter emitter = new SseEmitter(this.streamTimeoutMillis);
+		ObjectChangeFeed.Subscription subscription = this.objectLogic.subscribeToChanges(userSystemID, userEmail,
+				type, status, minLat, maxLat, minLng, maxLng, new SseListener(emitter));
+		emitter.onCompletion(subscription::cancel);
+		emitter.onTimeout(subscription::cancel);
+		emitter.onError(error -> subscription.cancel());
+		return emitter;
+	}
+
+	// Writes the changes of one subscription to its event stream
+	private static class SseListener implements ObjectChangeFeed.Listener {
+		private final SseEmitter emitter;
+
+		SseListener(SseEmitter emitter) {
+			this.emitter = emitter;
+		}
+
+		@Override
+		public void onChange(ObjectChangeEvent event) throws IOException {
+			this.emitter.send(SseEmitter.event()
+					.name("object-change")
+					.data(event, MediaType.APPLICATION_JSON));
+		}
+
+		@Override
+		public void onHeartbeat() throws IOException {
+			this.emitter.send(SseEmitter.event().comment("keep-alive"));
+		}
+
+		@Override
+		public void onClose() {
+			this.emitter.complete();
+		}
+	}
+
+	// A full page may have a successor: hand out the cursor of its last object (X-Next-Cursor header)
+	private List<ObjectBoundary> withNextCursor(List<ObjectBoundary> objects, int size, HttpServletResponse response) {
+		if (!objects.isEmpty() && objects.size() == size) {
+			response.setHeader(PageCursor.NEXT_CURSOR_HEADER, PageCursor.after(objects.get(objects.size() - 1)).encode());
+		}
+		return objects;
 	}
 
 }
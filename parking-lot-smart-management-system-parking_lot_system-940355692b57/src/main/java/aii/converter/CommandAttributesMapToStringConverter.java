@@ -1,23 +1,32 @@
 package aii.converter;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 
+import java.io.IOException;
 import java.util.Map;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+// commandAttributes <-> JSON text, with the Spring ObjectMapper: Hibernate creates the converter through
+// Spring (SpringBeanContainer, set up by Spring Boot), which injects the mapper
 @Converter
 public class CommandAttributesMapToStringConverter implements AttributeConverter<Map<String, Object>, String> {
+    private final ObjectReader mapReader;
+    private final ObjectWriter mapWriter;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    public CommandAttributesMapToStringConverter(ObjectMapper objectMapper) {
+        this.mapReader = objectMapper.readerFor(JsonMappers.MAP_TYPE);
+        this.mapWriter = objectMapper.writerFor(JsonMappers.MAP_TYPE);
+    }
 
     @Override
     public String convertToDatabaseColumn(Map<String, Object> attributes) {
         try {
-            return attributes == null ? null : objectMapper.writeValueAsString(attributes);
-        } catch (JsonProcessingException e) {
+            return attributes == null ? null : mapWriter.writeValueAsString(attributes);
+        } catch (IOException e) {
             throw new IllegalArgumentException("Error converting map to JSON", e);
         }
     }
@@ -25,8 +34,8 @@ public class CommandAttributesMapToStringConverter implements AttributeConverter
     @Override
     public Map<String, Object> convertToEntityAttribute(String dbData) {
         try {
-            return dbData == null ? null : objectMapper.readValue(dbData, new TypeReference<Map<String, Object>>() {});
-        } catch (JsonProcessingException e) {
+            return dbData == null ? null : mapReader.readValue(dbData);
+        } catch (IOException e) {
             throw new IllegalArgumentException("Error converting JSON to map", e);
         }
     }
@@ -5,6 +5,7 @@ import aii.boundary.CommandBoundary;
 import aii.boundary.ObjectId;
 import aii.boundary.UserBoundary;
 import aii.data.CommandEntity;
+import aii.data.CompositeId;
 
 @Component
 public class CommandConverter {
@@ -58,23 +59,23 @@ public class CommandConverter {
         CommandBoundary boundary = new CommandBoundary();
 
         // Split and set commandId
-        String[] commandIdParts = splitId(entity.getCommandId());
-        boundary.setCommandId(new CommandBoundary.CommandId(commandIdParts[1], commandIdParts[0]));
+        CompositeId commandIdParts = CompositeId.parse(entity.getCommandId());
+        boundary.setCommandId(new CommandBoundary.CommandId(commandIdParts.systemID(), commandIdParts.id()));
 
         // Set command
         boundary.setCommand(entity.getCommand());
 
         // Split and set invokedBy
         if (entity.getInvokedBy() != null) {
-            String[] invokedByParts = splitId(entity.getInvokedBy());
-            UserBoundary.UserId userId = new UserBoundary.UserId(invokedByParts[1], invokedByParts[0]);
+            CompositeId invokedByParts = CompositeId.parse(entity.getInvokedBy());
+            UserBoundary.UserId userId = new UserBoundary.UserId(invokedByParts.systemID(), invokedByParts.id());
             boundary.setInvokedBy(new CommandBoundary.InvokedBy(userId));
         }
 
         // Split and set targetObject
         if (entity.getTargetObject() != null) {
-            String[] targetObjectParts = splitId(entity.getTargetObject());
-            ObjectId objectId = new ObjectId(targetObjectParts[1], targetObjectParts[0]);
+            CompositeId targetObjectParts = CompositeId.parse(entity.getTargetObject());
+            ObjectId objectId = new ObjectId(targetObjectParts.systemID(), targetObjectParts.id());
             boundary.setTargetObject(new CommandBoundary.TargetObject(objectId));
         }
 
@@ -89,11 +90,6 @@ public class CommandConverter {
 
     // Helper method to generate a concatenated ID
     private String generateId(String id, String systemID) {
-        return id + "@@" + systemID;
-    }
-
-    // Helper method to split a concatenated ID
-    private String[] splitId(String combinedId) {
-        return combinedId.split("@@", 2); // Split into two parts (id, systemID)
+        return CompositeId.combine(id, systemID);
     }
 }
@@ -0,0 +1,18 @@
+package aii.converter;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+// Registers Blackbird on the ObjectMapper Spring Boot builds for the REST controllers and the command attributes
+// converter (objectDetails use the fixed JsonMappers mapper)
+@Configuration
+public class JacksonConfiguration {
+
+	@Bean
+	public Module blackbirdModule() {
+		return new BlackbirdModule();
+	}
+}
@@ -0,0 +1,45 @@
+package aii.converter;
+
+import java.io.IOException;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+// Map<String, Object> <-> JSON text for objectDetails (LazyJsonMap). The entities live outside Spring, so this is
+// a fixed mapper of its own, never the Spring one: plain JSON maps need none of its settings, and every entity
+// reads and writes the same way whichever application context is running. ObjectReader / ObjectWriter are
+// immutable and thread-safe, and keep the resolved type and serializers between calls.
+public final class JsonMappers {
+	public static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+	private static final JsonMapper MAPPER = JsonMapper.builder()
+			.addModule(new BlackbirdModule()) // generated accessors instead of reflection
+			.build();
+	private static final ObjectReader MAP_READER = MAPPER.readerFor(MAP_TYPE);
+	private static final ObjectWriter MAP_WRITER = MAPPER.writerFor(MAP_TYPE);
+
+	private JsonMappers() {
+	}
+
+	// Map -> JSON text
+	public static String writeMap(Map<String, Object> map) {
+		try {
+			return MAP_WRITER.writeValueAsString(map);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Error converting map to JSON", e);
+		}
+	}
+
+	// JSON text -> Map, parsed with the pre-resolved reader
+	public static Map<String, Object> readMap(String json) {
+		try {
+			return MAP_READER.readValue(json);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Error converting JSON to map", e);
+		}
+	}
+}
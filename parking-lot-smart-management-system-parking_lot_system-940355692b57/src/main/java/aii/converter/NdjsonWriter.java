@@ -0,0 +1,48 @@
+package aii.converter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Writes rows as NDJSON (one JSON document per line) while they are read from the database: admin export
+// responses and command archives. One generator for the whole output; the stream is flushed every flushEvery
+// rows, not per row.
+public class NdjsonWriter<T> implements Consumer<T>, AutoCloseable {
+    private final ObjectWriter writer;
+    private final JsonGenerator generator;
+    private final int flushEvery;
+    private long written;
+
+    public NdjsonWriter(ObjectWriter writer, OutputStream out, int flushEvery) throws IOException {
+        this.writer = writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator((String) null); // the newline is written after each row instead
+        this.generator = writer.getFactory().createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.flushEvery = flushEvery;
+    }
+
+    @Override
+    public void accept(T row) {
+        try {
+            this.writer.writeValue(this.generator, row);
+            this.generator.writeRaw('\n');
+            if (++this.written % this.flushEvery == 0) {
+                this.generator.flush();
+            }
+        } catch (IOException e) {
+            // usually the client went away (or the disk is full): ends the export and its transaction
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.generator.close(); // flushes the rest, the stream is left to its owner (the servlet container, the archive)
+    }
+}
@@ -6,6 +6,7 @@ import aii.boundary.CreatedBy;
 import aii.boundary.Location;
 import aii.boundary.ObjectBoundary;
 import aii.boundary.ObjectId;
+import aii.data.CompositeId;
 import aii.data.ObjectEntity;
 
 @Component
@@ -38,8 +39,8 @@ public class ObjectConverter {
 	// Object entity to boundary
     public ObjectBoundary toBoundary(ObjectEntity entity) {
     	ObjectBoundary boundary = new ObjectBoundary();
-    	String[] idParts = splitId(entity.getId());
-    	ObjectId objectId = new ObjectId(idParts[1], idParts[0]);
+    	CompositeId idParts = CompositeId.parse(entity.getId());
+    	ObjectId objectId = new ObjectId(idParts.systemID(), idParts.id());
     	boundary.setObjectId(objectId);
     	boundary.setType(entity.getType());
     	boundary.setAlias(entity.getAlias());
@@ -52,8 +53,8 @@ public class ObjectConverter {
     	
     	boundary.setActive(entity.isActive());
     	boundary.setCreationTimestamp(entity.getCreationTimestamp());   	
-    	String[] partsCreatedBy = splitId(entity.getCreatedBy());
-    	CreatedBy cb = new CreatedBy(new aii.boundary.UserBoundary.UserId(partsCreatedBy[1], partsCreatedBy[0]));
+    	CompositeId partsCreatedBy = CompositeId.parse(entity.getCreatedBy());
+    	CreatedBy cb = new CreatedBy(new aii.boundary.UserBoundary.UserId(partsCreatedBy.systemID(), partsCreatedBy.id()));
     	boundary.setCreatedBy(cb);   	
     	boundary.setObjectDetails(entity.getObjectDetails());
     
@@ -62,13 +63,7 @@ public class ObjectConverter {
     
     // Helper method to generate Id
     private String generateId(String id, String systemID) {
-        return id + "@@" + systemID;
-    }
-    
- // Helper method to split the combined Id
-    public static String[] splitId(String combinedId) {
-        // Split the string by the "@@" delimiter
-        return combinedId.split("@@", 2); // Limit to 2 parts to handle cases where systemID might contain "@@"
+        return CompositeId.combine(id, systemID);
     }
 
 }
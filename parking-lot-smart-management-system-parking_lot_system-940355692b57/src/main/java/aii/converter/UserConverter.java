@@ -4,6 +4,7 @@ import org.springframework.stereotype.Component;
 
 import aii.boundary.UserBoundary;
 import aii.boundary.UserBoundary.UserId;
+import aii.data.CompositeId;
 import aii.data.UserEntity;
 
 @Component
@@ -16,7 +17,7 @@ public class UserConverter {
         }
 
         // Generate uniqueId from email and systemID
-        String uniqueId = boundary.getUserId().getEmail() + "@@" + boundary.getUserId().getSystemID();
+        String uniqueId = CompositeId.combine(boundary.getUserId().getEmail(), boundary.getUserId().getSystemID());
 
         return new UserEntity(
                 uniqueId,
@@ -33,9 +34,9 @@ public class UserConverter {
         }
 
         // Decompose uniqueId into email and systemID
-        String[] parts = entity.getUniqueId().split("@@");
-        String email = parts[0];
-        String systemID = parts[1];
+        CompositeId parts = CompositeId.parse(entity.getUniqueId());
+        String email = parts.id();
+        String systemID = parts.systemID();
 
         return new UserBoundary(
                 new UserId(systemID, email),
@@ -0,0 +1,77 @@
+package aii.dal;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Monthly partitions of COMMANDS on PostgreSQL, once the table was converted by
+// db/postgresql/commands-partitioning.sql: commands_pYYYYMM holds the commands invoked in that month,
+// commands_default the ones of months without a partition. Bounds are local timestamps, like the column.
+// H2 and an unconverted PostgreSQL table have no partitions (isPartitioned() is false).
+@Component
+public class CommandPartitions {
+	private static final String PREFIX = "commands_p";
+	private static final String DEFAULT_PARTITION = "commands_default";
+	private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+	private static final DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("yyyy-MM-'01 00:00:00'");
+
+	private final JdbcTemplate jdbcTemplate;
+	private final DatabaseDialect dialect;
+
+	public CommandPartitions(JdbcTemplate jdbcTemplate, DatabaseDialect dialect) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.dialect = dialect;
+	}
+
+	public boolean isPartitioned() {
+		return this.dialect.isPostgres() && Boolean.TRUE.equals(this.jdbcTemplate.queryForObject(
+				"SELECT EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass('commands') AND relkind = 'p')",
+				Boolean.class));
+	}
+
+	// Months that have their own partition, oldest first
+	public List<YearMonth> months() {
+		return this.jdbcTemplate.queryForList(
+				"SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+				"WHERE i.inhparent = to_regclass('commands')", String.class)
+				.stream()
+				.filter(name -> name.startsWith(PREFIX))
+				.map(name -> YearMonth.parse(name.substring(PREFIX.length()), SUFFIX))
+				.sorted()
+				.toList();
+	}
+
+	// Create the month's partition, call in a transaction; false when it already exists.
+	// Rows of the month already in commands_default (there was no partition when they were written) move into it
+	// first: the default partition stays locked until commit, so no insert lands there in between.
+	public boolean create(YearMonth month) {
+		this.jdbcTemplate.execute("LOCK TABLE " + DEFAULT_PARTITION + " IN ACCESS EXCLUSIVE MODE");
+		String name = name(month);
+		if (Boolean.TRUE.equals(
+				this.jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name))) {
+			return false; // another instance was first
+		}
+		String from = month.format(BOUND);
+		String to = month.plusMonths(1).format(BOUND);
+		String range = " WHERE invocation_timestamp >= '" + from + "' AND invocation_timestamp < '" + to + "'";
+
+		this.jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE commands INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+		this.jdbcTemplate.execute("INSERT INTO " + name + " SELECT * FROM " + DEFAULT_PARTITION + range);
+		this.jdbcTemplate.execute("DELETE FROM " + DEFAULT_PARTITION + range);
+		this.jdbcTemplate.execute("ALTER TABLE commands ATTACH PARTITION " + name +
+				" FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+		return true;
+	}
+
+	// Drop the month's partition with its rows, call in a transaction
+	public void drop(YearMonth month) {
+		this.jdbcTemplate.execute("DROP TABLE IF EXISTS " + name(month));
+	}
+
+	private static String name(YearMonth month) {
+		return PREFIX + month.format(SUFFIX);
+	}
+}
@@ -1,8 +1,92 @@
 package aii.dal;
 
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import aii.data.CommandEntity;
+import jakarta.persistence.QueryHint;
 
 public interface CommandsCrud extends JpaRepository<CommandEntity, String> {
+
+	// Rows fetched per round-trip by the export streams (PostgreSQL uses a cursor inside the transaction
+	// instead of reading the whole result first)
+	String EXPORT_FETCH_SIZE = "500";
+
+	// Commands in [from, to) with the given name (null = no bound / any name) in invocation order, read lazily.
+	// Consume inside a transaction and close the stream.
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("SELECT c FROM CommandEntity c WHERE " +
+	       "(:from IS NULL OR c.invocationTimestamp >= :from) AND " +
+	       "(:to IS NULL OR c.invocationTimestamp < :to) AND " +
+	       "(:command IS NULL OR c.command = :command) " +
+	       "ORDER BY c.invocationTimestamp, c.commandId")
+	public Stream<CommandEntity> streamForExport(
+			@Param("from") Date from,
+			@Param("to") Date to,
+			@Param("command") String command);
+
+	// Command history of an object / a user in [from, to) (null = unbounded), newest first: sorted by the Pageable
+	// (invocationTimestamp, commandId descending), served by IDX_COMMANDS_TARGET_OBJECT_TIMESTAMP /
+	// IDX_COMMANDS_INVOKED_BY_TIMESTAMP. The Seek variants start before a page cursor; its timestamp is repeated as
+	// a plain upper bound so the index range starts at the cursor instead of filtering every newer row.
+	String HISTORY_RANGE = "(:from IS NULL OR c.invocationTimestamp >= :from) AND " +
+	       "(:to IS NULL OR c.invocationTimestamp < :to)";
+	String SEEK_BEFORE = "c.invocationTimestamp <= :afterTimestamp AND (c.invocationTimestamp < :afterTimestamp OR " +
+	       "(c.invocationTimestamp = :afterTimestamp AND c.commandId < :afterId))";
+
+	@Query("SELECT c FROM CommandEntity c WHERE c.targetObject = :targetObject AND " + HISTORY_RANGE)
+	public List<CommandEntity> findHistoryByTargetObject(
+			@Param("targetObject") String targetObject,
+			@Param("from") Date from,
+			@Param("to") Date to,
+			Pageable pageable);
+
+	@Query("SELECT c FROM CommandEntity c WHERE c.targetObject = :targetObject AND " + HISTORY_RANGE + " AND " +
+	       SEEK_BEFORE)
+	public List<CommandEntity> findHistoryByTargetObjectSeek(
+			@Param("targetObject") String targetObject,
+			@Param("from") Date from,
+			@Param("to") Date to,
+			@Param("afterTimestamp") Date afterTimestamp,
+			@Param("afterId") String afterId,
+			Pageable pageable);
+
+	@Query("SELECT c FROM CommandEntity c WHERE c.invokedBy = :invokedBy AND " + HISTORY_RANGE)
+	public List<CommandEntity> findHistoryByInvokedBy(
+			@Param("invokedBy") String invokedBy,
+			@Param("from") Date from,
+			@Param("to") Date to,
+			Pageable pageable);
+
+	@Query("SELECT c FROM CommandEntity c WHERE c.invokedBy = :invokedBy AND " + HISTORY_RANGE + " AND " +
+	       SEEK_BEFORE)
+	public List<CommandEntity> findHistoryByInvokedBySeek(
+			@Param("invokedBy") String invokedBy,
+			@Param("from") Date from,
+			@Param("to") Date to,
+			@Param("afterTimestamp") Date afterTimestamp,
+			@Param("afterId") String afterId,
+			Pageable pageable);
+
+	// Retention (CommandRetention): the oldest command, null when there is none
+	@Query("SELECT MIN(c.invocationTimestamp) FROM CommandEntity c")
+	public Date findOldestInvocationTimestamp();
+
+	// Retention of months without their own partition (H2, commands_default): one bulk DELETE of [from, to)
+	@Modifying
+	@Query("DELETE FROM CommandEntity c WHERE c.invocationTimestamp >= :from AND c.invocationTimestamp < :to")
+	public int deleteInvokedBetween(
+			@Param("from") Date from,
+			@Param("to") Date to);
 }
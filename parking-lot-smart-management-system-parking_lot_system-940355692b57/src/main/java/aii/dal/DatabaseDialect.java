@@ -0,0 +1,26 @@
+package aii.dal;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.stereotype.Component;
+
+// Which database we run on, for the few native queries / DDL that differ between PostgreSQL and H2
+@Component
+public class DatabaseDialect {
+	private final boolean postgres;
+
+	public DatabaseDialect(DataSource dataSource) {
+		try (Connection connection = dataSource.getConnection()) {
+			this.postgres = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres");
+		} catch (SQLException e) {
+			throw new IllegalStateException("Cannot read the database product name", e);
+		}
+	}
+
+	public boolean isPostgres() {
+		return this.postgres;
+	}
+}
@@ -0,0 +1,52 @@
+package aii.dal;
+
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Database objects JPA cannot declare (GIN indexes, ...) or that ddl-auto=validate does not create (the OBJECTS
+// location and keyset indexes, the COMMANDS indexes declared on the partitioned parent so every partition gets
+// them), created idempotently at startup.
+// Only PostgreSQL needs them, H2 runs without.
+@Component
+public class NativeSchemaInitializer {
+	private static final List<String> POSTGRES_STATEMENTS = List.of(
+			// objectDetails containment searches (object_details @> '{"hasEVCharger": true}')
+			"CREATE INDEX IF NOT EXISTS IDX_OBJECTS_DETAILS ON objects USING GIN (object_details jsonb_path_ops)",
+			// box prefilter of the location searches (lat / lng BETWEEN, then the exact distance)
+			"CREATE INDEX IF NOT EXISTS IDX_OBJECTS_LAT_LNG_ACTIVE ON objects (lat, lng, active)",
+			// keyset pages of the object searches, in creation order (ObjectCrud SEEK_AFTER / SEEK_BEFORE)
+			"CREATE INDEX IF NOT EXISTS IDX_OBJECTS_CREATED ON objects (creation_timestamp, object_id)",
+			"CREATE INDEX IF NOT EXISTS IDX_OBJECTS_ALIAS_CREATED ON objects (alias, creation_timestamp, object_id)",
+			"CREATE INDEX IF NOT EXISTS IDX_OBJECTS_TYPE_CREATED ON objects (type, creation_timestamp, object_id)",
+			"CREATE INDEX IF NOT EXISTS IDX_OBJECTS_TYPE_STATUS_CREATED ON objects (type, status, creation_timestamp, object_id)",
+			// per-object / per-user command history, the admin listing / export and the retention
+			"CREATE INDEX IF NOT EXISTS IDX_COMMANDS_TARGET_OBJECT_TIMESTAMP ON commands (target_object, invocation_timestamp)",
+			"CREATE INDEX IF NOT EXISTS IDX_COMMANDS_INVOKED_BY_TIMESTAMP ON commands (invoked_by, invocation_timestamp)",
+			"CREATE INDEX IF NOT EXISTS IDX_COMMANDS_TIMESTAMP ON commands (invocation_timestamp)");
+
+	private final JdbcTemplate jdbcTemplate;
+	private final DatabaseDialect dialect;
+	private final Log logger = LogFactory.getLog(NativeSchemaInitializer.class); // Logger instance
+
+	public NativeSchemaInitializer(JdbcTemplate jdbcTemplate, DatabaseDialect dialect) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.dialect = dialect;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void initialize() {
+		if (!this.dialect.isPostgres()) {
+			return;
+		}
+		for (String statement : POSTGRES_STATEMENTS) {
+			this.jdbcTemplate.execute(statement);
+		}
+		logger.info("Native schema objects checked: " + POSTGRES_STATEMENTS.size());
+	}
+}
@@ -0,0 +1,57 @@
+package aii.dal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import aii.data.ObjectCountEntity;
+
+public interface ObjectCountCrud extends JpaRepository<ObjectCountEntity, String>, ObjectCountSums {
+
+	String INSERT_COLUMNS = "(count_key, type, status, active, area_row, area_col, object_count)";
+
+	// Add delta to a group, creating its row on first use - a single statement, so concurrent writers of the
+	// same group serialize on the row lock instead of racing on the insert. PostgreSQL:
+	@Modifying
+	@Query(value = "INSERT INTO object_counts " + INSERT_COLUMNS + " " +
+	       "VALUES (:countKey, :type, :status, :active, :areaRow, :areaCol, :delta) " +
+	       "ON CONFLICT (count_key) DO UPDATE SET object_count = object_counts.object_count + EXCLUDED.object_count",
+	       nativeQuery = true)
+	public int addPostgres(
+			@Param("countKey") String countKey,
+			@Param("type") String type,
+			@Param("status") String status,
+			@Param("active") boolean active,
+			@Param("areaRow") long areaRow,
+			@Param("areaCol") long areaCol,
+			@Param("delta") long delta);
+
+	// Same for H2
+	@Modifying
+	@Query(value = "MERGE INTO object_counts c USING (VALUES (CAST(:countKey AS VARCHAR(64)))) k(count_key) " +
+	       "ON c.count_key = k.count_key " +
+	       "WHEN MATCHED THEN UPDATE SET object_count = c.object_count + :delta " +
+	       "WHEN NOT MATCHED THEN INSERT " + INSERT_COLUMNS + " " +
+	       "VALUES (:countKey, :type, :status, :active, :areaRow, :areaCol, :delta)",
+	       nativeQuery = true)
+	public int addH2(
+			@Param("countKey") String countKey,
+			@Param("type") String type,
+			@Param("status") String status,
+			@Param("active") boolean active,
+			@Param("areaRow") long areaRow,
+			@Param("areaCol") long areaCol,
+			@Param("delta") long delta);
+
+	// A group left without objects goes away (the next upsert creates it again); call after a negative delta,
+	// in the same transaction, while the upsert still holds the row lock
+	@Modifying
+	@Query(value = "DELETE FROM object_counts WHERE count_key = :countKey AND object_count = 0", nativeQuery = true)
+	public int deleteIfEmpty(@Param("countKey") String countKey);
+
+	// Holds the writers' upserts until the rebuilding transaction commits (PostgreSQL only)
+	@Modifying
+	@Query(value = "LOCK TABLE object_counts IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+	public int lockForRebuild();
+}
@@ -0,0 +1,14 @@
+package aii.dal;
+
+import java.util.List;
+import java.util.Set;
+
+import aii.data.ObjectCountSum;
+
+// The GROUP BY behind GET /aii/objects/stats, its columns depend on the request (ObjectCountSumsImpl)
+public interface ObjectCountSums {
+
+	// Sum of the positive groups by the given dimensions (type, status, active, area); activeOnly leaves
+	// inactive objects out
+	public List<ObjectCountSum> sumGroupedBy(Set<String> dimensions, boolean activeOnly);
+}
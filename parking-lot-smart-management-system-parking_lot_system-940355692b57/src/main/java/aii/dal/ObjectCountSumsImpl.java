@@ -0,0 +1,56 @@
+package aii.dal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import aii.data.ObjectCountSum;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// Builds the query from a fixed set of columns, only the dimensions asked for are selected and grouped
+public class ObjectCountSumsImpl implements ObjectCountSums {
+	private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+
+	static {
+		COLUMNS.put("type", "c.type");
+		COLUMNS.put("status", "c.status");
+		COLUMNS.put("active", "c.active");
+		COLUMNS.put("area", "c.areaRow, c.areaCol");
+	}
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<ObjectCountSum> sumGroupedBy(Set<String> dimensions, boolean activeOnly) {
+		List<String> grouped = new ArrayList<>();
+		for (Map.Entry<String, String> column : COLUMNS.entrySet()) {
+			if (dimensions.contains(column.getKey())) {
+				grouped.add(column.getValue());
+			}
+		}
+		String groupBy = String.join(", ", grouped);
+		String jpql = "SELECT " + (groupBy.isEmpty() ? "" : groupBy + ", ") + "SUM(c.objectCount) " +
+				"FROM ObjectCountEntity c WHERE c.objectCount > 0" + (activeOnly ? " AND c.active = true" : "") +
+				(groupBy.isEmpty() ? "" : " GROUP BY " + groupBy);
+
+		List<ObjectCountSum> sums = new ArrayList<>();
+		for (Object[] row : this.entityManager.createQuery(jpql, Object[].class).getResultList()) {
+			Object count = row[row.length - 1];
+			if (count == null) { // no group at all, SUM without GROUP BY still answers one row
+				continue;
+			}
+			int column = 0;
+			String type = dimensions.contains("type") ? (String) row[column++] : null;
+			String status = dimensions.contains("status") ? (String) row[column++] : null;
+			Boolean active = dimensions.contains("active") ? (Boolean) row[column++] : null;
+			Long areaRow = dimensions.contains("area") ? (Long) row[column++] : null;
+			Long areaCol = dimensions.contains("area") ? (Long) row[column++] : null;
+			sums.add(new ObjectCountSum(type, status, active, areaRow, areaCol, ((Number) count).longValue()));
+		}
+		return sums;
+	}
+}
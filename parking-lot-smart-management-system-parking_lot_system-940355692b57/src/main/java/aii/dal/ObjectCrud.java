@@ -1,16 +1,23 @@
 package aii.dal;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 import org.hibernate.query.Page;
 import org.springframework.data.domain.Pageable;
 
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import aii.data.ObjectCountGroup;
 import aii.data.ObjectEntity;
+import aii.data.ObjectLocation;
+import aii.data.ObjectState;
 
 public interface ObjectCrud extends JpaRepository<ObjectEntity, String> {
 
@@ -62,19 +69,223 @@ public interface ObjectCrud extends JpaRepository<ObjectEntity, String> {
 	    @Param("active") Boolean active,
 	    Pageable pageable);
 
-	// Circle search using Haversine formula
-	@Query("SELECT o FROM ObjectEntity o WHERE " +
-		       "(6371.0 * 2 * ASIN(SQRT(" +
+	// Great-circle distance (km) between (:lat, :lng) and the object, using the Haversine formula
+	String HAVERSINE_KM = "(6371.0 * 2 * ASIN(SQRT(" +
 		       "POWER(SIN(RADIANS(:lat - o.lat) / 2), 2) + " +
 		       "COS(RADIANS(:lat)) * COS(RADIANS(o.lat)) * " +
 		       "POWER(SIN(RADIANS(:lng - o.lng) / 2), 2)" +
-		       "))) <= :distanceInKm AND " +
+		       ")))";
+
+	// Indexed bounding-box prefilter, the exact distance is only evaluated for the rows inside the box
+	String CIRCLE_BOX_PREFILTER = "o.lat BETWEEN :minLat AND :maxLat AND " +
+		       "o.lng BETWEEN :minLng AND :maxLng AND ";
+
+	// Circle search: bounding-box prefilter + exact Haversine refinement
+	@Query("SELECT o FROM ObjectEntity o WHERE " +
+		       CIRCLE_BOX_PREFILTER +
+		       HAVERSINE_KM + " <= :distanceInKm AND " +
 		       "(:active IS NULL OR o.active = :active)")
 		public List<ObjectEntity> findObjectsInCircle(
 		    @Param("lat") double lat,
 		    @Param("lng") double lng,
 		    @Param("distanceInKm") double distanceInKm,  // Changed parameter name
+		    @Param("minLat") double minLat,
+		    @Param("maxLat") double maxLat,
+		    @Param("minLng") double minLng,
+		    @Param("maxLng") double maxLng,
 		    @Param("active") Boolean active,
 		    Pageable pageable);
-}
 
+	// Circle search ordered by distance from the center (nearest first)
+	@Query("SELECT o FROM ObjectEntity o WHERE " +
+		       CIRCLE_BOX_PREFILTER +
+		       HAVERSINE_KM + " <= :distanceInKm AND " +
+		       "(:active IS NULL OR o.active = :active) " +
+		       "ORDER BY " + HAVERSINE_KM + ", o.creationTimestamp, o.objectId")
+		public List<ObjectEntity> findObjectsInCircleOrderByDistance(
+		    @Param("lat") double lat,
+		    @Param("lng") double lng,
+		    @Param("distanceInKm") double distanceInKm,
+		    @Param("minLat") double minLat,
+		    @Param("maxLat") double maxLat,
+		    @Param("minLng") double minLng,
+		    @Param("maxLng") double maxLng,
+		    @Param("active") Boolean active,
+		    Pageable pageable);
+
+	// Box search ordered by distance from (:lat, :lng) (nearest first)
+	@Query("SELECT o FROM ObjectEntity o WHERE " +
+		       "o.lat BETWEEN :minLat AND :maxLat AND " +
+		       "o.lng BETWEEN :minLng AND :maxLng AND " +
+		       "(:active IS NULL OR o.active = :active) " +
+		       "ORDER BY " + HAVERSINE_KM + ", o.creationTimestamp, o.objectId")
+	public List<ObjectEntity> findObjectsInBoxOrderByDistance(
+	    @Param("lat") double lat,
+	    @Param("lng") double lng,
+	    @Param("minLat") double minLat,
+	    @Param("maxLat") double maxLat,
+	    @Param("minLng") double minLng,
+	    @Param("maxLng") double maxLng,
+	    @Param("active") Boolean active,
+	    Pageable pageable);
+
+	// Keyset (seek) variants of the searches above: instead of an OFFSET they continue right after the
+	// (creationTimestamp, objectId) of the last row of the previous page. Pass PageRequest.of(0, size, sort).
+	// The cursor timestamp is repeated as a plain bound so the (..., creation_timestamp, object_id) indexes
+	// start their range at the cursor instead of filtering every row before it.
+	String SEEK_AFTER = "o.creationTimestamp >= :afterTimestamp AND (o.creationTimestamp > :afterTimestamp OR " +
+		       "(o.creationTimestamp = :afterTimestamp AND o.objectId > :afterId))";
+	String SEEK_BEFORE = "o.creationTimestamp <= :afterTimestamp AND (o.creationTimestamp < :afterTimestamp OR " +
+		       "(o.creationTimestamp = :afterTimestamp AND o.objectId < :afterId))";
+
+	// Find all objects with optional active filter, newest first
+	@Query("SELECT o FROM ObjectEntity o WHERE (:active IS NULL OR o.active = :active) AND " + SEEK_BEFORE)
+	public List<ObjectEntity> findAllByActiveSeek(
+			@Param("active") Boolean active,
+			@Param("afterTimestamp") Date afterTimestamp,
+			@Param("afterId") String afterId,
+			Pageable pageable);
+
+	@Query("SELECT o FROM ObjectEntity o WHERE o.alias = :alias AND (:active IS NULL OR o.active = :active) AND " + SEEK_AFTER)
+	public List<ObjectEntity> findByAliasSeek(
+			@Param("alias") String alias,
+			@Param("active") Boolean active,
+			@Param("afterTimestamp") Date afterTimestamp,
+			@Param("afterId") String afterId,
+			Pageable pageable);
+
+	@Query("SELECT o FROM ObjectEntity o WHERE o.alias LIKE :pattern AND (:active IS NULL OR o.active = :active) AND " + SEEK_AFTER)
+	public List<ObjectEntity> findByAliasLikeSeek(
+			@Param("pattern") String pattern,
+			@Param("active") Boolean active,
+			@Param("afterTimestamp") Date afterTimestamp,
+			@Param("afterId") String afterId,
+			Pageable pageable);
+
+	@Query("SELECT o FROM ObjectEntity o WHERE o.type = :type AND (:active IS NULL OR o.active = :active) AND " + SEEK_AFTER)
+	public List<ObjectEntity> findByTypeSeek(
+			@Param("type") String type,
+			@Param("active") Boolean active,
+			@Param("afterTimestamp") Date afterTimestamp,
+			@Param("afterId") String afterId,
+			Pageable pageable);
+
+	@Query("SELECT o FROM ObjectEntity o WHERE o.type = :type AND o.status = :status AND (:active IS NULL OR o.active = :active) AND " + SEEK_AFTER)
+	public List<ObjectEntity> findByTypeAndStatusSeek(
+			@Param("type") String type,
+			@Param("status") String status,
+			@Param("active") Boolean active,
+			@Param("afterTimestamp") Date afterTimestamp,
+			@Param("afterId") String afterId,
+			Pageable pageable);
+
+	@Query("SELECT o FROM ObjectEntity o WHERE " +
+	       "o.lat BETWEEN :minLat AND :maxLat AND " +
+	       "o.lng BETWEEN :minLng AND :maxLng AND " +
+	       "(:active IS NULL OR o.active = :active) AND " + SEEK_AFTER)
+	public List<ObjectEntity> findObjectsInBoxSeek(
+	    @Param("minLat") double minLat,
+	    @Param("maxLat") double maxLat,
+	    @Param("minLng") double minLng,
+	    @Param("maxLng") double maxLng,
+	    @Param("active") Boolean active,
+	    @Param("afterTimestamp") Date afterTimestamp,
+	    @Param("afterId") String afterId,
+	    Pageable pageable);
+
+	@Query("SELECT o FROM ObjectEntity o WHERE " +
+		       CIRCLE_BOX_PREFILTER +
+		       HAVERSINE_KM + " <= :distanceInKm AND " +
+		       "(:active IS NULL OR o.active = :active) AND " + SEEK_AFTER)
+	public List<ObjectEntity> findObjectsInCircleSeek(
+	    @Param("lat") double lat,
+	    @Param("lng") double lng,
+	    @Param("distanceInKm") double distanceInKm,
+	    @Param("minLat") double minLat,
+	    @Param("maxLat") double maxLat,
+	    @Param("minLng") double minLng,
+	    @Param("maxLng") double maxLng,
+	    @Param("active") Boolean active,
+	    @Param("afterTimestamp") Date afterTimestamp,
+	    @Param("afterId") String afterId,
+	    Pageable pageable);
+
+	// Nearest active objects within a distance, optionally filtered by type and status
+	@Query("SELECT o FROM ObjectEntity o WHERE " +
+		       CIRCLE_BOX_PREFILTER +
+		       HAVERSINE_KM + " <= :distanceInKm AND " +
+		       "o.active = true AND " +
+		       "(:type IS NULL OR o.type = :type) AND " +
+		       "(:status IS NULL OR o.status = :status) " +
+		       "ORDER BY " + HAVERSINE_KM + ", o.objectId")
+	public List<ObjectEntity> findNearestActive(
+	    @Param("lat") double lat,
+	    @Param("lng") double lng,
+	    @Param("distanceInKm") double distanceInKm,
+	    @Param("minLat") double minLat,
+	    @Param("maxLat") double maxLat,
+	    @Param("minLng") double minLng,
+	    @Param("maxLng") double maxLng,
+	    @Param("type") String type,
+	    @Param("status") String status,
+	    Pageable pageable);
+
+	// Coordinates of all objects, used to (re)build the in-memory spatial index
+	@Query("SELECT new aii.data.ObjectLocation(o.objectId, o.lat, o.lng, o.active, o.creationTimestamp, o.type, o.status) " +
+	       "FROM ObjectEntity o")
+	public List<ObjectLocation> findAllLocations();
+
+	// Objects per type, status, active and coordinates, used to rebuild the materialized counts
+	@Query("SELECT new aii.data.ObjectCountGroup(o.type, o.status, o.active, o.lat, o.lng, COUNT(o)) " +
+	       "FROM ObjectEntity o GROUP BY o.type, o.status, o.active, o.lat, o.lng")
+	public List<ObjectCountGroup> countGroups();
+
+	// Which of the given object ids exist and are active (one query for a whole command batch)
+	@Query("SELECT o.objectId FROM ObjectEntity o WHERE o.objectId IN :objectIds AND o.active = true")
+	public List<String> findActiveObjectIds(@Param("objectIds") Collection<String> objectIds);
+
+	// Current status of an active object, read from the database even if the entity is already loaded
+	@Query("SELECT new aii.data.ObjectState(o.status, o.objectDetails, o.version) " +
+	       "FROM ObjectEntity o WHERE o.objectId = :objectId AND o.active = true")
+	public Optional<ObjectState> findActiveState(@Param("objectId") String objectId);
+
+	// Conditional status change: applied only if nobody changed the object since it was read
+	// (UPDATE ... WHERE id = ? AND status = ? AND version = ?). Returns the number of updated rows (0 or 1).
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE ObjectEntity o SET o.status = :status, o.objectDetails = :objectDetails, o.version = o.version + 1 " +
+	       "WHERE o.objectId = :objectId AND o.status = :expectedStatus AND o.version = :expectedVersion " +
+	       "AND o.active = true")
+	public int updateStatusIfUnchanged(
+			@Param("objectId") String objectId,
+			@Param("expectedStatus") String expectedStatus,
+			@Param("expectedVersion") Long expectedVersion,
+			@Param("status") String status,
+			@Param("objectDetails") String objectDetails);
+
+	// Objects whose details contain the given JSON object (PostgreSQL jsonb containment, served by the GIN index
+	// IDX_OBJECTS_DETAILS); with a cursor the page starts after (afterTimestamp, afterId)
+	@Query(value = "SELECT * FROM objects o WHERE o.object_details @> CAST(:filter AS jsonb) " +
+	       "AND (CAST(:active AS boolean) IS NULL OR o.active = CAST(:active AS boolean)) " +
+	       "AND (CAST(:afterTimestamp AS timestamp) IS NULL " +
+	       "OR (o.creation_timestamp, o.object_id) > (CAST(:afterTimestamp AS timestamp), :afterId)) " +
+	       "ORDER BY o.creation_timestamp, o.object_id", nativeQuery = true)
+	public List<ObjectEntity> findByDetailsContaining(
+			@Param("filter") String filter,
+			@Param("active") Boolean active,
+			@Param("afterTimestamp") Date afterTimestamp,
+			@Param("afterId") String afterId,
+			Pageable pageable);
+
+	// H2 fallback of findByDetailsContaining (no jsonb there): "key":value anywhere in the stored JSON text, nested
+	// objects included - candidates the logic narrows to top-level members
+	@Query(value = "SELECT * FROM objects o WHERE REGEXP_LIKE(CAST(o.object_details AS VARCHAR), :pattern) " +
+	       "AND (:active IS NULL OR o.active = :active) " +
+	       "AND (:afterTimestamp IS NULL OR (o.creation_timestamp, o.object_id) > (:afterTimestamp, :afterId)) " +
+	       "ORDER BY o.creation_timestamp, o.object_id", nativeQuery = true)
+	public List<ObjectEntity> findByDetailsTextMatching(
+			@Param("pattern") String pattern,
+			@Param("active") Boolean active,
+			@Param("afterTimestamp") Date afterTimestamp,
+			@Param("afterId") String afterId,
+			Pageable pageable);
+}
@@ -1,12 +1,24 @@
 package aii.dal;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import aii.data.UserEntity;
+import jakarta.persistence.QueryHint;
 
 public interface UsersCrud extends JpaRepository<UserEntity, String> {
 	
 	List<UserEntity> findByUniqueIdStartingWith(String emailPrefix);	
-}
\ No newline at end of file
+
+	// All users by id, read lazily (see CommandsCrud.streamForExport)
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = CommandsCrud.EXPORT_FETCH_SIZE),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("SELECT u FROM UserEntity u ORDER BY u.uniqueId")
+	Stream<UserEntity> streamForExport();
+}
@@ -4,11 +4,21 @@ import jakarta.persistence.*;
 import java.util.Date;
 import java.util.Map;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
 import aii.converter.CommandAttributesMapToStringConverter;
 
+// Commands are insert-only and get a fresh UUID id, so they report themselves as new:
+// save()/saveAll() then persist directly (no SELECT before each INSERT) and inserts can be JDBC-batched.
 @Entity
-@Table(name = "COMMANDS")
-public class CommandEntity {
+@Table(name = "COMMANDS", indexes = {
+        @Index(name = "IDX_COMMANDS_TARGET_OBJECT_TIMESTAMP", columnList = "targetObject, invocationTimestamp"), // per-object history
+        @Index(name = "IDX_COMMANDS_INVOKED_BY_TIMESTAMP", columnList = "invokedBy, invocationTimestamp"), // per-user history
+        @Index(name = "IDX_COMMANDS_TIMESTAMP", columnList = "invocationTimestamp") // admin listing / export, retention
+})
+public class CommandEntity implements Persistable<String> {
 
     @Id
     private String commandId; // Combination of systemID and unique command identifier (e.g., "2025a.demo@@5")
@@ -22,9 +32,14 @@ public class CommandEntity {
     @Temporal(TemporalType.TIMESTAMP)
     private Date invocationTimestamp; // Timestamp of when the command was invoked
 
-    @Lob
+    // jsonb on PostgreSQL, JSON on H2: stored in the row, so dropping / deleting old commands frees it
+    // (a @Lob large object outlived its row)
+    @JdbcTypeCode(SqlTypes.JSON)
     @Convert(converter = CommandAttributesMapToStringConverter.class)
-    private Map<String, Object> commandAttributes; // Command attributes stored as a JSON string in the DB
+    private Map<String, Object> commandAttributes; // Command attributes stored as JSON in the DB
+
+    @Transient
+    private boolean isNew = true; // false once loaded from / written to the DB
 
     // Getters and Setters
     public String getCommandId() {
@@ -74,4 +89,20 @@ public class CommandEntity {
     public void setCommandAttributes(Map<String, Object> commandAttributes) {
         this.commandAttributes = commandAttributes;
     }
+
+    @Override
+    public String getId() {
+        return commandId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
 }
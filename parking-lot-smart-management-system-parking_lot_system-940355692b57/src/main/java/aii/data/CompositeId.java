@@ -0,0 +1,69 @@
+package aii.data;
+
+// Identifier stored as one string "<id>@@<systemID>": objects and commands use id@@systemID, users email@@systemID.
+// Immutable; the combined form is built at most once and kept, parsing uses indexOf instead of
+// String.split("@@") (no regex, no array).
+public final class CompositeId {
+	public static final String SEPARATOR = "@@";
+
+	private final String id;
+	private final String systemID;
+	private String combined; // cached, racy but idempotent like String.hash
+
+	private CompositeId(String id, String systemID, String combined) {
+		this.id = id;
+		this.systemID = systemID;
+		this.combined = combined;
+	}
+
+	public static CompositeId of(String id, String systemID) {
+		return new CompositeId(id, systemID, null);
+	}
+
+	// Split at the first "@@", like split("@@", 2) did
+	public static CompositeId parse(String combined) {
+		int separator = combined.indexOf(SEPARATOR);
+		if (separator < 0) {
+			throw new IllegalArgumentException("Not a composite id: " + combined);
+		}
+		return new CompositeId(combined.substring(0, separator),
+				combined.substring(separator + SEPARATOR.length()), combined);
+	}
+
+	// The combined string, shorthand for of(id, systemID).combined()
+	public static String combine(String id, String systemID) {
+		return id + SEPARATOR + systemID;
+	}
+
+	public String id() {
+		return this.id;
+	}
+
+	public String systemID() {
+		return this.systemID;
+	}
+
+	public String combined() {
+		String value = this.combined;
+		if (value == null) {
+			value = combine(this.id, this.systemID);
+			this.combined = value;
+		}
+		return value;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return this == other || (other instanceof CompositeId that && combined().equals(that.combined()));
+	}
+
+	@Override
+	public int hashCode() {
+		return combined().hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return combined();
+	}
+}
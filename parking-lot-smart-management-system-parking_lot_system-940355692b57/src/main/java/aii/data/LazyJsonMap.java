@@ -0,0 +1,101 @@
+package aii.data;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import aii.converter.JsonMappers;
+
+// objectDetails as stored (JSON text), parsed into a Map only on first access.
+// Until then it is written to responses as the stored text, so listing objects never parses their details.
+// Read-only: build a new map and set it on the entity to change details. Parsed and written with the fixed
+// JsonMappers mapper.
+@JsonSerialize(using = LazyJsonMap.RawJsonSerializer.class)
+public final class LazyJsonMap extends AbstractMap<String, Object> {
+	private final String json;
+	private volatile Map<String, Object> parsed;
+
+	private LazyJsonMap(String json, Map<String, Object> parsed) {
+		this.json = json;
+		this.parsed = parsed;
+	}
+
+	// Wrap stored JSON text, null stays null
+	public static LazyJsonMap fromJson(String json) {
+		return json == null ? null : new LazyJsonMap(json, null);
+	}
+
+	// Wrap a map about to be stored, null stays null
+	public static LazyJsonMap of(Map<String, Object> map) {
+		if (map == null || map instanceof LazyJsonMap) {
+			return (LazyJsonMap) map;
+		}
+		return new LazyJsonMap(JsonMappers.writeMap(map),
+				Collections.unmodifiableMap(new LinkedHashMap<>(map)));
+	}
+
+	public String json() {
+		return this.json;
+	}
+
+	public boolean isParsed() {
+		return this.parsed != null;
+	}
+
+	private Map<String, Object> parsed() {
+		Map<String, Object> map = this.parsed;
+		if (map == null) {
+			Map<String, Object> read = JsonMappers.readMap(this.json);
+			map = read == null ? Map.of() : Collections.unmodifiableMap(read);
+			this.parsed = map;
+		}
+		return map;
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		return parsed().entrySet();
+	}
+
+	@Override
+	public Object get(Object key) {
+		return parsed().get(key);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return parsed().containsKey(key);
+	}
+
+	@Override
+	public int size() {
+		return parsed().size();
+	}
+
+	// Writes the stored text as is while the map was not parsed
+	static class RawJsonSerializer extends StdSerializer<LazyJsonMap> {
+		private static final long serialVersionUID = 1L;
+
+		RawJsonSerializer() {
+			super(LazyJsonMap.class);
+		}
+
+		@Override
+		public void serialize(LazyJsonMap value, JsonGenerator generator, SerializerProvider provider)
+				throws IOException {
+			if (value.isParsed()) {
+				provider.defaultSerializeValue(new LinkedHashMap<>(value.parsed()), generator);
+			} else {
+				generator.writeRawValue(value.json());
+			}
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package aii.data;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Materialized number of objects per (type, status, active, area); see ObjectOccupancyCounts.
+// An area is a cell of the lat / lng grid: row = floor(lat / area size), col = floor(lng / area size).
+@Entity
+@Table(name = "OBJECT_COUNTS")
+public class ObjectCountEntity {
+	@Id
+	@Column(length = 64)
+	private String countKey;	// SHA-256 (hex) of the dimensions, see key()
+
+	private String type;
+	private String status;
+	private boolean active;
+	private long areaRow;
+	private long areaCol;
+	private long objectCount;	// changed by upserts in the writers' transactions, the row is deleted at 0
+
+	public ObjectCountEntity() {
+	}
+
+	public ObjectCountEntity(String type, String status, boolean active, long areaRow, long areaCol,
+			long objectCount) {
+		this.countKey = key(type, status, active, areaRow, areaCol);
+		this.type = type;
+		this.status = status;
+		this.active = active;
+		this.areaRow = areaRow;
+		this.areaCol = areaCol;
+		this.objectCount = objectCount;
+	}
+
+	// Fixed length whatever the length of type / status; each text is prefixed with its length, so no
+	// character inside them can make two groups share a key
+	public static String key(String type, String status, boolean active, long areaRow, long areaCol) {
+		String dimensions = length(type) + ":" + type + length(status) + ":" + status + active + ":" + areaRow
+				+ ":" + areaCol;
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(dimensions.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e); // required on every JVM
+		}
+	}
+
+	private static int length(String text) {
+		return text == null ? -1 : text.length();
+	}
+
+	// Getters and Setters
+	public String getCountKey() {
+		return countKey;
+	}
+
+	public void setCountKey(String countKey) {
+		this.countKey = countKey;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public void setType(String type) {
+		this.type = type;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public boolean isActive() {
+		return active;
+	}
+
+	public void setActive(boolean active) {
+		this.active = active;
+	}
+
+	public long getAreaRow() {
+		return areaRow;
+	}
+
+	public void setAreaRow(long areaRow) {
+		this.areaRow = areaRow;
+	}
+
+	public long getAreaCol() {
+		return areaCol;
+	}
+
+	public void setAreaCol(long areaCol) {
+		this.areaCol = areaCol;
+	}
+
+	public long getObjectCount() {
+		return objectCount;
+	}
+
+	public void setObjectCount(long objectCount) {
+		this.objectCount = objectCount;
+	}
+}
@@ -0,0 +1,6 @@
+package aii.data;
+
+// Objects sharing type, status, active and exact coordinates, counted by the database;
+// used to rebuild the materialized counts (the area grid is applied in ObjectOccupancyCounts)
+public record ObjectCountGroup(String type, String status, boolean active, double lat, double lng, long count) {
+}
@@ -0,0 +1,5 @@
+package aii.data;
+
+// Materialized counts summed by the database over the dimensions not grouped by (those are null)
+public record ObjectCountSum(String type, String status, Boolean active, Long areaRow, Long areaCol, long count) {
+}
@@ -3,20 +3,29 @@ package aii.data;
 import java.util.Date;
 import java.util.Map;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import aii.boundary.CreatedBy;
 import aii.boundary.Location;
-import aii.converter.ParkingLotMapToStringConverter;
-import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
-import jakarta.persistence.Lob;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
 import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 
 @Entity
-@Table(name = "OBJECTS")
+@Table(name = "OBJECTS", indexes = {
+		@Index(name = "IDX_OBJECTS_LAT_LNG_ACTIVE", columnList = "lat, lng, active"), // location searches
+		// keyset pages in creation order: all objects, by alias, by type, by type and status
+		@Index(name = "IDX_OBJECTS_CREATED", columnList = "creationTimestamp, objectId"),
+		@Index(name = "IDX_OBJECTS_ALIAS_CREATED", columnList = "alias, creationTimestamp, objectId"),
+		@Index(name = "IDX_OBJECTS_TYPE_CREATED", columnList = "type, creationTimestamp, objectId"),
+		@Index(name = "IDX_OBJECTS_TYPE_STATUS_CREATED", columnList = "type, status, creationTimestamp, objectId")
+})
 public class ObjectEntity {
 	@Id
 	private String objectId;       	// Combine the 2 strings with delimiter between them
@@ -31,9 +40,11 @@ public class ObjectEntity {
 
 	private boolean active;
 
-	@Lob
-	@Convert(converter = ParkingLotMapToStringConverter.class)
-	private Map<String, Object> objectDetails;
+	@JdbcTypeCode(SqlTypes.JSON)	// jsonb on PostgreSQL (GIN indexed, see NativeSchemaInitializer), JSON on H2
+	private String objectDetails;	// stored JSON text, parsed only when read through getObjectDetails()
+
+	@Transient
+	private LazyJsonMap details;
 
 	//	private String location;	
 	private double lat;
@@ -41,6 +52,9 @@ public class ObjectEntity {
 
 	private String createdBy;
 
+	@Version
+	private Long version;			// Optimistic lock: concurrent read-modify-write updates fail instead of overwriting
+
 
 	public ObjectEntity() {
 	}
@@ -100,11 +114,15 @@ public class ObjectEntity {
 	}
 
 	public Map<String, Object> getObjectDetails() {
-		return objectDetails;
+		if (details == null) {
+			details = LazyJsonMap.fromJson(objectDetails);
+		}
+		return details;
 	}
 
 	public void setObjectDetails(Map<String, Object> objectDetails) {
-		this.objectDetails = objectDetails;
+		this.details = LazyJsonMap.of(objectDetails);
+		this.objectDetails = details == null ? null : details.json();
 	}
 
 //	public String getLocation() {
@@ -138,4 +156,12 @@ public class ObjectEntity {
 	public void setCreatedBy(String createdBy) {		
 		this.createdBy = createdBy;
 	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
 }
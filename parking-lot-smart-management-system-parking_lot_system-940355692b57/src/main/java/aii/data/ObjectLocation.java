@@ -0,0 +1,20 @@
+package aii.data;
+
+import java.util.Date;
+
+// Lightweight projection of an OBJECTS row used by the location index (no objectDetails)
+public record ObjectLocation(
+		String objectId,
+		double lat,
+		double lng,
+		boolean active,
+		Date creationTimestamp,
+		String type,
+		String status) {
+
+	// Snapshot the indexed columns of an entity
+	public static ObjectLocation of(ObjectEntity entity) {
+		return new ObjectLocation(entity.getId(), entity.getLat(), entity.getLng(), entity.isActive(),
+				entity.getCreationTimestamp(), entity.getType(), entity.getStatus());
+	}
+}
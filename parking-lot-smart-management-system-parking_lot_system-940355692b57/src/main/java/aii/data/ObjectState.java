@@ -0,0 +1,13 @@
+package aii.data;
+
+import java.util.Map;
+
+// Status columns of an object read straight from the database (not from the persistence context),
+// used for conditional status updates
+public record ObjectState(String status, String objectDetails, Long version) {
+
+	// objectDetails parsed, null when the object has none
+	public Map<String, Object> details() {
+		return LazyJsonMap.fromJson(this.objectDetails);
+	}
+}
@@ -0,0 +1,8 @@
+package aii.data;
+
+// Status values of a parking spot object (ObjectEntity.status), changed by the command handlers
+public enum ParkingSpotStatus {
+	AVAILABLE,
+	RESERVED,
+	OCCUPIED
+}
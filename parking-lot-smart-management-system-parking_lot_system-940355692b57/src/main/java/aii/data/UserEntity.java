@@ -4,11 +4,16 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
 
 @Entity
 @Table(name = "USERS")
-public class UserEntity {
+public class UserEntity implements Persistable<String> {
 
     @Id
     private String uniqueId; // Combined Primary Key (email + systemID)
@@ -18,6 +23,9 @@ public class UserEntity {
     @Enumerated(EnumType.STRING) // Store the role as a string in the database
     private UserRole role;
 
+    @Transient
+    private boolean isNew = true; // false once loaded from / written to the DB: save() of a new user is a plain insert
+
     public UserEntity() {
         // Default constructor
     }
@@ -62,4 +70,20 @@ public class UserEntity {
     public void setRole(UserRole role) {
         this.role = role;
     }
+
+    @Override
+    public String getId() {
+        return uniqueId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
 }
@@ -0,0 +1,66 @@
+package aii.logic;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Queues and counters of the background workers: the async command log, the object change stream,
+// the object counts reconciliation and the command retention
+@Component
+public class BackgroundWorkMeters implements MeterBinder {
+	private final CommandLogWriter commandLogWriter;
+	private final ObjectChangeFeed changeFeed;
+	private final ObjectOccupancyCounts occupancyCounts;
+	private final CommandRetention commandRetention;
+
+	public BackgroundWorkMeters(CommandLogWriter commandLogWriter, ObjectChangeFeed changeFeed,
+			ObjectOccupancyCounts occupancyCounts, CommandRetention commandRetention) {
+		this.commandLogWriter = commandLogWriter;
+		this.changeFeed = changeFeed;
+		this.occupancyCounts = occupancyCounts;
+		this.commandRetention = commandRetention;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("aii.command.log.queue.size", this.commandLogWriter, CommandLogWriter::getQueueSize)
+				.description("Async commands waiting to be written")
+				.register(registry);
+		FunctionCounter.builder("aii.command.log.written", this.commandLogWriter, CommandLogWriter::getWrittenCount)
+				.description("Async commands written to COMMANDS")
+				.register(registry);
+		FunctionCounter.builder("aii.command.log.failed", this.commandLogWriter, CommandLogWriter::getFailedCount)
+				.description("Async commands that could not be written, appended to the dead-letter file")
+				.register(registry);
+
+		Gauge.builder("aii.objects.stream.subscribers", this.changeFeed, ObjectChangeFeed::getSubscriberCount)
+				.description("Open object change streams")
+				.register(registry);
+		FunctionCounter.builder("aii.objects.stream.published", this.changeFeed, ObjectChangeFeed::getPublishedCount)
+				.description("Object changes dispatched to the streams")
+				.register(registry);
+		FunctionCounter.builder("aii.objects.stream.dropped", this.changeFeed, ObjectChangeFeed::getDroppedCount)
+				.description("Object changes dropped because the stream queue was full")
+				.register(registry);
+		FunctionCounter.builder("aii.objects.stream.lagging", this.changeFeed, ObjectChangeFeed::getLaggingCount)
+				.description("Streams completed because their client fell behind")
+				.register(registry);
+
+		FunctionCounter.builder("aii.objects.counts.corrected", this.occupancyCounts,
+						ObjectOccupancyCounts::getCorrectedCount)
+				.description("Object count groups fixed by the reconciliation (drift)")
+				.register(registry);
+
+		FunctionCounter.builder("aii.commands.retention.expired", this.commandRetention,
+						CommandRetention::getExpiredMonthCount)
+				.description("Months of commands dropped / deleted by the retention")
+				.register(registry);
+		FunctionCounter.builder("aii.commands.retention.archived", this.commandRetention,
+						CommandRetention::getArchivedCount)
+				.description("Commands written to archive files before their month was dropped")
+				.register(registry);
+	}
+}
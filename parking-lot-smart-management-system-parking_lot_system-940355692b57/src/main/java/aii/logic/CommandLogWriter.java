@@ -0,0 +1,241 @@
+package aii.logic;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import aii.boundary.CommandBoundary;
+import aii.converter.CommandConverter;
+import aii.converter.NdjsonWriter;
+import aii.dal.CommandsCrud;
+import aii.data.CommandEntity;
+
+// Write-behind log for commands invoked in async mode.
+// Validated commands are acknowledged as soon as they are queued; a single background thread drains the
+// bounded queue into COMMANDS, one transaction per batch of up to flush-size rows or every flush-interval.
+// When the queue is full callers wait up to offer-timeout and are then rejected (503) - this is the backpressure.
+// A batch that fails is retried row by row; the rows that still fail were already acknowledged, they are appended
+// to dead-letter-file (NDJSON, the admin export format) instead of being lost.
+// On shutdown the writer stops after the web server and writes everything still queued.
+@Component
+public class CommandLogWriter implements SmartLifecycle {
+	private static final long STOP_CHECK_MILLIS = 100; // longest wait before the writer notices stop()
+
+	private final CommandsCrud commandsCrud;
+	private final CommandConverter commandConverter;
+	private final ObjectWriter commandWriter; // dead-letter rows
+	private final TransactionTemplate transactionTemplate;
+	private final boolean enabled;
+	private final int flushSize;
+	private final long flushIntervalMillis;
+	private final long offerTimeoutMillis;
+	private final long shutdownTimeoutMillis;
+	private final Path deadLetterFile;
+	private final BlockingQueue<CommandEntity> queue;
+	private final Log logger = LogFactory.getLog(CommandLogWriter.class); // Logger instance
+
+	private final AtomicLong written = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private volatile boolean running;
+	private Thread writerThread;
+
+	public CommandLogWriter(CommandsCrud commandsCrud, CommandConverter commandConverter, ObjectMapper objectMapper,
+			PlatformTransactionManager transactionManager,
+			@Value("${aii.command-log.async.enabled:false}") boolean enabled,
+			@Value("${aii.command-log.async.queue-capacity:10000}") int queueCapacity,
+			@Value("${aii.command-log.async.flush-size:500}") int flushSize,
+			@Value("${aii.command-log.async.flush-interval-ms:200}") long flushIntervalMillis,
+			@Value("${aii.command-log.async.offer-timeout-ms:100}") long offerTimeoutMillis,
+			@Value("${aii.command-log.async.shutdown-timeout-ms:30000}") long shutdownTimeoutMillis,
+			@Value("${aii.command-log.async.dead-letter-file:command-log-dead-letter.ndjson}") String deadLetterFile) {
+		if (queueCapacity < 1 || flushSize < 1 || flushIntervalMillis < 1) {
+			throw new IllegalArgumentException(
+					"aii.command-log.async queue-capacity, flush-size and flush-interval-ms must be positive");
+		}
+		this.commandsCrud = commandsCrud;
+		this.commandConverter = commandConverter;
+		this.commandWriter = objectMapper.writerFor(CommandBoundary.class);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.enabled = enabled;
+		this.flushSize = flushSize;
+		this.flushIntervalMillis = flushIntervalMillis;
+		this.offerTimeoutMillis = offerTimeoutMillis;
+		this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+		this.deadLetterFile = Path.of(deadLetterFile);
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+	}
+
+	// Async mode is usable only when enabled and the writer is running
+	public boolean isEnabled() {
+		return this.enabled && this.running;
+	}
+
+	// Queue a command for writing, waiting up to offer-timeout for room
+	public void enqueue(CommandEntity entity) {
+		if (!this.running) {
+			throw new ServiceUnavailableException("Command log is not accepting async commands.");
+		}
+		try {
+			if (!this.queue.offer(entity, this.offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+				throw new ServiceUnavailableException("Command log queue is full, retry later.");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ServiceUnavailableException("Interrupted while queueing the command.", e);
+		}
+		// stop() may have run since the check above and the writer may have drained the queue for the last time:
+		// take the command back and reject it. If it is gone, the writer took it and writes it.
+		if (!this.running && this.queue.remove(entity)) {
+			throw new ServiceUnavailableException("Command log is not accepting async commands.");
+		}
+	}
+
+	public int getQueueSize() {
+		return this.queue.size();
+	}
+
+	public long getWrittenCount() {
+		return this.written.get();
+	}
+
+	public long getFailedCount() {
+		return this.failed.get();
+	}
+
+	@Override
+	public void start() {
+		if (!this.enabled || this.running) {
+			return;
+		}
+		this.running = true;
+		this.writerThread = new Thread(this::drainLoop, "command-log-writer");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+		logger.info("Async command log started, flush size " + this.flushSize + ", interval " + this.flushIntervalMillis + "ms");
+	}
+
+	@Override
+	public void stop() {
+		if (!this.running) {
+			return;
+		}
+		this.running = false; // the loop writes what is left in the queue and ends
+		try {
+			this.writerThread.join(this.shutdownTimeoutMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (!this.queue.isEmpty()) {
+			logger.error("Async command log stopped with " + this.queue.size() + " commands not written");
+		} else {
+			logger.info("Async command log drained, total written: " + this.written.get());
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return this.running;
+	}
+
+	// Stop after the web server (no new commands) but before the datasource goes away
+	@Override
+	public int getPhase() {
+		return SmartLifecycle.DEFAULT_PHASE - 4096;
+	}
+
+	private void drainLoop() {
+		List<CommandEntity> batch = new ArrayList<>(this.flushSize);
+		while (this.running || !this.queue.isEmpty()) {
+			try {
+				CommandEntity first = this.queue.poll(Math.min(this.flushIntervalMillis, STOP_CHECK_MILLIS),
+						TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				fillBatch(batch);
+				flush(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	// Take up to flush-size commands, waiting at most flush-interval after the first one
+	private void fillBatch(List<CommandEntity> batch) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.flushIntervalMillis);
+		while (batch.size() < this.flushSize) {
+			this.queue.drainTo(batch, this.flushSize - batch.size());
+			long remaining = deadline - System.nanoTime();
+			if (batch.size() >= this.flushSize || remaining <= 0 || !this.running) {
+				return;
+			}
+			CommandEntity next = this.queue.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(STOP_CHECK_MILLIS)),
+					TimeUnit.NANOSECONDS);
+			if (next != null) {
+				batch.add(next);
+			}
+		}
+	}
+
+	private void flush(List<CommandEntity> batch) {
+		try {
+			this.transactionTemplate.executeWithoutResult(status -> this.commandsCrud.saveAll(batch));
+			this.written.addAndGet(batch.size());
+			logger.debug("Async command log wrote " + batch.size() + " commands");
+		} catch (RuntimeException e) {
+			// one bad row rolls the whole batch back: write the rows one by one, keep the writer alive
+			logger.warn("Async command log batch of " + batch.size() + " commands failed, retrying row by row", e);
+			List<CommandEntity> rejected = new ArrayList<>();
+			for (CommandEntity entity : batch) {
+				try {
+					this.transactionTemplate.executeWithoutResult(status -> this.commandsCrud.save(entity));
+					this.written.incrementAndGet();
+				} catch (RuntimeException rowFailure) {
+					logger.error("Async command log failed to write command " + entity.getCommandId(), rowFailure);
+					rejected.add(entity);
+				}
+			}
+			if (!rejected.isEmpty()) {
+				deadLetter(rejected);
+			}
+		}
+	}
+
+	// The commands were already acknowledged: keep them in the dead-letter file for a replay
+	private void deadLetter(List<CommandEntity> rejected) {
+		this.failed.addAndGet(rejected.size());
+		try (OutputStream out = Files.newOutputStream(this.deadLetterFile, StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND);
+				NdjsonWriter<CommandBoundary> rows = new NdjsonWriter<>(this.commandWriter, out, rejected.size())) {
+			rejected.stream().map(this.commandConverter::toBoundary).forEach(rows);
+			logger.error("Async command log dead-lettered " + rejected.size() + " commands to " + this.deadLetterFile);
+		} catch (IOException | RuntimeException e) {
+			// last resort: the log line is all that is left of them
+			logger.error("Async command log lost " + rejected.size() + " commands, dead-letter file not writable: "
+					+ rejected.stream().map(CommandEntity::getCommandId).toList(), e);
+		}
+	}
+}
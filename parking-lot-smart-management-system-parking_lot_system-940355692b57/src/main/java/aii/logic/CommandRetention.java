@@ -0,0 +1,254 @@
+package aii.logic;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import aii.boundary.CommandBoundary;
+import aii.converter.CommandConverter;
+import aii.converter.NdjsonWriter;
+import aii.dal.CommandPartitions;
+import aii.dal.CommandsCrud;
+import aii.data.CommandEntity;
+import jakarta.persistence.EntityManager;
+
+// Month-based upkeep of COMMANDS, at startup and then every maintenance-interval:
+// - on a partitioned table (PostgreSQL, CommandPartitions) the partitions of the current month and the next
+//   partitions.months-ahead months are created before any command needs them;
+// - with retention enabled, every month older than the current one and the retention.months before it expires:
+//   with retention.archive its commands are first written to archive-dir/commands-YYYY-MM.ndjson.gz (the admin
+//   export format), then its partition is dropped - or, without one (H2, commands_default), its rows deleted.
+// Months are the server's local months, the zone the timestamps are written in. Expired months take no new
+// commands (the invocation timestamp is set by the server), so the archive is complete when the month goes.
+@Component
+public class CommandRetention implements SmartLifecycle {
+	private static final int ARCHIVE_FLUSH_ROWS = 10000; // rows per flush into the gzip stream
+	private static final int ARCHIVE_BUFFER_BYTES = 64 * 1024;
+
+	private final CommandsCrud commandsCrud;
+	private final CommandConverter commandConverter;
+	private final EntityManager entityManager; // To detach archived rows
+	private final CommandPartitions partitions;
+	private final TransactionTemplate transactionTemplate;
+	private final TransactionTemplate readOnlyTransactionTemplate; // the archive cursor
+	private final ObjectWriter commandWriter;
+	private final int monthsAhead;
+	private final boolean retentionEnabled;
+	private final int retentionMonths;
+	private final boolean archive;
+	private final Path archiveDir;
+	private final long intervalMillis;
+	private final ZoneId zone = ZoneId.systemDefault();
+	private final Log logger = LogFactory.getLog(CommandRetention.class); // Logger instance
+
+	private final AtomicLong expiredMonths = new AtomicLong();
+	private final AtomicLong archivedCommands = new AtomicLong();
+	private volatile boolean running;
+	private ScheduledExecutorService maintainer;
+
+	public CommandRetention(CommandsCrud commandsCrud, CommandConverter commandConverter, EntityManager entityManager,
+			CommandPartitions partitions, PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+			@Value("${aii.commands.partitions.months-ahead:2}") int monthsAhead,
+			@Value("${aii.commands.retention.enabled:false}") boolean retentionEnabled,
+			@Value("${aii.commands.retention.months:12}") int retentionMonths,
+			@Value("${aii.commands.retention.archive:true}") boolean archive,
+			@Value("${aii.commands.retention.archive-dir:command-archive}") String archiveDir,
+			@Value("${aii.commands.maintenance-interval-ms:3600000}") long intervalMillis) {
+		if (monthsAhead < 0 || retentionMonths < 0 || intervalMillis < 1) {
+			throw new IllegalArgumentException("aii.commands partitions.months-ahead and retention.months must not be "
+					+ "negative, maintenance-interval-ms must be positive");
+		}
+		this.commandsCrud = commandsCrud;
+		this.commandConverter = commandConverter;
+		this.entityManager = entityManager;
+		this.partitions = partitions;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+		this.readOnlyTransactionTemplate.setReadOnly(true);
+		this.commandWriter = objectMapper.writerFor(CommandBoundary.class);
+		this.monthsAhead = monthsAhead;
+		this.retentionEnabled = retentionEnabled;
+		this.retentionMonths = retentionMonths;
+		this.archive = archive;
+		this.archiveDir = Path.of(archiveDir);
+		this.intervalMillis = intervalMillis;
+	}
+
+	// One maintenance run: create the coming partitions, then expire old months
+	public void maintain() {
+		YearMonth current = YearMonth.now(this.zone);
+		boolean partitioned = this.partitions.isPartitioned();
+		if (partitioned) {
+			List<YearMonth> existing = this.partitions.months();
+			YearMonth last = current.plusMonths(this.monthsAhead);
+			for (YearMonth month = current; !month.isAfter(last); month = month.plusMonths(1)) {
+				YearMonth created = month;
+				if (!existing.contains(created)
+						&& this.transactionTemplate.execute(status -> this.partitions.create(created))) {
+					logger.info("Commands partition created: " + created);
+				}
+			}
+		}
+		if (this.retentionEnabled) {
+			YearMonth oldestKept = current.minusMonths(this.retentionMonths);
+			for (YearMonth month = oldestMonth(partitioned); month != null && month.isBefore(oldestKept);
+					month = oldestMonth(partitioned)) {
+				expire(month, partitioned);
+			}
+		}
+	}
+
+	public long getExpiredMonthCount() {
+		return this.expiredMonths.get();
+	}
+
+	public long getArchivedCount() {
+		return this.archivedCommands.get();
+	}
+
+	@Override
+	public void start() {
+		if (this.running) {
+			return;
+		}
+		this.running = true;
+		this.maintainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "commands-retention");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.maintainer.scheduleWithFixedDelay(this::maintainQuietly, 0, this.intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void stop() {
+		if (!this.running) {
+			return;
+		}
+		this.running = false;
+		this.maintainer.shutdownNow();
+	}
+
+	@Override
+	public boolean isRunning() {
+		return this.running;
+	}
+
+	// Stop before the datasource goes away
+	@Override
+	public int getPhase() {
+		return SmartLifecycle.DEFAULT_PHASE - 4096;
+	}
+
+	private void maintainQuietly() {
+		try {
+			maintain();
+		} catch (RuntimeException e) {
+			// keep the schedule alive, the next run tries again (a month is only dropped once archived)
+			logger.error("Commands maintenance failed", e);
+		}
+	}
+
+	// The oldest month that still has commands or a partition, null when there is none
+	private YearMonth oldestMonth(boolean partitioned) {
+		Date oldest = this.commandsCrud.findOldestInvocationTimestamp();
+		YearMonth month = oldest == null ? null : YearMonth.from(oldest.toInstant().atZone(this.zone));
+		if (partitioned) {
+			List<YearMonth> existing = this.partitions.months();
+			if (!existing.isEmpty() && (month == null || existing.get(0).isBefore(month))) {
+				month = existing.get(0);
+			}
+		}
+		return month;
+	}
+
+	private void expire(YearMonth month, boolean partitioned) {
+		Date from = start(month);
+		Date to = start(month.plusMonths(1));
+		long archived = this.archive ? archive(month, from, to) : 0;
+		this.transactionTemplate.executeWithoutResult(status -> {
+			if (partitioned && this.partitions.months().contains(month)) {
+				this.partitions.drop(month);
+			} else {
+				this.commandsCrud.deleteInvokedBetween(from, to);
+			}
+		});
+		this.expiredMonths.incrementAndGet();
+		this.archivedCommands.addAndGet(archived);
+		logger.info("Commands of " + month + " expired" + (this.archive ? ", archived: " + archived : ""));
+	}
+
+	// Write the month to its archive file: to a .part file first, renamed once complete and on disk,
+	// so a failed run leaves no truncated archive behind (and deletes nothing)
+	private long archive(YearMonth month, Date from, Date to) {
+		Path file = this.archiveDir.resolve("commands-" + month + ".ndjson.gz");
+		Path partial = this.archiveDir.resolve(file.getFileName() + ".part");
+		try {
+			Files.createDirectories(this.archiveDir);
+			long archived;
+			try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+					GZIPOutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(channel),
+							ARCHIVE_BUFFER_BYTES)) {
+				try (NdjsonWriter<CommandBoundary> rows = new NdjsonWriter<>(this.commandWriter, gzip,
+						ARCHIVE_FLUSH_ROWS)) {
+					archived = export(from, to, rows);
+				}
+				gzip.finish();
+				channel.force(true);
+			}
+			Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			return archived;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot archive the commands of " + month + " to " + file, e);
+		}
+	}
+
+	// The commands of [from, to) in the admin export order, through the same cursor: each row detached once
+	// passed on (no caller to check, this is not the admin export)
+	private long export(Date from, Date to, Consumer<CommandBoundary> sink) {
+		return this.readOnlyTransactionTemplate.execute(status -> {
+			long exported = 0;
+			try (Stream<CommandEntity> rows = this.commandsCrud.streamForExport(from, to, null)) {
+				for (Iterator<CommandEntity> it = rows.iterator(); it.hasNext(); exported++) {
+					CommandEntity entity = it.next();
+					sink.accept(this.commandConverter.toBoundary(entity));
+					this.entityManager.detach(entity);
+				}
+			}
+			return exported;
+		});
+	}
+
+	private Date start(YearMonth month) {
+		return Date.from(month.atDay(1).atStartOfDay(this.zone).toInstant());
+	}
+}
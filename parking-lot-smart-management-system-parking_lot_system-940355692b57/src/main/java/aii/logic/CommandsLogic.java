@@ -1,7 +1,10 @@
 package aii.logic;
 
+import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
+import aii.boundary.CommandBatchResult;
 import aii.boundary.CommandBoundary;
 import aii.boundary.ObjectBoundary;
 
@@ -9,7 +12,24 @@ public interface CommandsLogic {
 	
 	public List<CommandBoundary> getAllCommands(int page, int size);
 	
+	// Pass the commands invoked in [from, to) (null = unbounded) named command (null = any) to the sink, oldest first;
+	// returns how many were passed. ADMIN only
+	public long exportCommands(String adminSystemID, String adminEmail, Date from, Date to, String command,
+			Consumer<CommandBoundary> sink);
+	
+	// Commands on an object / invoked by a user in [from, to) (null = unbounded), newest first: size commands
+	// starting after the page cursor 'after' (null = from the newest)
+	public List<CommandBoundary> getCommandsByObject(String userSystemID, String userEmail, String objectSystemID,
+			String objectId, Date from, Date to, int size, String after);
+	
+	public List<CommandBoundary> getCommandsByUser(String userSystemID, String userEmail, String invokerSystemID,
+			String invokerEmail, Date from, Date to, int size, String after);
+	
 	public void deleteAllCommands();
 	
 	public List<Object> invokeCommand(CommandBoundary commandBoundary);
+	
+	public List<Object> invokeCommand(CommandBoundary commandBoundary, boolean async);
+	
+	public List<CommandBatchResult> invokeCommands(List<CommandBoundary> commandBoundaries);
 }
@@ -2,25 +2,43 @@ package aii.logic;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import aii.boundary.CommandBatchResult;
 import aii.boundary.CommandBoundary;
 import aii.boundary.ObjectBoundary;
 import aii.converter.CommandConverter;
 import aii.dal.CommandsCrud;
+import aii.data.CompositeId;
 import aii.data.CommandEntity;
 import aii.data.UserRole;
+import aii.logic.commands.CommandHandler;
+import aii.logic.commands.CommandHandlerRegistry;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
 
+
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class CommandsLogicImplementation implements CommandsLogic {
@@ -29,65 +47,240 @@ public class CommandsLogicImplementation implements CommandsLogic {
     private final CommandConverter commandConverter; // Converter for Command objects
     //new
     private final ObjectsLogic objectsLogic; // Inject object logic to verify object state
-    private final UsersLogic usersLogic; // To retrieve user roles
+    private final PrincipalResolver principalResolver; // Role of the invoking user, once per request
+    private final CommandLogWriter commandLogWriter; // Write-behind queue for async commands
+    private final CommandHandlerRegistry handlerRegistry; // Handlers acting on the command name
+    private final EntityManager entityManager; // To detach exported rows
+    private final TransactionTemplate transactionTemplate; // One transaction per handled batch item
+    private final MeterRegistry meterRegistry; // aii.commands.invoked{command}
     private final Log logger = LogFactory.getLog(CommandsLogicImplementation.class); // Logger instance
 
     
     @Value("${spring.application.name}")
     private String systemID; // System ID from application.properties
+
+    @Value("${aii.commands.batch.max-size:1000}")
+    private int maxBatchSize; // Largest accepted POST /aii/commands/batch
     
     // Constructor for dependency injection
-    public CommandsLogicImplementation(CommandsCrud commandsCrud, CommandConverter commandConverter, ObjectsLogic objectsLogic, UsersLogic usersLogic) {
+    public CommandsLogicImplementation(CommandsCrud commandsCrud, CommandConverter commandConverter, ObjectsLogic objectsLogic, PrincipalResolver principalResolver, CommandLogWriter commandLogWriter, CommandHandlerRegistry handlerRegistry, EntityManager entityManager, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
         this.commandsCrud = commandsCrud;
         this.commandConverter = commandConverter;
         this.objectsLogic = objectsLogic;
-        this.usersLogic = usersLogic;
+        this.principalResolver = principalResolver;
+        this.commandLogWriter = commandLogWriter;
+        this.handlerRegistry = handlerRegistry;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
     }
 
     // Invoke a new command
     @Override
     @Transactional
-    public List<Object> invokeCommand(CommandBoundary commandBoundary) {    	
+    public List<Object> invokeCommand(CommandBoundary commandBoundary) {
+        return invokeCommand(commandBoundary, false);
+    }
+
+    // Invoke a new command; in async mode it is acknowledged once queued and written in the background.
+    // A command with a registered handler always runs synchronously, in this transaction, and returns the handler result.
+    @Override
+    @Transactional
+    public List<Object> invokeCommand(CommandBoundary commandBoundary, boolean async) {
         validateCommandBoundary(commandBoundary);
         
         // Get user's role
-        UserRole userRole = usersLogic.getUserRole(
+        UserRole userRole = principalResolver.resolveRole(
                 commandBoundary.getInvokedBy().getUserId().getSystemID(),               
                 commandBoundary.getInvokedBy().getUserId().getEmail()
         );
         
         // Enforce role-based restrictions
-        if (userRole == UserRole.ADMIN || userRole == UserRole.OPERATOR) {
-            throw new ForbiddenAccessException("ADMIN / OPERATOR users are not allowed to execute commands.");
+        Optional<CommandHandler> handler = handlerRegistry.find(commandBoundary.getCommand());
+        Optional<String> rejection = roleRejection(userRole, handler);
+        if (rejection.isPresent()) {
+            throw new ForbiddenAccessException(rejection.get());
         }
 
-        // Check object existence and active status for END_USER
-        if (userRole == UserRole.END_USER) {
-            verifyTargetObjectIsActive(commandBoundary);
-        }
+        // Check object existence and active status
+        verifyTargetObjectIsActive(commandBoundary);
         
+        CommandEntity entity = prepareEntity(commandBoundary);
+        Object handlerResult = handler.map(h -> h.handle(commandBoundary)).orElse(null);
+
+        if (async && handler.isEmpty() && commandLogWriter.isEnabled()) {
+            commandLogWriter.enqueue(entity); // backpressure: 503 when the queue stays full
+            logger.debug("Command queued: " + entity.getCommandId());
+        } else {
+            commandsCrud.save(entity);
+
+            if (logger.isDebugEnabled()) {
+                logger.debug("Command invoked: " + commandConverter.toBoundary(entity)); // Log command invocation
+            }
+        }
+        countCommand(commandBoundary.getCommand(), handler.isPresent());
+
+        if (handler.isPresent()) {
+            return toResponse(handlerResult);
+        }
+        return List.of(toResult(commandBoundary));
+    }
+
+    // Invoke many commands at once, every item gets its own result, in request order.
+    // Each distinct invoker and each distinct target object is checked once. An item with a handler runs in a
+    // transaction of its own together with its command row, so a failing handler rolls back only that item;
+    // the commands without a handler are written together at the end with batched INSERTs (hibernate.jdbc.batch_size).
+    // Not @Transactional itself: an exception leaving a nested transactional call (repository, logic) would mark
+    // a shared transaction rollback-only and fail the whole batch.
+    @Override
+    public List<CommandBatchResult> invokeCommands(List<CommandBoundary> commandBoundaries) {
+        if (commandBoundaries == null || commandBoundaries.isEmpty()) {
+            throw new InvalidInputException("Command batch must not be empty.");
+        }
+        if (commandBoundaries.size() > maxBatchSize) {
+            throw new InvalidInputException("Command batch must not contain more than " + maxBatchSize + " commands.");
+        }
+
+        CommandBatchResult[] results = new CommandBatchResult[commandBoundaries.size()];
+        Map<String, InvokerCheck> invokers = new HashMap<>(); // invoker -> role, or why it could not be resolved
+        List<Integer> pending = new ArrayList<>();
+        Set<String> targets = new LinkedHashSet<>();
+
+        for (int i = 0; i < commandBoundaries.size(); i++) {
+            CommandBoundary commandBoundary = commandBoundaries.get(i);
+            try {
+                if (commandBoundary == null) {
+                    throw new InvalidInputException("Command must not be null.");
+                }
+                validateCommandBoundary(commandBoundary);
+            } catch (InvalidInputException e) {
+                results[i] = CommandBatchResult.failure(i, e.getMessage());
+                continue;
+            }
+            InvokerCheck invoker = invokers.computeIfAbsent(invokerKey(commandBoundary),
+                    key -> checkInvoker(commandBoundary));
+            Optional<String> rejection = invoker.failure() != null ? Optional.of(invoker.failure())
+                    : roleRejection(invoker.role(), handlerRegistry.find(commandBoundary.getCommand()));
+            if (rejection.isPresent()) {
+                results[i] = CommandBatchResult.failure(i, rejection.get());
+                continue;
+            }
+            pending.add(i);
+            targets.add(targetKey(commandBoundary));
+        }
+
+        // a single query for all target objects of the batch
+        Set<String> activeTargets = objectsLogic.getActiveObjectIds(targets);
+
+        List<CommandEntity> entities = new ArrayList<>(pending.size()); // commands without a handler
+        int accepted = 0;
+        for (int i : pending) {
+            CommandBoundary commandBoundary = commandBoundaries.get(i);
+            if (!activeTargets.contains(targetKey(commandBoundary))) {
+                results[i] = CommandBatchResult.failure(i, "The target Object is either not active or does not exist.");
+                continue;
+            }
+            CommandEntity entity = prepareEntity(commandBoundary);
+            Optional<CommandHandler> handler = handlerRegistry.find(commandBoundary.getCommand());
+            Object result;
+            if (handler.isEmpty()) {
+                entities.add(entity);
+                result = toResult(commandBoundary);
+            } else {
+                try {
+                    result = transactionTemplate.execute(status -> {
+                        Object handled = toResponse(handler.get().handle(commandBoundary));
+                        commandsCrud.save(entity);
+                        return handled;
+                    });
+                } catch (RuntimeException e) { // rolled back on its own, the rest of the batch is unaffected
+                    results[i] = CommandBatchResult.failure(i, e.getMessage());
+                    continue;
+                }
+            }
+            results[i] = CommandBatchResult.success(i, result);
+            countCommand(commandBoundary.getCommand(), handler.isPresent());
+            accepted++;
+        }
+        if (!entities.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> commandsCrud.saveAll(entities));
+        }
+
+        logger.info("Command batch invoked: " + accepted + " of " + commandBoundaries.size() + " commands accepted");
+        return List.of(results);
+    }
+
+    // Role of a batch invoker, or why it could not be resolved
+    private record InvokerCheck(UserRole role, String failure) {}
+
+    private InvokerCheck checkInvoker(CommandBoundary commandBoundary) {
+        try {
+            return new InvokerCheck(principalResolver.resolveRole(
+                    commandBoundary.getInvokedBy().getUserId().getSystemID(),
+                    commandBoundary.getInvokedBy().getUserId().getEmail()), null);
+        } catch (RuntimeException e) {
+            return new InvokerCheck(null, e.getMessage());
+        }
+    }
+
+    // END_USER users execute commands; OPERATOR users only those whose handler allows it (the spot status override)
+    private static Optional<String> roleRejection(UserRole userRole, Optional<CommandHandler> handler) {
+        if (userRole == UserRole.END_USER
+                || (userRole == UserRole.OPERATOR && handler.map(CommandHandler::allowsOperator).orElse(false))) {
+            return Optional.empty();
+        }
+        return Optional.of("ADMIN / OPERATOR users are not allowed to execute commands.");
+    }
+
+    // Commands are free text: only handled command names get their own tag value, the rest count as "other"
+    private void countCommand(String command, boolean handled) {
+        Counter.builder("aii.commands.invoked")
+                .description("Accepted commands by command name")
+                .tag("command", handled ? command : "other")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private String invokerKey(CommandBoundary commandBoundary) {
+        return CompositeId.combine(commandBoundary.getInvokedBy().getUserId().getEmail(),
+                commandBoundary.getInvokedBy().getUserId().getSystemID());
+    }
+
+    private String targetKey(CommandBoundary commandBoundary) {
+        return CompositeId.combine(commandBoundary.getTargetObject().getObjectId().getId(),
+                commandBoundary.getTargetObject().getObjectId().getSystemID());
+    }
+
+    // Assign id, timestamp and system IDs of a command about to be stored, and convert it
+    private CommandEntity prepareEntity(CommandBoundary commandBoundary) {
         commandBoundary.setInvocationTimestamp(new Date());
         commandBoundary.setCommandId(new CommandBoundary.CommandId(systemID, UUID.randomUUID().toString()));
         
         commandBoundary.getInvokedBy().getUserId().setSystemID(systemID);
         commandBoundary.getTargetObject().getObjectId().setSystemID(systemID);
         
-        CommandEntity entity = this.commandConverter.toEntity(commandBoundary);
-        commandsCrud.save(entity);
-        
-        CommandBoundary createdCommand = commandConverter.toBoundary(entity);
-        logger.info("Command invoked: " + createdCommand); // Log command invocation
+        return this.commandConverter.toEntity(commandBoundary);
+    }
 
+    // Handler results are returned as they are, a single value is wrapped like the echo
+    private List<Object> toResponse(Object handlerResult) {
+        if (handlerResult instanceof List<?> list) {
+            return new ArrayList<>(list);
+        }
+        List<Object> response = new ArrayList<>(1);
+        response.add(handlerResult);
+        return response;
+    }
 
-        return List.of(
-            Map.of(
+    // Response payload of an invoked command
+    private Map<String, Object> toResult(CommandBoundary commandBoundary) {
+        return Map.of(
                 "commandId", Map.of("systemID", commandBoundary.getCommandId().getSystemID(), "id", commandBoundary.getCommandId().getId()),
                 "command", commandBoundary.getCommand(),
                 "targetObject", Map.of("objectId", Map.of("systemID", commandBoundary.getTargetObject().getObjectId().getSystemID(), "id", commandBoundary.getTargetObject().getObjectId().getId())),
                 "invocationTimestamp", commandBoundary.getInvocationTimestamp(),
                 "invokedBy", Map.of("userId", Map.of("systemID", commandBoundary.getInvokedBy().getUserId().getSystemID(), "email", commandBoundary.getInvokedBy().getUserId().getEmail())),
                 "commandAttributes", commandBoundary.getCommandAttributes()
-            )
         );
     }
  // Helper method to validate CommandBoundary
@@ -127,22 +320,118 @@ public class CommandsLogicImplementation implements CommandsLogic {
             throw new InvalidInputException("The target Object is either not active or does not exist.");
         }
     }
+
+    // Caller and paging of a history request; returns the decoded page cursor (null = first page)
+    private PageCursor validateHistoryRequest(String userSystemID, String userEmail, Date from, Date to, int size,
+            String after) {
+        if (userSystemID == null || userSystemID.isBlank() || userEmail == null || userEmail.isBlank()) {
+            throw new InvalidInputException("userSystemID and userEmail must not be empty.");
+        }
+        if (size < 1) {
+            throw new InvalidInputException("size must be positive.");
+        }
+        if (from != null && to != null && !from.before(to)) {
+            throw new InvalidInputException("from must be before to.");
+        }
+        return PageCursor.decode(after);
+    }
+
+    // Newest first, commandId breaks timestamp ties (the page cursor is the pair)
+    private static PageRequest historyOrder(int size) {
+        return PageRequest.of(0, size, Sort.Direction.DESC, "invocationTimestamp", "commandId");
+    }
+
     // Get all commands
     @Override
     @Transactional(readOnly = true)
     public List<CommandBoundary> getAllCommands(int page, int size) {
     	
-        List<CommandBoundary> commands = commandsCrud.findAll(PageRequest.of(page, size))
+        List<CommandBoundary> commands = commandsCrud.findAll(
+                PageRequest.of(page, size, Sort.by("invocationTimestamp", "commandId"))) // stable pages
                 .stream()
                 .map(commandConverter::toBoundary)
                 .collect(Collectors.toList());
 
-        logger.info("Retrieved all commands, total count: " + commands.size()); // Log all commands retrieval
+        if (logger.isDebugEnabled()) {
+            logger.debug("Retrieved all commands, total count: " + commands.size()); // Log all commands retrieval
+        }
 
         return commands;
     }
 
 
+    // Export: the rows are read through a cursor and detached once passed on, so memory stays constant
+    // however many commands match
+    @Override
+    @Transactional(readOnly = true)
+    public long exportCommands(String adminSystemID, String adminEmail, Date from, Date to, String command,
+            Consumer<CommandBoundary> sink) {
+        // Verify admin access (checked by the controller too, the export itself runs on the streaming thread)
+        if (principalResolver.resolveRole(adminSystemID, adminEmail) != UserRole.ADMIN) {
+            throw new ForbiddenAccessException("Only ADMIN users can export commands");
+        }
+        if (from != null && to != null && !from.before(to)) {
+            throw new InvalidInputException("from must be before to.");
+        }
+        String name = (command == null || command.isBlank()) ? null : command;
+
+        long exported = 0;
+        try (Stream<CommandEntity> rows = commandsCrud.streamForExport(from, to, name)) {
+            for (Iterator<CommandEntity> it = rows.iterator(); it.hasNext(); exported++) {
+                CommandEntity entity = it.next();
+                sink.accept(commandConverter.toBoundary(entity));
+                entityManager.detach(entity);
+            }
+        }
+        logger.info("Exported commands: " + exported);
+        return exported;
+    }
+
+    // History of an object: OPERATOR / ADMIN only, end users do not see each other's commands
+    @Override
+    @Transactional(readOnly = true)
+    public List<CommandBoundary> getCommandsByObject(String userSystemID, String userEmail, String objectSystemID,
+            String objectId, Date from, Date to, int size, String after) {
+        PageCursor cursor = validateHistoryRequest(userSystemID, userEmail, from, to, size, after);
+        if (objectSystemID == null || objectSystemID.isBlank() || objectId == null || objectId.isBlank()) {
+            throw new InvalidInputException("Object systemID and id must not be empty.");
+        }
+        UserRole userRole = principalResolver.resolveRole(userSystemID, userEmail);
+        if (userRole == UserRole.END_USER) {
+            throw new ForbiddenAccessException("Only OPERATOR / ADMIN users can read the command history of an object.");
+        }
+
+        String targetObject = CompositeId.combine(objectId, objectSystemID);
+        List<CommandEntity> entities = cursor == null
+                ? commandsCrud.findHistoryByTargetObject(targetObject, from, to, historyOrder(size))
+                : commandsCrud.findHistoryByTargetObjectSeek(targetObject, from, to, cursor.timestamp(), cursor.id(),
+                        historyOrder(size));
+        return entities.stream().map(commandConverter::toBoundary).toList();
+    }
+
+    // History of a user: OPERATOR / ADMIN for any user, end users for themselves
+    @Override
+    @Transactional(readOnly = true)
+    public List<CommandBoundary> getCommandsByUser(String userSystemID, String userEmail, String invokerSystemID,
+            String invokerEmail, Date from, Date to, int size, String after) {
+        PageCursor cursor = validateHistoryRequest(userSystemID, userEmail, from, to, size, after);
+        if (invokerSystemID == null || invokerSystemID.isBlank() || invokerEmail == null || invokerEmail.isBlank()) {
+            throw new InvalidInputException("User systemID and email must not be empty.");
+        }
+        UserRole userRole = principalResolver.resolveRole(userSystemID, userEmail);
+        if (userRole == UserRole.END_USER
+                && !(invokerSystemID.equals(userSystemID) && invokerEmail.equals(userEmail))) {
+            throw new ForbiddenAccessException("END_USER users can only read their own command history.");
+        }
+
+        String invokedBy = CompositeId.combine(invokerEmail, invokerSystemID);
+        List<CommandEntity> entities = cursor == null
+                ? commandsCrud.findHistoryByInvokedBy(invokedBy, from, to, historyOrder(size))
+                : commandsCrud.findHistoryByInvokedBySeek(invokedBy, from, to, cursor.timestamp(), cursor.id(),
+                        historyOrder(size));
+        return entities.stream().map(commandConverter::toBoundary).toList();
+    }
+
     // Delete all commands
     @Override
     @Transactional
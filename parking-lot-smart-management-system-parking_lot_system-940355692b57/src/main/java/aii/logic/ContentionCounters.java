@@ -0,0 +1,51 @@
+package aii.logic;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Counters of concurrent modifications of objects: how often a conditional / versioned update lost the race,
+// how often it was retried, and how often the retries ran out (aii.objects.contention{outcome=...})
+@Component
+public class ContentionCounters {
+	private final Counter conflicts;
+	private final Counter retries;
+	private final Counter exhausted;
+
+	public ContentionCounters(MeterRegistry meterRegistry) {
+		this.conflicts = counter(meterRegistry, "conflict");
+		this.retries = counter(meterRegistry, "retry");
+		this.exhausted = counter(meterRegistry, "exhausted");
+	}
+
+	public void conflict() {
+		this.conflicts.increment();
+	}
+
+	public void retry() {
+		this.retries.increment();
+	}
+
+	public void exhausted() {
+		this.exhausted.increment();
+	}
+
+	public Map<String, Object> snapshot() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("conflictCount", (long) this.conflicts.count());
+		stats.put("retryCount", (long) this.retries.count());
+		stats.put("retriesExhaustedCount", (long) this.exhausted.count());
+		return stats;
+	}
+
+	private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+		return Counter.builder("aii.objects.contention")
+				.description("Lost optimistic-lock races on objects")
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+}
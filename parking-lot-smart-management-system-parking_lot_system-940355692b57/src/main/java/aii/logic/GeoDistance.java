@@ -0,0 +1,44 @@
+package aii.logic;
+
+// Great-circle helpers shared by the location searches
+public final class GeoDistance {
+
+	public static final double EARTH_RADIUS_KM = 6371.0;
+	public static final double KM_PER_DEGREE_LAT = 111.0; // 1 degree latitude ≈ 111 km
+
+	private GeoDistance() {
+	}
+
+	// Haversine distance between two coordinates, in kilometers
+	public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+		double dLat = Math.toRadians(lat2 - lat1);
+		double dLng = Math.toRadians(lng2 - lng1);
+		double sinLat = Math.sin(dLat / 2);
+		double sinLng = Math.sin(dLng / 2);
+		double a = sinLat * sinLat
+				+ Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLng * sinLng;
+		return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+	}
+
+	// Half-height (in degrees) of a box covering the given distance
+	public static double latDelta(double distanceInKm) {
+		return distanceInKm / KM_PER_DEGREE_LAT;
+	}
+
+	// Half-width (in degrees) of a box covering the given distance at the given latitude
+	public static double lngDelta(double lat, double distanceInKm) {
+		return distanceInKm / (KM_PER_DEGREE_LAT * Math.cos(Math.toRadians(lat)));
+	}
+
+	// Half-width (in degrees) of the smallest box that contains a whole circle around the given latitude.
+	// Unlike lngDelta it accounts for the circle bulging towards the poles; 180 means "all longitudes".
+	public static double circleLngDelta(double lat, double distanceInKm) {
+		double angularDistance = distanceInKm / EARTH_RADIUS_KM;
+		double cosLat = Math.cos(Math.toRadians(lat));
+		if (angularDistance >= Math.PI / 2 || cosLat <= 0) {
+			return 180;
+		}
+		double ratio = Math.sin(angularDistance) / cosLat;
+		return ratio >= 1 ? 180 : Math.toDegrees(Math.asin(ratio));
+	}
+}
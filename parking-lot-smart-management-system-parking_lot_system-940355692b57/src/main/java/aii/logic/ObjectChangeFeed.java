@@ -0,0 +1,256 @@
+package aii.logic;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import aii.boundary.ObjectChangeEvent;
+
+// Fan-out of object status / active changes to the open streams (GET /aii/objects/stream).
+// Changes are published after their transaction commits and queued; one background thread hands each change
+// to the subscribers whose filter matches, and pings every subscriber each heartbeat-interval (keeps proxies from
+// closing idle streams and finds the dead ones). It never writes to a stream itself: every subscriber has its own
+// bounded queue, written out by its own virtual thread, so a slow client only delays itself. A subscriber whose
+// queue is full has fallen behind and is dropped (its stream completed, the client reconnects and re-reads).
+// A parked virtual thread costs a few hundred bytes, thousands of idle subscribers cost about their connection.
+// When the shared queue is full the change is dropped for everyone.
+@Component
+public class ObjectChangeFeed implements SmartLifecycle {
+	private static final Object HEARTBEAT = new Object(); // queued to a subscriber in place of a change
+
+	private final int maxSubscribers;
+	private final int subscriberQueueCapacity;
+	private final long heartbeatIntervalMillis;
+	private final BlockingQueue<ObjectChangeEvent> queue;
+	private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+	private final Log logger = LogFactory.getLog(ObjectChangeFeed.class); // Logger instance
+
+	private final AtomicLong published = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong lagging = new AtomicLong();
+	private volatile boolean running;
+	private Thread dispatcherThread;
+
+	public ObjectChangeFeed(
+			@Value("${aii.objects.stream.max-subscribers:10000}") int maxSubscribers,
+			@Value("${aii.objects.stream.queue-capacity:10000}") int queueCapacity,
+			@Value("${aii.objects.stream.subscriber-queue-capacity:256}") int subscriberQueueCapacity,
+			@Value("${aii.objects.stream.heartbeat-interval-ms:30000}") long heartbeatIntervalMillis) {
+		if (maxSubscribers < 1 || queueCapacity < 1 || subscriberQueueCapacity < 1 || heartbeatIntervalMillis < 1) {
+			throw new IllegalArgumentException("aii.objects.stream max-subscribers, queue-capacity, "
+					+ "subscriber-queue-capacity and heartbeat-interval-ms must be positive");
+		}
+		this.maxSubscribers = maxSubscribers;
+		this.subscriberQueueCapacity = subscriberQueueCapacity;
+		this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+	}
+
+	// Receiver of the changes of one subscription (an open stream)
+	public interface Listener {
+		void onChange(ObjectChangeEvent event) throws IOException;
+
+		void onHeartbeat() throws IOException;
+
+		// The feed is shutting down
+		void onClose();
+	}
+
+	public final class Subscription {
+		private final Predicate<ObjectChangeEvent> filter;
+		private final Listener listener;
+		private final BlockingQueue<Object> pending; // changes and heartbeats not yet written
+		private final Thread sender;
+		private volatile boolean open = true;
+		private volatile boolean complete; // the feed ends the stream (lagging, shutdown), not the web layer
+
+		private Subscription(Predicate<ObjectChangeEvent> filter, Listener listener) {
+			this.filter = filter;
+			this.listener = listener;
+			this.pending = new ArrayBlockingQueue<>(subscriberQueueCapacity);
+			this.sender = Thread.ofVirtual().name("object-change-sender").unstarted(this::sendLoop);
+		}
+
+		// Stop delivering to this subscriber (stream completed, timed out or failed)
+		public void cancel() {
+			close(false);
+		}
+
+		private void close(boolean completeStream) {
+			if (!subscriptions.remove(this)) {
+				return;
+			}
+			this.complete = completeStream;
+			this.open = false;
+			this.sender.interrupt(); // also ends a write stuck on a client that stopped reading
+		}
+
+		// Never blocks the dispatcher: false when the subscriber has fallen behind
+		private boolean offer(Object item) {
+			return this.pending.offer(item);
+		}
+
+		private void sendLoop() {
+			try {
+				while (this.open) {
+					Object item = this.pending.take();
+					if (item == HEARTBEAT) {
+						this.listener.onHeartbeat();
+					} else {
+						this.listener.onChange((ObjectChangeEvent) item);
+					}
+				}
+			} catch (InterruptedException e) {
+				// closed
+			} catch (IOException | RuntimeException e) {
+				drop(this, e);
+			}
+			if (this.complete) {
+				Thread.interrupted(); // completing must not be cut short by the close
+				this.listener.onClose();
+			}
+		}
+	}
+
+	public Subscription subscribe(Predicate<ObjectChangeEvent> filter, Listener listener) {
+		if (!this.running) {
+			throw new ServiceUnavailableException("Object change stream is not available.");
+		}
+		if (this.subscriptions.size() >= this.maxSubscribers) {
+			throw new ServiceUnavailableException("Too many open object change streams, retry later.");
+		}
+		Subscription subscription = new Subscription(filter, listener);
+		this.subscriptions.add(subscription);
+		subscription.sender.start();
+		return subscription;
+	}
+
+	// Queue the change once the current transaction commits (nothing is sent for a rolled back change)
+	public void publish(ObjectChangeEvent event) {
+		if (this.subscriptions.isEmpty()) {
+			return;
+		}
+		TransactionHooks.afterCommit(() -> {
+			if (!this.queue.offer(event)) {
+				this.dropped.incrementAndGet();
+				logger.warn("Object change stream queue is full, dropped: " + event);
+			}
+		});
+	}
+
+	public int getSubscriberCount() {
+		return this.subscriptions.size();
+	}
+
+	public long getPublishedCount() {
+		return this.published.get();
+	}
+
+	public long getDroppedCount() {
+		return this.dropped.get();
+	}
+
+	public long getLaggingCount() {
+		return this.lagging.get();
+	}
+
+	@Override
+	public void start() {
+		if (this.running) {
+			return;
+		}
+		this.running = true;
+		this.dispatcherThread = new Thread(this::dispatchLoop, "object-change-feed");
+		this.dispatcherThread.setDaemon(true);
+		this.dispatcherThread.start();
+	}
+
+	@Override
+	public void stop() {
+		if (!this.running) {
+			return;
+		}
+		this.running = false;
+		this.dispatcherThread.interrupt();
+		// complete the open streams (each from its own sender), otherwise the web server waits for them on shutdown
+		for (Subscription subscription : this.subscriptions) {
+			subscription.close(true);
+		}
+		logger.info("Object change stream stopped, total published: " + this.published.get());
+	}
+
+	@Override
+	public boolean isRunning() {
+		return this.running;
+	}
+
+	private void dispatchLoop() {
+		long nextHeartbeat = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.heartbeatIntervalMillis);
+		while (this.running) {
+			try {
+				ObjectChangeEvent event = this.queue.poll(Math.max(0, nextHeartbeat - System.nanoTime()),
+						TimeUnit.NANOSECONDS);
+				if (event != null) {
+					dispatch(event);
+				}
+				// also under steady traffic: subscribers whose filter matches nothing still need the ping
+				if (System.nanoTime() - nextHeartbeat >= 0) {
+					heartbeat();
+					nextHeartbeat = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.heartbeatIntervalMillis);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+	}
+
+	private void dispatch(ObjectChangeEvent event) {
+		this.published.incrementAndGet();
+		for (Subscription subscription : this.subscriptions) {
+			boolean matches;
+			try {
+				matches = subscription.filter.test(event);
+			} catch (RuntimeException e) {
+				drop(subscription, e);
+				continue;
+			}
+			if (matches && !subscription.offer(event)) {
+				dropLagging(subscription);
+			}
+		}
+	}
+
+	private void heartbeat() {
+		for (Subscription subscription : this.subscriptions) {
+			// a subscriber with writes pending is not idle, it needs no ping
+			if (subscription.pending.isEmpty() && !subscription.offer(HEARTBEAT)) {
+				dropLagging(subscription);
+			}
+		}
+	}
+
+	// The subscriber does not keep up with the changes: end its stream rather than hold changes for it
+	private void dropLagging(Subscription subscription) {
+		this.lagging.incrementAndGet();
+		subscription.close(true);
+		logger.debug("Object change subscriber dropped: " + this.subscriberQueueCapacity + " changes behind");
+	}
+
+	// The client went away: forget it, its stream is completed by the web layer
+	private void drop(Subscription subscription, Exception cause) {
+		subscription.cancel();
+		logger.debug("Object change subscriber dropped: " + cause.getMessage());
+	}
+}
@@ -0,0 +1,244 @@
+package aii.logic;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import aii.boundary.Location;
+import aii.boundary.ObjectCountBoundary;
+import aii.dal.DatabaseDialect;
+import aii.dal.ObjectCountCrud;
+import aii.dal.ObjectCrud;
+import aii.data.ObjectCountEntity;
+import aii.data.ObjectCountGroup;
+import aii.data.ObjectCountSum;
+import aii.data.ObjectEntity;
+
+// Materialized object counts per (type, status, active, area) behind GET /aii/objects/stats.
+// Every writer adds / moves its object in OBJECT_COUNTS with one upsert per touched group, inside its own
+// transaction, so the counts commit or roll back with the change; a group that drops to 0 is deleted, the table
+// only holds groups that have objects. The endpoint sums the group rows in the database (GROUP BY the dimensions
+// asked for), never OBJECTS. An area is a cell of a lat / lng grid of area-size-degrees.
+// A background job rebuilds the counts from OBJECTS every reconcile-interval (and once at startup) to correct
+// drift: rows changed outside the logic, a new area size, counts from before this table existed.
+@Component
+public class ObjectOccupancyCounts implements SmartLifecycle {
+	public static final Set<String> DIMENSIONS = Set.of("type", "status", "active", "area");
+
+	// Response order: type, status, active, area, ungrouped dimensions (null) first
+	private static final Comparator<ObjectCountBoundary> COUNT_ORDER = Comparator
+			.comparing(ObjectCountBoundary::getType, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+			.thenComparing(ObjectCountBoundary::getStatus, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+			.thenComparing(ObjectCountBoundary::getActive, Comparator.nullsFirst(Comparator.<Boolean>naturalOrder()))
+			.thenComparing(count -> count.getArea() == null ? null : count.getArea().getLat(),
+					Comparator.nullsFirst(Comparator.<Double>naturalOrder()))
+			.thenComparing(count -> count.getArea() == null ? null : count.getArea().getLng(),
+					Comparator.nullsFirst(Comparator.<Double>naturalOrder()));
+
+	private final ObjectCountCrud countCrud;
+	private final ObjectCrud objectCrud;
+	private final DatabaseDialect dialect;
+	private final TransactionTemplate transactionTemplate;
+	private final double areaSizeDegrees;
+	private final long reconcileIntervalMillis;
+	private final Log logger = LogFactory.getLog(ObjectOccupancyCounts.class); // Logger instance
+
+	private final AtomicLong corrected = new AtomicLong(); // groups fixed by the reconciliation
+	private volatile boolean running;
+	private ScheduledExecutorService reconciler;
+
+	public ObjectOccupancyCounts(ObjectCountCrud countCrud, ObjectCrud objectCrud, DatabaseDialect dialect,
+			PlatformTransactionManager transactionManager,
+			@Value("${aii.objects.stats.area-size-degrees:0.01}") double areaSizeDegrees,
+			@Value("${aii.objects.stats.reconcile-interval-ms:300000}") long reconcileIntervalMillis) {
+		if (areaSizeDegrees <= 0 || reconcileIntervalMillis < 1) {
+			throw new IllegalArgumentException(
+					"aii.objects.stats area-size-degrees and reconcile-interval-ms must be positive");
+		}
+		this.countCrud = countCrud;
+		this.objectCrud = objectCrud;
+		this.dialect = dialect;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.areaSizeDegrees = areaSizeDegrees;
+		this.reconcileIntervalMillis = reconcileIntervalMillis;
+	}
+
+	// The group an object is counted in
+	public record Group(String type, String status, boolean active, long areaRow, long areaCol) {
+
+		public Group withStatus(String status) {
+			return new Group(this.type, status, this.active, this.areaRow, this.areaCol);
+		}
+	}
+
+	public Group groupOf(ObjectEntity entity) {
+		return groupOf(entity.getType(), entity.getStatus(), entity.isActive(), entity.getLat(), entity.getLng());
+	}
+
+	// A new object, call in the creating transaction
+	public void added(ObjectEntity entity) {
+		add(groupOf(entity), 1);
+	}
+
+	// An object that was in group 'before', call in the updating transaction after the change is written.
+	// The two rows are locked in key order, so two writers moving objects in opposite directions cannot deadlock.
+	public void moved(Group before, ObjectEntity after) {
+		Group group = groupOf(after);
+		if (group.equals(before)) {
+			return;
+		}
+		if (key(before).compareTo(key(group)) < 0) {
+			add(before, -1);
+			add(group, 1);
+		} else {
+			add(group, 1);
+			add(before, -1);
+		}
+	}
+
+	// All objects deleted, call in the deleting transaction
+	public void cleared() {
+		this.countCrud.deleteAllInBatch();
+	}
+
+	// Counts summed over the dimensions not grouped by; activeOnly leaves inactive objects out
+	public List<ObjectCountBoundary> counts(Set<String> groupBy, boolean activeOnly) {
+		List<ObjectCountBoundary> counts = new ArrayList<>();
+		for (ObjectCountSum sum : this.countCrud.sumGroupedBy(groupBy, activeOnly)) {
+			counts.add(new ObjectCountBoundary(sum.type(), sum.status(), sum.active(),
+					sum.areaRow() == null ? null : areaCorner(sum.areaRow(), sum.areaCol()), sum.count()));
+		}
+		counts.sort(COUNT_ORDER);
+		return counts;
+	}
+
+	// Recompute every group from OBJECTS and fix the rows that differ; returns the number of fixed groups
+	public int reconcile() {
+		int fixed = this.transactionTemplate.execute(status -> {
+			if (this.dialect.isPostgres()) {
+				this.countCrud.lockForRebuild(); // no upsert in between: nothing is counted twice or lost
+			}
+			Map<String, ObjectCountEntity> expected = new HashMap<>();
+			for (ObjectCountGroup counted : this.objectCrud.countGroups()) {
+				Group group = groupOf(counted.type(), counted.status(), counted.active(), counted.lat(), counted.lng());
+				ObjectCountEntity row = expected.computeIfAbsent(key(group), key -> new ObjectCountEntity(group.type(),
+						group.status(), group.active(), group.areaRow(), group.areaCol(), 0));
+				row.setObjectCount(row.getObjectCount() + counted.count());
+			}
+
+			int changed = 0;
+			List<ObjectCountEntity> obsolete = new ArrayList<>();
+			for (ObjectCountEntity row : this.countCrud.findAll()) {
+				ObjectCountEntity wanted = expected.remove(row.getCountKey());
+				if (wanted == null) {
+					obsolete.add(row);
+					if (row.getObjectCount() != 0) {
+						changed++;
+					}
+				} else if (wanted.getObjectCount() != row.getObjectCount()) {
+					row.setObjectCount(wanted.getObjectCount());
+					changed++;
+				}
+			}
+			this.countCrud.deleteAllInBatch(obsolete);
+			this.countCrud.saveAll(expected.values());
+			return changed + expected.size();
+		});
+		this.corrected.addAndGet(fixed);
+		if (fixed > 0) {
+			logger.warn("Object counts reconciled, groups corrected: " + fixed);
+		}
+		return fixed;
+	}
+
+	public long getCorrectedCount() {
+		return this.corrected.get();
+	}
+
+	@Override
+	public void start() {
+		if (this.running) {
+			return;
+		}
+		this.running = true;
+		this.reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "object-counts-reconciler");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.reconciler.scheduleWithFixedDelay(this::reconcileQuietly, 0, this.reconcileIntervalMillis,
+				TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void stop() {
+		if (!this.running) {
+			return;
+		}
+		this.running = false;
+		this.reconciler.shutdownNow();
+	}
+
+	@Override
+	public boolean isRunning() {
+		return this.running;
+	}
+
+	// Stop before the datasource goes away
+	@Override
+	public int getPhase() {
+		return SmartLifecycle.DEFAULT_PHASE - 4096;
+	}
+
+	private void reconcileQuietly() {
+		try {
+			reconcile();
+		} catch (RuntimeException e) {
+			// keep the schedule alive, the next run tries again
+			logger.error("Object counts reconciliation failed", e);
+		}
+	}
+
+	private void add(Group group, long delta) {
+		if (this.dialect.isPostgres()) {
+			this.countCrud.addPostgres(key(group), group.type(), group.status(), group.active(), group.areaRow(),
+					group.areaCol(), delta);
+		} else {
+			this.countCrud.addH2(key(group), group.type(), group.status(), group.active(), group.areaRow(),
+					group.areaCol(), delta);
+		}
+		if (delta < 0) {
+			this.countCrud.deleteIfEmpty(key(group));
+		}
+	}
+
+	private Group groupOf(String type, String status, boolean active, double lat, double lng) {
+		return new Group(type, status, active, (long) Math.floor(lat / this.areaSizeDegrees),
+				(long) Math.floor(lng / this.areaSizeDegrees));
+	}
+
+	private static String key(Group group) {
+		return ObjectCountEntity.key(group.type(), group.status(), group.active(), group.areaRow(), group.areaCol());
+	}
+
+	// Rounded to 6 decimals (~0.1 m), row * size is not exact in floating point
+	private Location areaCorner(long areaRow, long areaCol) {
+		return new Location(Math.round(areaRow * this.areaSizeDegrees * 1e6) / 1e6,
+				Math.round(areaCol * this.areaSizeDegrees * 1e6) / 1e6);
+	}
+}
@@ -1,15 +1,21 @@
 package aii.logic;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import aii.boundary.ObjectBoundary;
+import aii.boundary.ObjectCountBoundary;
 import aii.data.DistanceUnits;
 
 public interface ObjectsLogic {
+	// Paged methods accept an optional keyset cursor ('after', see PageCursor): when given, the page starts right
+	// after it and 'page' is ignored.
 	
 	// Create new object
     public ObjectBoundary create(String userSystemID, String userEmail, ObjectBoundary objectBoundary);
@@ -18,7 +24,7 @@ public interface ObjectsLogic {
     public ObjectBoundary update(String userSystemID, String userEmail, String objectSystemID, String objectId, ObjectBoundary updatedObject);
 
 	// Get all objects
-    public List<ObjectBoundary> getAllObjects(String userSystemID, String userEmail, int page, int size);
+    public List<ObjectBoundary> getAllObjects(String userSystemID, String userEmail, int page, int size, String after);
 
 	// Get specific object
 	public Optional<ObjectBoundary> getObject(String systemID, String userEmail, String objectSystemID, String objectId);
@@ -27,19 +33,37 @@ public interface ObjectsLogic {
     public void deleteAllObjects(String adminSystemID, String adminEmail);
 
     // Search Objects by exact alias
-    public List<ObjectBoundary> getObjectsByAlias(String userSystemID, String userEmail, String alias, int page, int size);
+    public List<ObjectBoundary> getObjectsByAlias(String userSystemID, String userEmail, String alias, int page, int size, String after);
 
     // Search Objects by alias pattern
-    public List<ObjectBoundary> getObjectsByAliasPattern(String userSystemID, String userEmail, String pattern, int page, int size);
+    public List<ObjectBoundary> getObjectsByAliasPattern(String userSystemID, String userEmail, String pattern, int page, int size, String after);
     
     // Search Objects by type
-    public List<ObjectBoundary> getObjectsByType(String userSystemID, String userEmail, String type, int page, int size);
+    public List<ObjectBoundary> getObjectsByType(String userSystemID, String userEmail, String type, int page, int size, String after);
+
+    // Search Objects whose objectDetails has key = value (e.g. hasEVCharger = true)
+    public List<ObjectBoundary> getObjectsByDetail(String userSystemID, String userEmail, String key, String value, int page, int size, String after);
 
     // Search Objects by type and status
-    public List<ObjectBoundary> getObjectsByTypeAndStatus(String userSystemID, String userEmail, String type, String status, int page, int size);
+    public List<ObjectBoundary> getObjectsByTypeAndStatus(String userSystemID, String userEmail, String type, String status, int page, int size, String after);
+
+    // Search Objects by location, optionally ordered by distance from (lat, lng) instead of creation time
+	public List<ObjectBoundary> getObjectsByLocation(String userSystemID, String userEmail, double lat, double lng, double distance, DistanceUnits distanceUnits, boolean useCircle, boolean sortByDistance, int page, int size, String after);
+
+    // Search the k nearest active objects (optionally of a type / status), nearest first, with their distance
+	public List<ObjectBoundary> getNearestObjects(String userSystemID, String userEmail, double lat, double lng, String type, String status, Double maxDistance, DistanceUnits distanceUnits, int k);
+
+    // The subset of the given combined object ids (id@@systemID) that exist and are active
+	public Set<String> getActiveObjectIds(Collection<String> combinedObjectIds);
+
+    // Receive the status / active changes of objects matching the filters (null = any) until the subscription is cancelled
+	public ObjectChangeFeed.Subscription subscribeToChanges(String userSystemID, String userEmail, String type, String status, Double minLat, Double maxLat, Double minLng, Double maxLng, ObjectChangeFeed.Listener listener);
+
+    // Conflict / retry counters of concurrent object modifications
+	public Map<String, Object> getContentionStats();
 
-    // Search Objects by location
-	public List<ObjectBoundary> getObjectsByLocation(String userSystemID, String userEmail, double lat, double lng, double distance, DistanceUnits distanceUnits, boolean useCircle, int page, int size);
+    // Number of objects per group of the given dimensions (type, status, active, area), from the materialized counts
+	public List<ObjectCountBoundary> getObjectCounts(String userSystemID, String userEmail, List<String> groupBy);
 
 
 }
@@ -1,6 +1,7 @@
 package aii.logic;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.stereotype.Service;
@@ -12,16 +13,31 @@ import org.apache.commons.logging.LogFactory;
 import aii.boundary.CreatedBy;
 import aii.boundary.Location;
 import aii.boundary.ObjectBoundary;
+import aii.boundary.ObjectChangeEvent;
+import aii.boundary.ObjectCountBoundary;
 import aii.boundary.ObjectId;
 import aii.converter.ObjectConverter;
+import aii.dal.DatabaseDialect;
 import aii.dal.ObjectCrud;
+import aii.data.CompositeId;
 import aii.data.DistanceUnits;
+import aii.data.LazyJsonMap;
 import aii.data.ObjectEntity;
+import aii.data.ObjectLocation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -31,17 +47,42 @@ import aii.data.UserRole;
 public class ObjectsLogicImplementation implements ObjectsLogic {
 	private ObjectCrud objectCrud; // Repository for database access
 	private ObjectConverter converter;
-	private final UsersLogic usersLogic;
+	private final PrincipalResolver principalResolver; // Role of the calling user, once per request
+	private final ObjectsSpatialIndex spatialIndex; // In-memory location index, the DB is the fallback
+	private final ContentionCounters contentionCounters; // Lost optimistic-lock races
+	private final DatabaseDialect dialect; // PostgreSQL or H2, for the objectDetails search
+	private final ObjectChangeFeed changeFeed; // Status / active changes pushed to GET /aii/objects/stream
+	private final ObjectOccupancyCounts occupancyCounts; // Materialized counts behind GET /aii/objects/stats
     private final Log logger = LogFactory.getLog(ObjectsLogicImplementation.class); // Logger instance
 
 
 	@Value("${spring.application.name}")
 	private String systemID; // System ID value from application.properties
 
-	public ObjectsLogicImplementation(ObjectCrud objectCrud, ObjectConverter converter, UsersLogic usersLogic) {
+	@Value("${aii.objects.nearest.max-distance-km:50}")
+	private double nearestMaxDistanceKm; // Search radius of the nearest search when the request has no maxDistance
+
+	public static final int MAX_NEAREST = 100; // upper bound for k in the nearest search
+	private static final double NEAREST_FIRST_RADIUS_KM = 1; // first circle of the DB nearest search
+	private static final double NEAREST_RADIUS_GROWTH = 4; // each next circle has this times the radius
+	private static final int DETAIL_CANDIDATES_PER_QUERY = 500; // rows per H2 detail search query
+
+	// Same order as the paged DB searches: creationTimestamp, then objectId
+	private static final Comparator<ObjectLocation> CREATION_ORDER = Comparator
+			.comparing(ObjectLocation::creationTimestamp, Comparator.nullsFirst(Comparator.naturalOrder()))
+			.thenComparing(ObjectLocation::objectId);
+
+	public ObjectsLogicImplementation(ObjectCrud objectCrud, ObjectConverter converter, PrincipalResolver principalResolver,
+			ObjectsSpatialIndex spatialIndex, ContentionCounters contentionCounters, DatabaseDialect dialect,
+			ObjectChangeFeed changeFeed, ObjectOccupancyCounts occupancyCounts) {
 		this.objectCrud = objectCrud;
 		this.converter = converter;
-		this.usersLogic = usersLogic;
+		this.principalResolver = principalResolver;
+		this.spatialIndex = spatialIndex;
+		this.contentionCounters = contentionCounters;
+		this.dialect = dialect;
+		this.changeFeed = changeFeed;
+		this.occupancyCounts = occupancyCounts;
 	}
 
 	// Create new Object
@@ -73,8 +114,14 @@ public class ObjectsLogicImplementation implements ObjectsLogic {
 				// createdBy
 				// field
 				));
-        ObjectBoundary createdObject = this.converter.toBoundary(this.objectCrud.save(this.converter.toEntity(objectBoundary)));
-        logger.info("Object created: " + createdObject); // Log object creation
+        ObjectEntity savedEntity = this.objectCrud.save(this.converter.toEntity(objectBoundary));
+        this.spatialIndex.put(savedEntity);
+        this.occupancyCounts.added(savedEntity);
+        ObjectBoundary createdObject = this.converter.toBoundary(savedEntity);
+        this.changeFeed.publish(ObjectChangeEvent.of(createdObject, null));
+        if (logger.isDebugEnabled()) {
+            logger.debug("Object created: " + createdObject); // Log object creation
+        }
 
 		// Convert to ObjectEntity, save the new object entity in the database, convert back to UserBoundary and return
 		return createdObject;
@@ -96,10 +143,45 @@ public class ObjectsLogicImplementation implements ObjectsLogic {
 		UserRole role = validateUserRoleAndDB(systemID, userEmail); // validate user role and check it exist in DB
 		String combinedId = generateId(objectId, objectSystemID); // create the object id
 		
-        logger.info("Object retrieved: " + this.objectCrud.findById(combinedId).filter(entity -> filterByRole(entity, role)).map(this.converter::toBoundary)); // Log object retrieval
-		return this.objectCrud.findById(combinedId) // find in DB, filter: if the object inactive and the role is
-				// END_USER: exception
+		Optional<ObjectBoundary> object = this.objectCrud.findById(combinedId) // find in DB, filter: if the object
+				// inactive and the role is END_USER: exception
 				.filter(entity -> filterByRole(entity, role)).map(this.converter::toBoundary);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Object retrieved: " + object); // Log object retrieval
+        }
+		return object;
+	}
+
+	// dashboard counts: END_USER only counts active objects (and cannot group by active)
+	@Override
+	@Transactional(readOnly = true)
+	public List<ObjectCountBoundary> getObjectCounts(String userSystemID, String userEmail, List<String> groupBy) {
+		UserRole role = validateUserRoleAndDB(userSystemID, userEmail);
+		Set<String> dimensions = new HashSet<>((groupBy == null || groupBy.isEmpty()) ? List.of("type", "status")
+				: groupBy);
+		if (!ObjectOccupancyCounts.DIMENSIONS.containsAll(dimensions)) {
+			throw new InvalidInputException("groupBy must be some of " + ObjectOccupancyCounts.DIMENSIONS + ".");
+		}
+		if (role == UserRole.END_USER) {
+			dimensions.remove("active");
+		}
+		return this.occupancyCounts.counts(dimensions, role == UserRole.END_USER);
+	}
+
+	// optimistic locking counters (object updates and spot status commands)
+	@Override
+	public Map<String, Object> getContentionStats() {
+		return this.contentionCounters.snapshot();
+	}
+
+	// check many targets at once (used by the batch command ingestion)
+	@Override
+	@Transactional(readOnly = true)
+	public Set<String> getActiveObjectIds(Collection<String> combinedObjectIds) {
+		if (combinedObjectIds.isEmpty()) {
+			return Set.of();
+		}
+		return new HashSet<>(this.objectCrud.findActiveObjectIds(combinedObjectIds));
 	}
 
 	// update object
@@ -123,6 +205,9 @@ public class ObjectsLogicImplementation implements ObjectsLogic {
 		String combinedId = generateId(objectId, objectSystemID);
 		ObjectEntity entity = objectCrud.findById(combinedId)
 				.orElseThrow(() -> new NotFoundException("Object not found or invalid systemID"));
+		String previousStatus = entity.getStatus();
+		boolean previousActive = entity.isActive();
+		ObjectOccupancyCounts.Group previousGroup = this.occupancyCounts.groupOf(entity);
 
 		// Update allowed fields - only if they contain non-default values
 		if (updatedObject.getType() != null && !updatedObject.getType().trim().isEmpty()
@@ -155,36 +240,80 @@ public class ObjectsLogicImplementation implements ObjectsLogic {
 			entity.setObjectDetails(updatedObject.getObjectDetails());
 		}
 
-		// Save the updated object entity in the database
-		this.objectCrud.save(entity);
+		// Save the updated object entity in the database - versioned: a concurrent change makes this update fail
+		try {
+			entity = this.objectCrud.saveAndFlush(entity);
+		} catch (OptimisticLockingFailureException e) {
+			this.contentionCounters.conflict();
+			throw new ConflictException("Object was changed concurrently, please retry.", e);
+		}
+		this.spatialIndex.put(entity);
+		this.occupancyCounts.moved(previousGroup, entity);
+		ObjectBoundary updated = this.converter.toBoundary(entity);
+		if (!Objects.equals(previousStatus, entity.getStatus()) || previousActive != entity.isActive()) {
+			this.changeFeed.publish(ObjectChangeEvent.of(updated, previousStatus));
+		}
 		
-        logger.info("Object updated: " + this.converter.toBoundary(entity)); // Log object update
+        if (logger.isDebugEnabled()) {
+            logger.debug("Object updated: " + updated); // Log object update
+        }
+
 
+		return updated;
+	}
+
+	// open a change stream; the role is checked once, END_USER only receives active objects
+	@Override
+	public ObjectChangeFeed.Subscription subscribeToChanges(String userSystemID, String userEmail, String type,
+			String status, Double minLat, Double maxLat, Double minLng, Double maxLng,
+			ObjectChangeFeed.Listener listener) {
+		UserRole role = validateUserRoleAndDB(userSystemID, userEmail);
 
-		return this.converter.toBoundary(entity);
+		Predicate<ObjectChangeEvent> filter = event -> true;
+		if (role == UserRole.END_USER) {
+			filter = filter.and(ObjectChangeEvent::isActive);
+		}
+		if (type != null && !type.isBlank()) {
+			filter = filter.and(event -> type.equals(event.getType()));
+		}
+		if (status != null && !status.isBlank()) {
+			filter = filter.and(event -> status.equals(event.getStatus()));
+		}
+		boolean anyBound = minLat != null || maxLat != null || minLng != null || maxLng != null;
+		if (anyBound) {
+			if (minLat == null || maxLat == null || minLng == null || maxLng == null) {
+				throw new InvalidInputException("minLat, maxLat, minLng and maxLng must be given together.");
+			}
+			if (minLat > maxLat || minLat < -90 || maxLat > 90 || minLng < -180 || maxLng > 180) {
+				throw new InvalidInputException("Invalid geographic box.");
+			}
+			filter = filter.and(event -> inBox(event, minLat, maxLat, minLng, maxLng));
+		}
+		return this.changeFeed.subscribe(filter, listener);
 	}
 
 	// get all objects
 	@Override
 	@Transactional(readOnly = true)
-	public List<ObjectBoundary> getAllObjects(String userSystemID, String userEmail, int page, int size) {
+	public List<ObjectBoundary> getAllObjects(String userSystemID, String userEmail, int page, int size, String after) {
+		PageCursor cursor = PageCursor.decode(after);
 		UserRole role = validateUserRoleAndDB(systemID, userEmail); // validate user role and check it exist in DB
 		Boolean activeFilter = (role == UserRole.END_USER) ? true : null;
 
-		List<ObjectBoundary> objects = this.objectCrud
-				.findAllByActive(activeFilter,
+		List<ObjectEntity> entities = cursor == null
+				? this.objectCrud.findAllByActive(activeFilter,
 						PageRequest.of(page, size, Direction.DESC, "creationTimestamp", "objectId"))
+				: this.objectCrud.findAllByActiveSeek(activeFilter, cursor.timestamp(), cursor.id(),
+						PageRequest.of(0, size, Direction.DESC, "creationTimestamp", "objectId"));
+		List<ObjectBoundary> objects = entities
 				.stream().map(this.converter::toBoundary) // Convert entities to boundary objects
 				.toList();
 		
-        logger.info("Retrieved all objects, total count: " + objects.size()); // Log all objects retrieval
+        if (logger.isDebugEnabled()) {
+            logger.debug("Retrieved all objects, total count: " + objects.size()); // Log all objects retrieval
+        }
 
-		
-		return this.objectCrud
-				.findAllByActive(activeFilter,
-						PageRequest.of(page, size, Direction.DESC, "creationTimestamp", "objectId"))
-				.stream().map(this.converter::toBoundary) // Convert entities to boundary objects
-				.toList();
+		return objects;
 	}
 
 	// Delete all objects
@@ -199,11 +328,13 @@ public class ObjectsLogicImplementation implements ObjectsLogic {
 			throw new InvalidInputException("UserEmail cannot be null or empty.");
 		}
 		// check if the user exist in DB and get its role
-		UserRole userRole = usersLogic.getUserRole(adminSystemID, adminEmail);
+		UserRole userRole = principalResolver.resolveRole(adminSystemID, adminEmail);
 		if (userRole != UserRole.ADMIN)
 			throw new ForbiddenAccessException("Only ADMIN users can delete all objects.");
 
 		this.objectCrud.deleteAll();
+		this.spatialIndex.clear();
+		this.occupancyCounts.cleared();
 		logger.warn("All objects deleted!"); // Log all objects deletion
 	}
 
@@ -211,7 +342,8 @@ public class ObjectsLogicImplementation implements ObjectsLogic {
 	@Override
 	@Transactional(readOnly = true)
 	public List<ObjectBoundary> getObjectsByAlias(String userSystemID, String userEmail, String alias, int page,
-			int size) {
+			int size, String after) {
+		PageCursor cursor = PageCursor.decode(after);
 		if (alias == null || alias.trim().isEmpty()) {
 			throw new InvalidInputException("alias cannot be null or empty.");
 		}
@@ -219,17 +351,19 @@ public class ObjectsLogicImplementation implements ObjectsLogic {
 		UserRole role = validateUserRoleAndDB(userSystemID, userEmail);
 		Boolean activeFilter = (role == UserRole.END_USER) ? true : null;
 
-		return this.objectCrud
-				.findByAlias(alias, activeFilter,
-						PageRequest.of(page, size, Direction.ASC, "creationTimestamp", "objectId"))
-				.stream().map(this.converter::toBoundary).collect(Collectors.toList());
+		List<ObjectEntity> entities = cursor == null
+				? this.objectCrud.findByAlias(alias, activeFilter, creationOrder(page, size))
+				: this.objectCrud.findByAliasSeek(alias, activeFilter, cursor.timestamp(), cursor.id(),
+						creationOrder(0, size));
+		return entities.stream().map(this.converter::toBoundary).collect(Collectors.toList());
 	}
 
 	// Search Objects by alias pattern with pagination support
 	@Override
 	@Transactional(readOnly = true)
 	public List<ObjectBoundary> getObjectsByAliasPattern(String userSystemID, String userEmail, String pattern,
-			int page, int size) {
+			int page, int size, String after) {
+		PageCursor cursor = PageCursor.decode(after);
 		if (pattern == null || pattern.trim().isEmpty()) {
 			throw new InvalidInputException("pattern cannot be null or empty.");
 		}
@@ -237,17 +371,19 @@ public class ObjectsLogicImplementation implements ObjectsLogic {
 		UserRole role = validateUserRoleAndDB(userSystemID, userEmail);
 		Boolean activeFilter = (role == UserRole.END_USER) ? true : null;
 
-		return this.objectCrud
-				.findByAliasLike("%" + pattern + "%", activeFilter,
-						PageRequest.of(page, size, Direction.ASC, "creationTimestamp", "objectId"))
-				.stream().map(this.converter::toBoundary).collect(Collectors.toList());
+		List<ObjectEntity> entities = cursor == null
+				? this.objectCrud.findByAliasLike("%" + pattern + "%", activeFilter, creationOrder(page, size))
+				: this.objectCrud.findByAliasLikeSeek("%" + pattern + "%", activeFilter, cursor.timestamp(),
+						cursor.id(), creationOrder(0, size));
+		return entities.stream().map(this.converter::toBoundary).collect(Collectors.toList());
 	}
 
 	// Search Objects by type with pagination support
 	@Override
 	@Transactional(readOnly = true)
 	public List<ObjectBoundary> getObjectsByType(String userSystemID, String userEmail, String type, int page,
-			int size) {
+			int size, String after) {
+		PageCursor cursor = PageCursor.decode(after);
 		if (type == null || type.trim().isEmpty()) {
 			throw new InvalidInputException("type cannot be null or empty.");
 		}
@@ -255,17 +391,74 @@ public class ObjectsLogicImplementation implements ObjectsLogic {
 		UserRole role = validateUserRoleAndDB(userSystemID, userEmail);
 		Boolean activeFilter = (role == UserRole.END_USER) ? true : null;
 
-		return this.objectCrud
-				.findByType(type, activeFilter,
-						PageRequest.of(page, size, Direction.ASC, "creationTimestamp", "objectId"))
-				.stream().map(this.converter::toBoundary).collect(Collectors.toList());
+		List<ObjectEntity> entities = cursor == null
+				? this.objectCrud.findByType(type, activeFilter, creationOrder(page, size))
+				: this.objectCrud.findByTypeSeek(type, activeFilter, cursor.timestamp(), cursor.id(),
+						creationOrder(0, size));
+		return entities.stream().map(this.converter::toBoundary).collect(Collectors.toList());
+	}
+
+	// Search Objects by a single objectDetails key / value, filtered in the database
+	@Override
+	@Transactional(readOnly = true)
+	public List<ObjectBoundary> getObjectsByDetail(String userSystemID, String userEmail, String key, String value,
+			int page, int size, String after) {
+		PageCursor cursor = PageCursor.decode(after);
+		if (key == null || key.trim().isEmpty() || value == null) {
+			throw new InvalidInputException("detail key / value cannot be null or empty.");
+		}
+		UserRole role = validateUserRoleAndDB(userSystemID, userEmail);
+		Boolean activeFilter = (role == UserRole.END_USER) ? true : null;
+
+		// {"key": value} with the value typed like JSON would (true / 2 / "text")
+		String pair = LazyJsonMap.of(Map.of(key, detailValue(value))).json();
+		PageRequest pageRequest = PageRequest.of(cursor == null ? page : 0, size);
+		Date afterTimestamp = cursor == null ? null : cursor.timestamp();
+		String afterId = cursor == null ? null : cursor.id();
+
+		List<ObjectEntity> entities = this.dialect.isPostgres()
+				? this.objectCrud.findByDetailsContaining(pair, activeFilter, afterTimestamp, afterId, pageRequest)
+				: findByTopLevelDetail(key, pair, activeFilter, afterTimestamp, afterId, pageRequest);
+		return entities.stream().map(this.converter::toBoundary).collect(Collectors.toList());
+	}
+
+	// H2 has no jsonb: the text pattern also finds the pair inside nested objects, so its rows are only candidates,
+	// read in creation order and kept when the pair is a top-level member - the rows @> returns on PostgreSQL
+	private List<ObjectEntity> findByTopLevelDetail(String key, String pair, Boolean activeFilter, Date afterTimestamp,
+			String afterId, PageRequest pageRequest) {
+		String pattern = Pattern.quote(pair.substring(1, pair.length() - 1)) + "[,}]";
+		long skip = pageRequest.getOffset();
+		List<ObjectEntity> matches = new ArrayList<>();
+		List<ObjectEntity> candidates;
+		do {
+			candidates = this.objectCrud.findByDetailsTextMatching(pattern, activeFilter, afterTimestamp, afterId,
+					PageRequest.of(0, DETAIL_CANDIDATES_PER_QUERY));
+			for (ObjectEntity candidate : candidates) {
+				Object found = candidate.getObjectDetails().get(key);
+				if (found == null || !LazyJsonMap.of(Map.of(key, found)).json().equals(pair)) {
+					continue;
+				}
+				if (skip > 0) {
+					skip--;
+				} else if (matches.size() < pageRequest.getPageSize()) {
+					matches.add(candidate);
+				}
+			}
+			if (!candidates.isEmpty()) {
+				ObjectEntity last = candidates.get(candidates.size() - 1);
+				afterTimestamp = last.getCreationTimestamp();
+				afterId = last.getId();
+			}
+		} while (matches.size() < pageRequest.getPageSize() && candidates.size() == DETAIL_CANDIDATES_PER_QUERY);
+		return matches;
 	}
 
 	// Search Objects by type and status with pagination support
 	@Override
 	@Transactional(readOnly = true)
 	public List<ObjectBoundary> getObjectsByTypeAndStatus(String userSystemID, String userEmail, String type,
-			String status, int page, int size) {
+			String status, int page, int size, String after) {
+		PageCursor cursor = PageCursor.decode(after);
 		if (type == null || type.trim().isEmpty() || status == null || status.trim().isEmpty()) {
 			throw new InvalidInputException("type / status cannot be null or empty.");
 		}
@@ -273,10 +466,11 @@ public class ObjectsLogicImplementation implements ObjectsLogic {
 		UserRole role = validateUserRoleAndDB(userSystemID, userEmail);
 		Boolean activeFilter = (role == UserRole.END_USER) ? true : null;
 
-		return this.objectCrud
-				.findByTypeAndStatus(type, status, activeFilter,
-						PageRequest.of(page, size, Direction.ASC, "creationTimestamp", "objectId"))
-				.stream().map(this.converter::toBoundary).collect(Collectors.toList());
+		List<ObjectEntity> entities = cursor == null
+				? this.objectCrud.findByTypeAndStatus(type, status, activeFilter, creationOrder(page, size))
+				: this.objectCrud.findByTypeAndStatusSeek(type, status, activeFilter, cursor.timestamp(), cursor.id(),
+						creationOrder(0, size));
+		return entities.stream().map(this.converter::toBoundary).collect(Collectors.toList());
 
 	}
 
@@ -284,7 +478,11 @@ public class ObjectsLogicImplementation implements ObjectsLogic {
 	@Override
 	@Transactional(readOnly = true)
 	public List<ObjectBoundary> getObjectsByLocation(String userSystemID, String userEmail, double lat, double lng,
-			double distance, DistanceUnits distanceUnits, boolean useCircle, int page, int size) {
+			double distance, DistanceUnits distanceUnits, boolean useCircle, boolean sortByDistance, int page, int size,
+			String after) {
+		PageCursor cursor = PageCursor.decode(after);
+		if (cursor != null && sortByDistance)
+			throw new InvalidInputException("A page cursor cannot be combined with sortByDistance.");
 		// VERIFY THE PARAMAETERS
 		if (distance <= 0)
 			throw new InvalidInputException("Distance must be positive!");
@@ -300,22 +498,178 @@ public class ObjectsLogicImplementation implements ObjectsLogic {
 		// Convert distance to kilometers if necessary
 		double distanceInKm = convertToKilometers(distance, distanceUnits);
 
+		// Results are ordered by creation time, or by distance from (lat, lng) when requested
+		Comparator<ObjectLocation> order = sortByDistance
+				? Comparator.comparingDouble((ObjectLocation o) -> GeoDistance.haversineKm(lat, lng, o.lat(), o.lng()))
+						.thenComparing(CREATION_ORDER)
+				: CREATION_ORDER;
+
 		if (useCircle) {
-			// Use circle search (bonus implementation)
-			return this.objectCrud.findObjectsInCircle(lat, lng, distanceInKm, // Pass the converted distance
-					activeFilter, PageRequest.of(page, size, Direction.ASC, "creationTimestamp", "objectId")).stream()
-					.map(this.converter::toBoundary).collect(Collectors.toList());
+			// Serve from the in-memory index when possible
+			Optional<List<ObjectLocation>> indexed = this.spatialIndex.findInCircle(lat, lng, distanceInKm, activeFilter);
+			if (indexed.isPresent()) {
+				return loadIndexedPage(indexed.get(), order, cursor, page, size);
+			}
+
+			// Use circle search (bonus implementation): indexed bounding box first, then the exact distance
+			double latDelta = GeoDistance.latDelta(distanceInKm);
+			double lngDelta = GeoDistance.circleLngDelta(lat, distanceInKm);
+			double minLat = Math.max(-90, lat - latDelta);
+			double maxLat = Math.min(90, lat + latDelta);
+			double minLng = lng - lngDelta;
+			double maxLng = lng + lngDelta;
+			if (minLng < -180 || maxLng > 180) {
+				// the circle crosses the antimeridian: only the latitude band can be prefiltered
+				minLng = -180;
+				maxLng = 180;
+			}
+
+			List<ObjectEntity> entities;
+			if (sortByDistance) {
+				entities = this.objectCrud.findObjectsInCircleOrderByDistance(lat, lng, distanceInKm, // Pass the converted distance
+						minLat, maxLat, minLng, maxLng, activeFilter, PageRequest.of(page, size));
+			} else if (cursor != null) {
+				entities = this.objectCrud.findObjectsInCircleSeek(lat, lng, distanceInKm, minLat, maxLat, minLng,
+						maxLng, activeFilter, cursor.timestamp(), cursor.id(), creationOrder(0, size));
+			} else {
+				entities = this.objectCrud.findObjectsInCircle(lat, lng, distanceInKm, // Pass the converted distance
+						minLat, maxLat, minLng, maxLng, activeFilter, creationOrder(page, size));
+			}
+			return entities.stream().map(this.converter::toBoundary).collect(Collectors.toList());
 		} else {
 			// Use box search (basic implementation)
 			// Calculate the lat/lng deltas (approximate)
-			double latDelta = distanceInKm / 111.0; // 1 degree latitude ≈ 111 km
-			double lngDelta = distanceInKm / (111.0 * Math.cos(Math.toRadians(lat)));
+			double latDelta = GeoDistance.latDelta(distanceInKm);
+			double lngDelta = GeoDistance.lngDelta(lat, distanceInKm);
+
+			Optional<List<ObjectLocation>> indexed = this.spatialIndex.findInBox(lat - latDelta, lat + latDelta,
+					lng - lngDelta, lng + lngDelta, activeFilter);
+			if (indexed.isPresent()) {
+				return loadIndexedPage(indexed.get(), order, cursor, page, size);
+			}
+
+			List<ObjectEntity> entities;
+			if (sortByDistance) {
+				entities = this.objectCrud.findObjectsInBoxOrderByDistance(lat, lng, lat - latDelta, lat + latDelta,
+						lng - lngDelta, lng + lngDelta, activeFilter, PageRequest.of(page, size));
+			} else if (cursor != null) {
+				entities = this.objectCrud.findObjectsInBoxSeek(lat - latDelta, lat + latDelta, lng - lngDelta,
+						lng + lngDelta, activeFilter, cursor.timestamp(), cursor.id(), creationOrder(0, size));
+			} else {
+				entities = this.objectCrud.findObjectsInBox(lat - latDelta, lat + latDelta, lng - lngDelta,
+						lng + lngDelta, activeFilter, creationOrder(page, size));
+			}
+			return entities.stream().map(this.converter::toBoundary).collect(Collectors.toList());
+		}
+	}
 
-			return this.objectCrud
-					.findObjectsInBox(lat - latDelta, lat + latDelta, lng - lngDelta, lng + lngDelta, activeFilter,
-							PageRequest.of(page, size, Direction.ASC, "creationTimestamp", "objectId"))
-					.stream().map(this.converter::toBoundary).collect(Collectors.toList());
+	// Search the k nearest active objects -> ring-expanding search on the index, ordered DB query as fallback
+	@Override
+	@Transactional(readOnly = true)
+	public List<ObjectBoundary> getNearestObjects(String userSystemID, String userEmail, double lat, double lng,
+			String type, String status, Double maxDistance, DistanceUnits distanceUnits, int k) {
+		// VERIFY THE PARAMETERS
+		if (k < 1 || k > MAX_NEAREST)
+			throw new InvalidInputException("k must be between 1 and " + MAX_NEAREST);
+		if (maxDistance != null && maxDistance <= 0)
+			throw new InvalidInputException("Distance must be positive!");
+		if (lat < -90 || lat > 90)
+			throw new InvalidInputException("Latitude must be between -90 and 90");
+		if (lng < -180 || lng > 180)
+			throw new InvalidInputException("Longtitude must be between -180 and 180");
+		String typeFilter = (type == null || type.trim().isEmpty()) ? null : type.trim();
+		String statusFilter = (status == null || status.trim().isEmpty()) ? null : status.trim();
+
+		validateUserRoleAndDB(userSystemID, userEmail);
+
+		// without a maxDistance the search stops at nearest.max-distance-km: a sparse filter (the nearest FREE spot
+		// of a full lot) must not end in a sort of every object by distance
+		double maxDistanceInKm = maxDistance == null ? this.nearestMaxDistanceKm
+				: convertToKilometers(maxDistance, distanceUnits);
+		double kmPerUnit = convertToKilometers(1, distanceUnits);
+
+		Optional<List<ObjectsSpatialIndex.Neighbour>> indexed = this.spatialIndex.findNearest(lat, lng, k,
+				maxDistanceInKm,
+				location -> location.active()
+						&& (typeFilter == null || typeFilter.equals(location.type()))
+						&& (statusFilter == null || statusFilter.equals(location.status())));
+		if (indexed.isPresent()) {
+			List<String> ids = indexed.get().stream().map(neighbour -> neighbour.location().objectId()).toList();
+			Map<String, ObjectEntity> entities = ids.isEmpty() ? Map.of()
+					: this.objectCrud.findAllById(ids).stream()
+							.collect(Collectors.toMap(ObjectEntity::getId, Function.identity()));
+			return indexed.get().stream()
+					.filter(neighbour -> entities.containsKey(neighbour.location().objectId()))
+					.map(neighbour -> withDistance(entities.get(neighbour.location().objectId()),
+							neighbour.distanceInKm() / kmPerUnit))
+					.collect(Collectors.toList());
+		}
+
+		// Fallback: growing circles, each a bounding box + Haversine ordered by distance and limited to k rows.
+		// Once a circle holds k objects they are the k nearest: anything outside is farther.
+		List<ObjectEntity> nearest;
+		double radiusInKm = Math.min(NEAREST_FIRST_RADIUS_KM, maxDistanceInKm);
+		while (true) {
+			nearest = findNearestInCircle(lat, lng, radiusInKm, typeFilter, statusFilter, k);
+			if (nearest.size() == k || radiusInKm >= maxDistanceInKm) {
+				break;
+			}
+			radiusInKm = Math.min(radiusInKm * NEAREST_RADIUS_GROWTH, maxDistanceInKm);
 		}
+		return nearest.stream()
+				.map(entity -> withDistance(entity,
+						GeoDistance.haversineKm(lat, lng, entity.getLat(), entity.getLng()) / kmPerUnit))
+				.collect(Collectors.toList());
+	}
+
+	// The k nearest active objects within the circle, nearest first
+	private List<ObjectEntity> findNearestInCircle(double lat, double lng, double radiusInKm, String type,
+			String status, int k) {
+		double latDelta = GeoDistance.latDelta(radiusInKm);
+		double lngDelta = GeoDistance.circleLngDelta(lat, radiusInKm);
+		double minLng = -180, maxLng = 180;
+		if (lng - lngDelta >= -180 && lng + lngDelta <= 180) {
+			minLng = lng - lngDelta;
+			maxLng = lng + lngDelta;
+		}
+		return this.objectCrud.findNearestActive(lat, lng, radiusInKm, Math.max(-90, lat - latDelta),
+				Math.min(90, lat + latDelta), minLng, maxLng, type, status, PageRequest.of(0, k));
+	}
+
+	// Convert to boundary and attach the distance from the search point
+	private ObjectBoundary withDistance(ObjectEntity entity, double distance) {
+		ObjectBoundary boundary = this.converter.toBoundary(entity);
+		boundary.setDistance(distance);
+		return boundary;
+	}
+
+	// Page the index matches in the requested order, then load only that page by id.
+	// With a cursor the page starts right after it (creation order only).
+	private List<ObjectBoundary> loadIndexedPage(List<ObjectLocation> matches, Comparator<ObjectLocation> order,
+			PageCursor cursor, int page, int size) {
+		if (page < 0 || size < 1) {
+			throw new InvalidInputException("page must not be negative and size must be positive.");
+		}
+		ObjectLocation cursorPosition = cursor == null ? null
+				: new ObjectLocation(cursor.id(), 0, 0, false, cursor.timestamp(), null, null);
+		List<String> pageIds = matches.stream()
+				.filter(location -> cursorPosition == null || CREATION_ORDER.compare(location, cursorPosition) > 0)
+				.sorted(order)
+				.skip(cursor == null ? (long) page * size : 0).limit(size)
+				.map(ObjectLocation::objectId)
+				.toList();
+		if (pageIds.isEmpty()) {
+			return List.of();
+		}
+		Map<String, ObjectEntity> entities = this.objectCrud.findAllById(pageIds).stream()
+				.collect(Collectors.toMap(ObjectEntity::getId, Function.identity()));
+		return pageIds.stream().map(entities::get).filter(Objects::nonNull) // may have been deleted meanwhile
+				.map(this.converter::toBoundary).collect(Collectors.toList());
+	}
+
+	// Ascending (creationTimestamp, objectId) page request used by the searches
+	private static PageRequest creationOrder(int page, int size) {
+		return PageRequest.of(page, size, Direction.ASC, "creationTimestamp", "objectId");
 	}
 
 	// Validate user: check if the user exist in DB and get its role
@@ -327,7 +681,7 @@ public class ObjectsLogicImplementation implements ObjectsLogic {
 			throw new InvalidInputException("UserEmail cannot be null or empty.");
 		}
 		// check if the user exist in DB and get its role
-		UserRole userRole = usersLogic.getUserRole(userSystemID, userEmail);
+		UserRole userRole = principalResolver.resolveRole(userSystemID, userEmail);
 		// ADMIN: cannot do anything on objects
 		if (userRole == UserRole.ADMIN) {
 			throw new ForbiddenAccessException("ADMIN users are not allowed to perform operations on OBJECT.");
@@ -344,9 +698,32 @@ public class ObjectsLogicImplementation implements ObjectsLogic {
 		return true;
 	}
 
+	// minLng > maxLng is a box crossing the antimeridian
+	private boolean inBox(ObjectChangeEvent event, double minLat, double maxLat, double minLng, double maxLng) {
+		if (event.getLocation() == null) {
+			return false;
+		}
+		double lat = event.getLocation().getLat();
+		double lng = event.getLocation().getLng();
+		boolean inLng = minLng <= maxLng ? lng >= minLng && lng <= maxLng : lng >= minLng || lng <= maxLng;
+		return lat >= minLat && lat <= maxLat && inLng;
+	}
+
 	// Helper method to generate Id
 	private String generateId(String id, String systemID) {
-		return id + "@@" + systemID;
+		return CompositeId.combine(id, systemID);
+	}
+
+	// Request parameter -> JSON typed detail value
+	private Object detailValue(String value) {
+		if (value.equals("true") || value.equals("false")) {
+			return Boolean.valueOf(value);
+		}
+		try {
+			return value.contains(".") ? (Object) Double.valueOf(value) : (Object) Long.valueOf(value);
+		} catch (NumberFormatException e) {
+			return value;
+		}
 	}
 
 	// Helper method to check if objectDetails contains default values
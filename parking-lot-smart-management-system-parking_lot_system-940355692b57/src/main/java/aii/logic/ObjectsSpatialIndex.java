@@ -0,0 +1,369 @@
+package aii.logic;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import aii.dal.ObjectCrud;
+import aii.data.ObjectEntity;
+import aii.data.ObjectLocation;
+
+// In-memory grid index over the coordinates of all objects.
+// Every object is registered in the cell that contains its (lat, lng); a radius or box query only
+// visits the cells overlapping the search area instead of scanning the OBJECTS table.
+// The database stays the source of truth: the index is rebuilt from it at startup and every refresh-interval, so
+// rows written by another instance or outside the logic show up; callers fall back to the database queries while
+// the index is not ready or the area is too large. Changes committed while a rebuild reads OBJECTS are replayed
+// onto the rebuilt grid before it replaces the current one.
+@Component
+public class ObjectsSpatialIndex implements SmartLifecycle {
+	private final ObjectCrud objectCrud;
+	private final boolean enabled;
+	private final double cellSizeDegrees;
+	private final long maxCellsPerQuery;
+	private final long refreshIntervalMillis;
+	private final Log logger = LogFactory.getLog(ObjectsSpatialIndex.class); // Logger instance
+
+	private volatile Grid grid = new Grid();
+	private volatile boolean ready;
+	private List<Consumer<Grid>> replay; // changes committed during a rebuild, guarded by the monitor
+	private final Object rebuildLock = new Object(); // one rebuild at a time
+	private volatile boolean running;
+	private ScheduledExecutorService refresher;
+
+	public ObjectsSpatialIndex(ObjectCrud objectCrud,
+			@Value("${aii.spatial-index.enabled:true}") boolean enabled,
+			@Value("${aii.spatial-index.cell-size-degrees:0.01}") double cellSizeDegrees,
+			@Value("${aii.spatial-index.max-cells-per-query:40000}") long maxCellsPerQuery,
+			@Value("${aii.spatial-index.refresh-interval-ms:300000}") long refreshIntervalMillis) {
+		if (cellSizeDegrees <= 0 || refreshIntervalMillis < 1) {
+			throw new IllegalArgumentException(
+					"aii.spatial-index cell-size-degrees and refresh-interval-ms must be positive");
+		}
+		this.objectCrud = objectCrud;
+		this.enabled = enabled;
+		this.cellSizeDegrees = cellSizeDegrees;
+		this.maxCellsPerQuery = maxCellsPerQuery;
+		this.refreshIntervalMillis = refreshIntervalMillis;
+	}
+
+	// The indexed objects and the cells that hold them, replaced as a whole by a rebuild
+	private record Grid(Map<String, ObjectLocation> objects, Map<Long, Set<String>> cells) {
+
+		Grid() {
+			this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>()); // objectId -> indexed columns, cell key -> objectIds
+		}
+	}
+
+	// Load all object locations from the database into a new grid, then swap it in
+	public void rebuild() {
+		if (!this.enabled) {
+			return;
+		}
+		synchronized (this.rebuildLock) {
+			synchronized (this) {
+				this.replay = new ArrayList<>();
+			}
+			try {
+				List<ObjectLocation> locations = this.objectCrud.findAllLocations();
+				Grid rebuilt = new Grid();
+				locations.forEach(location -> putNow(rebuilt, location));
+				synchronized (this) {
+					this.replay.forEach(change -> change.accept(rebuilt)); // committed after / during the read
+					this.grid = rebuilt;
+					this.ready = true;
+				}
+				if (logger.isDebugEnabled()) {
+					logger.debug("Spatial index rebuilt, total objects: " + rebuilt.objects().size());
+				}
+			} finally {
+				synchronized (this) {
+					this.replay = null;
+				}
+			}
+		}
+	}
+
+	public boolean isReady() {
+		return this.enabled && this.ready;
+	}
+
+	// Register (or move) an object once the current transaction commits
+	public void put(ObjectEntity entity) {
+		if (!this.enabled) {
+			return;
+		}
+		ObjectLocation location = ObjectLocation.of(entity);
+		TransactionHooks.afterCommit(() -> apply(grid -> putNow(grid, location)));
+	}
+
+	// Drop every object once the current transaction commits
+	public void clear() {
+		if (!this.enabled) {
+			return;
+		}
+		TransactionHooks.afterCommit(() -> apply(grid -> {
+			grid.objects().clear();
+			grid.cells().clear();
+		}));
+	}
+
+	// Apply a committed change to the current grid, and to the one being rebuilt if any
+	private synchronized void apply(Consumer<Grid> change) {
+		change.accept(this.grid);
+		if (this.replay != null) {
+			this.replay.add(change);
+		}
+	}
+
+	@Override
+	public void start() {
+		if (this.running || !this.enabled) {
+			return;
+		}
+		this.running = true;
+		this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "spatial-index-refresher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.refresher.scheduleWithFixedDelay(this::rebuildQuietly, 0, this.refreshIntervalMillis,
+				TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void stop() {
+		if (!this.running) {
+			return;
+		}
+		this.running = false;
+		this.refresher.shutdownNow();
+	}
+
+	@Override
+	public boolean isRunning() {
+		return this.running;
+	}
+
+	// Stop before the datasource goes away
+	@Override
+	public int getPhase() {
+		return SmartLifecycle.DEFAULT_PHASE - 4096;
+	}
+
+	private void rebuildQuietly() {
+		try {
+			rebuild();
+		} catch (RuntimeException e) {
+			// keep the schedule alive and the previous grid in use, the next run tries again
+			logger.error("Spatial index rebuild failed", e);
+		}
+	}
+
+	// Objects inside the box, or empty when the index cannot answer (caller should query the database)
+	public Optional<List<ObjectLocation>> findInBox(double minLat, double maxLat, double minLng, double maxLng,
+			Boolean active) {
+		if (!canServe(minLat, maxLat, minLng, maxLng)) {
+			return Optional.empty();
+		}
+		List<ObjectLocation> result = new ArrayList<>();
+		forEachInCells(this.grid, minLat, maxLat, minLng, maxLng, location -> {
+			if (location.lat() >= minLat && location.lat() <= maxLat
+					&& location.lng() >= minLng && location.lng() <= maxLng
+					&& matchesActive(location, active)) {
+				result.add(location);
+			}
+		});
+		return Optional.of(result);
+	}
+
+	// Objects within the given great-circle distance, or empty when the index cannot answer
+	public Optional<List<ObjectLocation>> findInCircle(double lat, double lng, double distanceInKm, Boolean active) {
+		double latDelta = GeoDistance.latDelta(distanceInKm);
+		double lngDelta = GeoDistance.circleLngDelta(lat, distanceInKm);
+		double minLat = Math.max(-90, lat - latDelta);
+		double maxLat = Math.min(90, lat + latDelta);
+		if (!canServe(minLat, maxLat, lng - lngDelta, lng + lngDelta)) {
+			return Optional.empty();
+		}
+		List<ObjectLocation> result = new ArrayList<>();
+		forEachInCells(this.grid, minLat, maxLat, lng - lngDelta, lng + lngDelta, location -> {
+			if (matchesActive(location, active)
+					&& GeoDistance.haversineKm(lat, lng, location.lat(), location.lng()) <= distanceInKm) {
+				result.add(location);
+			}
+		});
+		return Optional.of(result);
+	}
+
+	// The k objects nearest to (lat, lng) that match the filter, nearest first.
+	// Expands square rings of cells around the center and stops as soon as the k-th best candidate is
+	// closer than anything outside the rings scanned so far. Empty when the index cannot answer.
+	public Optional<List<Neighbour>> findNearest(double lat, double lng, int k, double maxDistanceInKm,
+			Predicate<ObjectLocation> filter) {
+		if (!isReady() || k < 1) {
+			return Optional.empty();
+		}
+		// max-heap on distance holding the best k candidates seen so far
+		PriorityQueue<Neighbour> best = new PriorityQueue<>(k + 1,
+				Comparator.comparingDouble(Neighbour::distanceInKm).reversed());
+		Grid grid = this.grid;
+		long centerLat = cellIndex(lat);
+		long centerLng = cellIndex(lng);
+		long minLngCell = cellIndex(-180);
+		long maxLngCell = cellIndex(180);
+
+		for (long ring = 0; ; ring++) {
+			long side = 2 * ring + 1;
+			if (side * side > this.maxCellsPerQuery) {
+				return Optional.empty(); // too far: let the database answer
+			}
+			if (centerLng - ring < minLngCell || centerLng + ring > maxLngCell) {
+				return Optional.empty(); // the rings wrap around the antimeridian
+			}
+			forEachInRing(grid, centerLat, centerLng, ring, location -> {
+				if (!filter.test(location)) {
+					return;
+				}
+				double distance = GeoDistance.haversineKm(lat, lng, location.lat(), location.lng());
+				if (distance > maxDistanceInKm) {
+					return;
+				}
+				if (best.size() < k) {
+					best.add(new Neighbour(location, distance));
+				} else if (distance < best.peek().distanceInKm()) {
+					best.poll();
+					best.add(new Neighbour(location, distance));
+				}
+			});
+
+			// anything not scanned yet is at least this far away
+			double unscannedKm = minDistanceOutside(lat, lng, ring);
+			boolean enough = best.size() == k && best.peek().distanceInKm() <= unscannedKm;
+			if (enough || unscannedKm > maxDistanceInKm) {
+				List<Neighbour> result = new ArrayList<>(best);
+				result.sort(Comparator.comparingDouble(Neighbour::distanceInKm)
+						.thenComparing(neighbour -> neighbour.location().objectId()));
+				return Optional.of(result);
+			}
+		}
+	}
+
+	// An indexed object and its distance from the query point
+	public record Neighbour(ObjectLocation location, double distanceInKm) {
+	}
+
+	// Lower bound of the distance from (lat, lng) to any point outside the square of rings 0..ring
+	private double minDistanceOutside(double lat, double lng, long ring) {
+		double latGap = Math.min(lat - cellIndex(lat) * this.cellSizeDegrees,
+				(cellIndex(lat) + 1) * this.cellSizeDegrees - lat) + ring * this.cellSizeDegrees;
+		double lngGap = Math.min(lng - cellIndex(lng) * this.cellSizeDegrees,
+				(cellIndex(lng) + 1) * this.cellSizeDegrees - lng) + ring * this.cellSizeDegrees;
+
+		// leaving through the top/bottom: at least the latitude difference
+		double latBoundKm = Math.toRadians(latGap) * GeoDistance.EARTH_RADIUS_KM;
+
+		// leaving through the sides: the other point lies within the scanned latitude band
+		double bandEdge = Math.min(90, Math.abs(lat) + latGap);
+		double havLng = Math.pow(Math.sin(Math.toRadians(Math.min(lngGap, 180)) / 2), 2);
+		double hav = Math.cos(Math.toRadians(lat)) * Math.cos(Math.toRadians(bandEdge)) * havLng;
+		double lngBoundKm = 2 * GeoDistance.EARTH_RADIUS_KM * Math.asin(Math.sqrt(Math.max(0, Math.min(1, hav))));
+
+		return Math.min(latBoundKm, lngBoundKm);
+	}
+
+	private void forEachInRing(Grid grid, long centerLat, long centerLng, long ring, Consumer<ObjectLocation> action) {
+		for (long latCell = centerLat - ring; latCell <= centerLat + ring; latCell++) {
+			boolean edgeRow = latCell == centerLat - ring || latCell == centerLat + ring;
+			long step = edgeRow ? 1 : Math.max(1, 2 * ring); // inner rows only contribute their two edge cells
+			for (long lngCell = centerLng - ring; lngCell <= centerLng + ring; lngCell += step) {
+				visitCell(grid, cellKey(latCell, lngCell), action);
+			}
+		}
+	}
+
+	private void visitCell(Grid grid, long key, Consumer<ObjectLocation> action) {
+		Set<String> ids = grid.cells().get(key);
+		if (ids == null) {
+			return;
+		}
+		for (String id : ids) {
+			ObjectLocation location = grid.objects().get(id);
+			if (location != null) {
+				action.accept(location);
+			}
+		}
+	}
+
+	// The index answers only when it is loaded and the area covers a bounded number of cells.
+	// Boxes crossing the antimeridian are left to the database, like before.
+	private boolean canServe(double minLat, double maxLat, double minLng, double maxLng) {
+		if (!isReady() || Double.isNaN(minLng) || Double.isNaN(maxLng) || minLng < -180 || maxLng > 180) {
+			return false;
+		}
+		long latCells = cellIndex(maxLat) - cellIndex(minLat) + 1;
+		long lngCells = cellIndex(maxLng) - cellIndex(minLng) + 1;
+		return latCells * lngCells <= this.maxCellsPerQuery;
+	}
+
+	private void forEachInCells(Grid grid, double minLat, double maxLat, double minLng, double maxLng,
+			Consumer<ObjectLocation> action) {
+		for (long latCell = cellIndex(minLat); latCell <= cellIndex(maxLat); latCell++) {
+			for (long lngCell = cellIndex(minLng); lngCell <= cellIndex(maxLng); lngCell++) {
+				visitCell(grid, cellKey(latCell, lngCell), action);
+			}
+		}
+	}
+
+	// Caller must hold the monitor or own the grid
+	private void putNow(Grid grid, ObjectLocation location) {
+		ObjectLocation previous = grid.objects().put(location.objectId(), location);
+		if (previous != null) {
+			long previousKey = cellKey(previous.lat(), previous.lng());
+			if (previousKey == cellKey(location.lat(), location.lng())) {
+				return;
+			}
+			Set<String> previousCell = grid.cells().get(previousKey);
+			if (previousCell != null) {
+				previousCell.remove(location.objectId());
+				if (previousCell.isEmpty()) {
+					grid.cells().remove(previousKey);
+				}
+			}
+		}
+		grid.cells().computeIfAbsent(cellKey(location.lat(), location.lng()), key -> ConcurrentHashMap.newKeySet())
+				.add(location.objectId());
+	}
+
+	private boolean matchesActive(ObjectLocation location, Boolean active) {
+		return active == null || location.active() == active;
+	}
+
+	private long cellIndex(double degrees) {
+		return (long) Math.floor(degrees / this.cellSizeDegrees);
+	}
+
+	private long cellKey(double lat, double lng) {
+		return cellKey(cellIndex(lat), cellIndex(lng));
+	}
+
+	private static long cellKey(long latCell, long lngCell) {
+		return (latCell << 32) ^ (lngCell & 0xffffffffL);
+	}
+}
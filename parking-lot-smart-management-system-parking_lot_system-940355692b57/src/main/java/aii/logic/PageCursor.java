@@ -0,0 +1,51 @@
+package aii.logic;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import aii.boundary.CommandBoundary;
+import aii.boundary.ObjectBoundary;
+import aii.data.CompositeId;
+
+// Opaque keyset cursor: the (timestamp, id) of the last row of a page.
+// The next page is read with WHERE (timestamp, id) > (cursor) instead of an OFFSET, so deep pages cost the same as the first one.
+public record PageCursor(Date timestamp, String id) {
+
+	public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor"; // response header carrying the next cursor
+
+	// Cursor pointing right after the given object (entity id format: id@@systemID)
+	public static PageCursor after(ObjectBoundary object) {
+		return new PageCursor(object.getCreationTimestamp(),
+				CompositeId.combine(object.getObjectId().getId(), object.getObjectId().getSystemID()));
+	}
+
+	// Cursor pointing right after the given command in the history order (entity id format: id@@systemID)
+	public static PageCursor after(CommandBoundary command) {
+		return new PageCursor(command.getInvocationTimestamp(),
+				CompositeId.combine(command.getCommandId().getId(), command.getCommandId().getSystemID()));
+	}
+
+	// Token handed to clients
+	public String encode() {
+		String raw = timestamp.getTime() + ":" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	// Parse a token received from a client, null when no token was sent
+	public static PageCursor decode(String token) {
+		if (token == null || token.isBlank()) {
+			return null;
+		}
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+			int separator = raw.indexOf(':');
+			if (separator <= 0 || separator == raw.length() - 1) {
+				throw new InvalidInputException("Invalid page cursor.");
+			}
+			return new PageCursor(new Date(Long.parseLong(raw.substring(0, separator))), raw.substring(separator + 1));
+		} catch (IllegalArgumentException e) { // bad base64 or bad number
+			throw new InvalidInputException("Invalid page cursor.", e);
+		}
+	}
+}
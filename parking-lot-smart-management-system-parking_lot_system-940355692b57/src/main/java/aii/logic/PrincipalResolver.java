@@ -0,0 +1,125 @@
+package aii.logic;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import aii.dal.UsersCrud;
+import aii.data.CompositeId;
+import aii.data.UserEntity;
+import aii.data.UserRole;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Who is calling: resolves the role of the user named in a request once per HTTP request.
+// The first lookup in a request goes through the role cache (and the USERS table on a miss) and is kept
+// in a request attribute; the controller check, the logic check and the nested object lookups of a command
+// all read that. Outside a request (benchmarks, background threads) every call goes to the cache.
+@Component
+public class PrincipalResolver {
+
+    private static final String REQUEST_ATTRIBUTE = PrincipalResolver.class.getName() + ".roles";
+
+    private final UsersCrud usersCrud;
+    private final Cache<String, UserRole> roleCache; // uniqueId (email@@systemID) -> role
+    private final Map<UserRole, Counter> roleCounters = new EnumMap<>(UserRole.class); // aii.requests.role
+
+    public PrincipalResolver(UsersCrud usersCrud,
+            @Value("${aii.user-role-cache.maximum-size:10000}") long roleCacheMaximumSize,
+            @Value("${aii.user-role-cache.ttl-seconds:60}") long roleCacheTtlSeconds,
+            MeterRegistry meterRegistry) {
+        this.usersCrud = usersCrud;
+        this.roleCache = Caffeine.newBuilder()
+                .maximumSize(roleCacheMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(roleCacheTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.roleCache, "userRoles");
+        for (UserRole role : UserRole.values()) {
+            roleCounters.put(role, Counter.builder("aii.requests.role")
+                    .description("Requests by the role of the calling user")
+                    .tag("role", role.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    // Not @Transactional: a request / cache hit must not open a transaction, findById runs in its own
+    public UserRole resolveRole(String systemID, String email) {
+        String uniqueId = CompositeId.combine(email, systemID);
+
+        Map<String, UserRole> resolved = requestRoles();
+        UserRole role = resolved != null ? resolved.get(uniqueId) : null;
+        if (role != null) {
+            return role;
+        }
+
+        role = roleCache.getIfPresent(uniqueId);
+        if (role == null) {
+            UserEntity user = usersCrud.findById(uniqueId).orElseThrow(() ->
+                    new NotFoundException("User with systemID " + systemID + " and email " + email + " not found"));
+            role = user.getRole();
+            roleCache.put(uniqueId, role);
+        }
+        if (resolved != null) {
+            resolved.put(uniqueId, role);
+        }
+        roleCounters.get(role).increment(); // once per request
+        return role;
+    }
+
+    // The user's role changed or the user is gone: forget it in this request now, in the cache once committed
+    public void invalidate(String uniqueId) {
+        Map<String, UserRole> resolved = requestRoles();
+        if (resolved != null) {
+            resolved.remove(uniqueId);
+        }
+        TransactionHooks.afterCommit(() -> roleCache.invalidate(uniqueId));
+    }
+
+    public void invalidateAll() {
+        Map<String, UserRole> resolved = requestRoles();
+        if (resolved != null) {
+            resolved.clear();
+        }
+        TransactionHooks.afterCommit(roleCache::invalidateAll);
+    }
+
+    public Map<String, Object> cacheStats() {
+        CacheStats stats = roleCache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        result.put("estimatedSize", roleCache.estimatedSize());
+        return result;
+    }
+
+    // Roles resolved in the current HTTP request, null outside of one
+    @SuppressWarnings("unchecked")
+    private Map<String, UserRole> requestRoles() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<String, UserRole> roles = (Map<String, UserRole>) attributes.getAttribute(REQUEST_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (roles == null) {
+            roles = new HashMap<>();
+            attributes.setAttribute(REQUEST_ATTRIBUTE, roles, RequestAttributes.SCOPE_REQUEST);
+        }
+        return roles;
+    }
+}
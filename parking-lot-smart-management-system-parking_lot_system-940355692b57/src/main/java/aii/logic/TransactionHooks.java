@@ -0,0 +1,25 @@
+package aii.logic;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Helpers for in-memory state that must follow the database (caches, indexes)
+final class TransactionHooks {
+
+	private TransactionHooks() {
+	}
+
+	// Run the action once the current transaction commits, or right away when there is no transaction
+	static void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+}
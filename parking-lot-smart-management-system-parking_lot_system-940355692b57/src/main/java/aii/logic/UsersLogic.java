@@ -1,6 +1,8 @@
 package aii.logic;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import aii.boundary.NewUserBoundary;
 import aii.boundary.UserBoundary;
@@ -20,10 +22,16 @@ public interface UsersLogic {
     // Retrieve all users
 	public List<UserBoundary> getAllUsers(String adminSystemID, String adminEmail, int page, int size);
 
+    // Pass every user to the sink, by id; returns how many were passed. ADMIN only
+	public long exportUsers(String adminSystemID, String adminEmail, Consumer<UserBoundary> sink);
+
     // Delete all users
 	public void deleteAllUsers(String adminSystemID, String adminEmail);
 	
     // New method to retrieve user role (check if the user exist in the DB)
 	public UserRole getUserRole(String systemID, String email);
 
+    // Hit / miss / eviction counters of the user role cache
+	public Map<String, Object> getUserRoleCacheStats();
+
 }
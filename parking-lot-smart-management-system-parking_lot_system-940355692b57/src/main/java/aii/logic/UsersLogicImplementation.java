@@ -2,6 +2,7 @@ package aii.logic;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,21 +11,29 @@ import aii.boundary.UserBoundary;
 import aii.boundary.UserBoundary.UserId;
 import aii.converter.UserConverter;
 import aii.dal.UsersCrud;
+import aii.data.CompositeId;
 import aii.data.UserEntity;
 import aii.data.UserRole;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
-
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
 
 @Service
 public class UsersLogicImplementation implements UsersLogic {
 
     private final UsersCrud usersCrud; // Repository for database access
     private final UserConverter userConverter;
+    private final PrincipalResolver principalResolver; // role of the calling user, once per request
+    private final EntityManager entityManager; // To detach exported rows
     private final Log logger = LogFactory.getLog(UsersLogicImplementation.class); // Logger instance
 
 
@@ -32,9 +41,12 @@ public class UsersLogicImplementation implements UsersLogic {
     private String systemID; // System ID value from application.properties
 
     // Constructor for dependency injection of UsersCrud repository
-    public UsersLogicImplementation(UsersCrud usersCrud, UserConverter userConverter) {
+    public UsersLogicImplementation(UsersCrud usersCrud, UserConverter userConverter,
+            PrincipalResolver principalResolver, EntityManager entityManager) {
         this.usersCrud = usersCrud;
         this.userConverter = userConverter;
+        this.principalResolver = principalResolver;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -43,7 +55,7 @@ public class UsersLogicImplementation implements UsersLogic {
         validateNewUserBoundary(newUserBoundary); // Perform input validation
 
         // Check if user with this email already exists
-        String emailPrefix = newUserBoundary.getEmail() + "@@";
+        String emailPrefix = newUserBoundary.getEmail() + CompositeId.SEPARATOR;
         List<UserEntity> existingUsers = usersCrud.findByUniqueIdStartingWith(emailPrefix);
         if (!existingUsers.isEmpty()) {
             throw new InvalidInputException("User with email " + newUserBoundary.getEmail() + " already exists");
@@ -64,7 +76,9 @@ public class UsersLogicImplementation implements UsersLogic {
         // Save the new user entity in the database
         usersCrud.save(entity);
         UserBoundary createdUser = userConverter.toBoundary(entity);
-        logger.info("User created: " + createdUser); // Log user creation
+        if (logger.isDebugEnabled()) {
+            logger.debug("User created: " + createdUser); // Log user creation
+        }
 
         return createdUser;
     }
@@ -80,7 +94,9 @@ public class UsersLogicImplementation implements UsersLogic {
                 new NotFoundException("User with email " + email + " not found"));
 
         UserBoundary user = userConverter.toBoundary(entity);
-        logger.info("User login: " + user); // Log user login
+        if (logger.isDebugEnabled()) {
+            logger.debug("User login: " + user); // Log user login
+        }
 
         // Convert the entity to UserBoundary and return
         return user;
@@ -120,8 +136,11 @@ public class UsersLogicImplementation implements UsersLogic {
 
         // Save the updated user entity in the database
         usersCrud.save(entity);
+        principalResolver.invalidate(uniqueId); // the role may have changed
         UserBoundary updatedUserBoundary = userConverter.toBoundary(entity);
-        logger.info("User updated: " + updatedUserBoundary); // Log user update
+        if (logger.isDebugEnabled()) {
+            logger.debug("User updated: " + updatedUserBoundary); // Log user update
+        }
 
         return updatedUserBoundary;
     }
@@ -129,64 +148,79 @@ public class UsersLogicImplementation implements UsersLogic {
     @Override
     @Transactional(readOnly = true)
     public List<UserBoundary> getAllUsers(String adminSystemID, String adminEmail, int page, int size) {
-        // Verify admin access
-        String adminUniqueId = generateUniqueId(adminEmail, adminSystemID);
-        UserEntity admin = usersCrud.findById(adminUniqueId).orElseThrow(() ->
-                new UnauthorizedAccessException("Admin user not found"));
-
-        if (admin.getRole() != UserRole.ADMIN) {
+        // Verify admin access (already resolved by the controller in this request)
+        if (resolveAdminRole(adminSystemID, adminEmail) != UserRole.ADMIN) {
             throw new ForbiddenAccessException("Only ADMIN users can retrieve all users");
         }
 
-        List<UserBoundary> users = usersCrud.findAll(PageRequest.of(page, size))
+        List<UserBoundary> users = usersCrud.findAll(PageRequest.of(page, size, Sort.by("uniqueId")))
                 .stream()
                 .map(userConverter::toBoundary)
                 .collect(Collectors.toList());
 
-        logger.info("Admin " + adminEmail + " retrieved all users. Total users: " + users.size()); // Log user retrieval
+        if (logger.isDebugEnabled()) {
+            logger.debug("Admin " + adminEmail + " retrieved all users. Total users: " + users.size()); // Log user retrieval
+        }
         return users;
     }
 
+    // Export: read through a cursor, each row detached once passed on (constant memory)
+    @Override
+    @Transactional(readOnly = true)
+    public long exportUsers(String adminSystemID, String adminEmail, Consumer<UserBoundary> sink) {
+        // Verify admin access (checked by the controller too, the export itself runs on the streaming thread)
+        if (resolveAdminRole(adminSystemID, adminEmail) != UserRole.ADMIN) {
+            throw new ForbiddenAccessException("Only ADMIN users can export users");
+        }
+        long exported = 0;
+        try (Stream<UserEntity> rows = usersCrud.streamForExport()) {
+            for (Iterator<UserEntity> it = rows.iterator(); it.hasNext(); exported++) {
+                UserEntity entity = it.next();
+                sink.accept(userConverter.toBoundary(entity));
+                entityManager.detach(entity);
+            }
+        }
+        logger.info("Exported users: " + exported);
+        return exported;
+    }
+
     @Override
     @Transactional(readOnly = false) // Write transaction
     public void deleteAllUsers(String adminSystemID, String adminEmail) {
-        // Generate uniqueId for admin lookup
-        String adminUniqueId = generateUniqueId(adminEmail, adminSystemID);
-
         // Verify that the requesting user is an admin
-        UserEntity admin = usersCrud.findById(adminUniqueId).orElseThrow(() ->
-                new UnauthorizedAccessException("Admin user not found"));
-
-        if (admin.getRole() != UserRole.ADMIN) {
+        if (resolveAdminRole(adminSystemID, adminEmail) != UserRole.ADMIN) {
             throw new ForbiddenAccessException("Only ADMIN users can delete all users");
         }
 
         // Delete all users from the database
         usersCrud.deleteAll();
+        principalResolver.invalidateAll();
         logger.warn("Admin " + adminEmail + " deleted all users!"); // Log deletion of all users
 
     }
     
     @Override
-    @Transactional(readOnly = true)
     public UserRole getUserRole(String systemID, String email) {
-    	
-        // Generate unique ID
-        String uniqueId = generateUniqueId(email, systemID);
+        return principalResolver.resolveRole(systemID, email);
+    }
 
-        // Retrieve user from database
-        UserEntity user = usersCrud.findById(uniqueId).orElseThrow(() ->
-                new NotFoundException("User with systemID " + systemID + " and email " + email + " not found"));
+    @Override
+    public Map<String, Object> getUserRoleCacheStats() {
+        return principalResolver.cacheStats();
+    }
 
-        logger.info("User role retrieved: " + email + " - Role: " + user.getRole()); // Log role retrieval
-        // Return the user's role
-        return user.getRole();
+    private UserRole resolveAdminRole(String adminSystemID, String adminEmail) {
+        try {
+            return principalResolver.resolveRole(adminSystemID, adminEmail);
+        } catch (NotFoundException e) {
+            throw new UnauthorizedAccessException("Admin user not found");
+        }
     }
 
 
     // Helper method to generate uniqueId
     private String generateUniqueId(String email, String systemID) {
-        return email + "@@" + systemID;
+        return CompositeId.combine(email, systemID);
     }
     
     private void validateNewUserBoundary(NewUserBoundary newUserBoundary) {
@@ -214,9 +248,9 @@ public class UsersLogicImplementation implements UsersLogic {
     // Helper method to convert UserEntity to UserBoundary
     private UserBoundary toBoundary(UserEntity entity) {
         // Decompose uniqueId into email and systemID
-        String[] parts = entity.getUniqueId().split("@@");
-        String email = parts[0];
-        String systemID = parts[1];
+        CompositeId parts = CompositeId.parse(entity.getUniqueId());
+        String email = parts.id();
+        String systemID = parts.systemID();
 
         return new UserBoundary(
                 new UserId(systemID, email),
@@ -0,0 +1,22 @@
+package aii.logic.commands;
+
+import aii.boundary.CommandBoundary;
+
+// Acts on an invoked command with a given name (e.g. "reserve").
+// Handlers are Spring beans collected once at startup by CommandHandlerRegistry; they run inside the
+// transaction that stores the command, and their result is returned to the client instead of the echo.
+// A handler should do all of its checks before writing anything, so a rejected command leaves no changes
+// behind (the batch endpoint rejects such an item and keeps the rest of the batch).
+public interface CommandHandler {
+
+	// Command name this handler is registered under
+	public String getCommandName();
+
+	// Command with its ids already set to this system; returns the response payload
+	public Object handle(CommandBoundary command);
+
+	// Whether OPERATOR users may invoke it as well (END_USER only by default, ADMIN never)
+	public default boolean allowsOperator() {
+		return false;
+	}
+}
@@ -0,0 +1,33 @@
+package aii.logic.commands;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.stereotype.Component;
+
+// Command name -> handler, built once from all CommandHandler beans
+@Component
+public class CommandHandlerRegistry {
+	private final Map<String, CommandHandler> handlers = new HashMap<>();
+	private final Log logger = LogFactory.getLog(CommandHandlerRegistry.class); // Logger instance
+
+	public CommandHandlerRegistry(List<CommandHandler> handlers) {
+		for (CommandHandler handler : handlers) {
+			CommandHandler previous = this.handlers.put(handler.getCommandName(), handler);
+			if (previous != null) {
+				throw new IllegalStateException("Two handlers for command '" + handler.getCommandName() + "': "
+						+ previous.getClass().getName() + ", " + handler.getClass().getName());
+			}
+		}
+		logger.info("Command handlers registered: " + this.handlers.keySet());
+	}
+
+	// Handler of the command, empty for commands that are only logged
+	public Optional<CommandHandler> find(String command) {
+		return Optional.ofNullable(this.handlers.get(command));
+	}
+}
@@ -0,0 +1,97 @@
+package aii.logic.commands;
+
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import aii.boundary.CommandBoundary;
+import aii.dal.ObjectCrud;
+import aii.data.CompositeId;
+import aii.data.DistanceUnits;
+import aii.data.ObjectEntity;
+import aii.data.ParkingSpotStatus;
+import aii.logic.InvalidInputException;
+import aii.logic.NotFoundException;
+import aii.logic.ObjectsLogic;
+import aii.logic.ObjectsLogicImplementation;
+
+// "findNearestFree": the nearest AVAILABLE spots, nearest first.
+// commandAttributes: lat / lng (default: location of the target object), type, maxDistance, units, k (default 1)
+@Component
+public class FindNearestFreeCommandHandler implements CommandHandler {
+	private final ObjectsLogic objectsLogic;
+	private final ObjectCrud objectCrud;
+
+	public FindNearestFreeCommandHandler(ObjectsLogic objectsLogic, ObjectCrud objectCrud) {
+		this.objectsLogic = objectsLogic;
+		this.objectCrud = objectCrud;
+	}
+
+	@Override
+	public String getCommandName() {
+		return "findNearestFree";
+	}
+
+	@Override
+	public Object handle(CommandBoundary command) {
+		Map<String, Object> attributes = command.getCommandAttributes() == null ? Map.of()
+				: command.getCommandAttributes();
+		Double lat = doubleAttribute(attributes, "lat");
+		Double lng = doubleAttribute(attributes, "lng");
+		if (lat == null || lng == null) {
+			String objectId = CompositeId.combine(command.getTargetObject().getObjectId().getId(),
+					command.getTargetObject().getObjectId().getSystemID());
+			ObjectEntity target = this.objectCrud.findById(objectId)
+					.orElseThrow(() -> new NotFoundException("Object not found."));
+			lat = target.getLat();
+			lng = target.getLng();
+		}
+		Double maxDistance = doubleAttribute(attributes, "maxDistance");
+		Double k = doubleAttribute(attributes, "k");
+		int count = k == null ? 1 : k.intValue();
+		DistanceUnits units = unitsAttribute(attributes);
+		Object type = attributes.get("type");
+
+		// checked here as well: a rejected search must not mark the command transaction rollback-only
+		if (count < 1 || count > ObjectsLogicImplementation.MAX_NEAREST) {
+			throw new InvalidInputException("k must be between 1 and " + ObjectsLogicImplementation.MAX_NEAREST);
+		}
+		if (maxDistance != null && maxDistance <= 0) {
+			throw new InvalidInputException("Distance must be positive!");
+		}
+		if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+			throw new InvalidInputException("lat / lng are out of range.");
+		}
+
+		return this.objectsLogic.getNearestObjects(command.getInvokedBy().getUserId().getSystemID(),
+				command.getInvokedBy().getUserId().getEmail(), lat, lng, type == null ? null : type.toString(),
+				ParkingSpotStatus.AVAILABLE.name(), maxDistance, units, count);
+	}
+
+	private Double doubleAttribute(Map<String, Object> attributes, String key) {
+		Object value = attributes.get(key);
+		if (value == null) {
+			return null;
+		}
+		if (value instanceof Number number) {
+			return number.doubleValue();
+		}
+		try {
+			return Double.valueOf(value.toString());
+		} catch (NumberFormatException e) {
+			throw new InvalidInputException("Command attribute '" + key + "' must be a number.");
+		}
+	}
+
+	private DistanceUnits unitsAttribute(Map<String, Object> attributes) {
+		Object value = attributes.get("units");
+		if (value == null) {
+			return DistanceUnits.NEUTRAL;
+		}
+		try {
+			return DistanceUnits.valueOf(value.toString().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			throw new InvalidInputException("Command attribute 'units' must be one of NEUTRAL, KILOMETERS, MILES.");
+		}
+	}
+}
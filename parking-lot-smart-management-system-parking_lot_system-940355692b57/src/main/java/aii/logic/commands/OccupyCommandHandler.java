@@ -0,0 +1,30 @@
+package aii.logic.commands;
+
+import org.springframework.stereotype.Component;
+
+import aii.data.ParkingSpotStatus;
+import aii.logic.ConflictException;
+
+// "occupy": AVAILABLE, or RESERVED by the invoker (any holder for an OPERATOR) -> OCCUPIED
+@Component
+public class OccupyCommandHandler extends SpotStatusCommandHandler {
+
+	public OccupyCommandHandler(SpotStatusSupport support) {
+		super(support);
+	}
+
+	@Override
+	public String getCommandName() {
+		return "occupy";
+	}
+
+	@Override
+	protected ParkingSpotStatus nextStatus(ParkingSpotStatus current, String heldBy, String invoker,
+			boolean override) {
+		if (current == ParkingSpotStatus.AVAILABLE
+				|| (current == ParkingSpotStatus.RESERVED && isHeldBy(heldBy, invoker, override))) {
+			return ParkingSpotStatus.OCCUPIED;
+		}
+		throw new ConflictException("Parking spot is " + current.name().toLowerCase() + " by another user.");
+	}
+}
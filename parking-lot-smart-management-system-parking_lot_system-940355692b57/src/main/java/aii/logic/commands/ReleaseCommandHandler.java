@@ -0,0 +1,32 @@
+package aii.logic.commands;
+
+import org.springframework.stereotype.Component;
+
+import aii.data.ParkingSpotStatus;
+import aii.logic.ConflictException;
+
+// "release": RESERVED / OCCUPIED by the invoker (any holder for an OPERATOR) -> AVAILABLE
+@Component
+public class ReleaseCommandHandler extends SpotStatusCommandHandler {
+
+	public ReleaseCommandHandler(SpotStatusSupport support) {
+		super(support);
+	}
+
+	@Override
+	public String getCommandName() {
+		return "release";
+	}
+
+	@Override
+	protected ParkingSpotStatus nextStatus(ParkingSpotStatus current, String heldBy, String invoker,
+			boolean override) {
+		if (current == ParkingSpotStatus.AVAILABLE) {
+			throw new ConflictException("Parking spot is already available.");
+		}
+		if (!isHeldBy(heldBy, invoker, override)) {
+			throw new ConflictException("Parking spot is held by another user.");
+		}
+		return ParkingSpotStatus.AVAILABLE;
+	}
+}
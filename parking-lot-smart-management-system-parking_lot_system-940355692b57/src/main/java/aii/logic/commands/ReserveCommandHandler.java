@@ -0,0 +1,29 @@
+package aii.logic.commands;
+
+import org.springframework.stereotype.Component;
+
+import aii.data.ParkingSpotStatus;
+import aii.logic.ConflictException;
+
+// "reserve": AVAILABLE -> RESERVED for the invoker
+@Component
+public class ReserveCommandHandler extends SpotStatusCommandHandler {
+
+	public ReserveCommandHandler(SpotStatusSupport support) {
+		super(support);
+	}
+
+	@Override
+	public String getCommandName() {
+		return "reserve";
+	}
+
+	@Override
+	protected ParkingSpotStatus nextStatus(ParkingSpotStatus current, String heldBy, String invoker,
+			boolean override) {
+		if (current != ParkingSpotStatus.AVAILABLE) {
+			throw new ConflictException("Parking spot is not available.");
+		}
+		return ParkingSpotStatus.RESERVED;
+	}
+}
@@ -0,0 +1,126 @@
+package aii.logic.commands;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import aii.boundary.CommandBoundary;
+import aii.boundary.ObjectBoundary;
+import aii.boundary.ObjectChangeEvent;
+import aii.converter.ObjectConverter;
+import aii.dal.ObjectCrud;
+import aii.data.CompositeId;
+import aii.data.LazyJsonMap;
+import aii.data.ObjectEntity;
+import aii.data.ObjectState;
+import aii.data.ParkingSpotStatus;
+import aii.data.UserRole;
+import aii.logic.ConflictException;
+import aii.logic.ContentionCounters;
+import aii.logic.NotFoundException;
+import aii.logic.ObjectChangeFeed;
+import aii.logic.ObjectOccupancyCounts;
+import aii.logic.ObjectsSpatialIndex;
+import aii.logic.PrincipalResolver;
+
+// Base of the handlers that move the target spot between AVAILABLE / RESERVED / OCCUPIED.
+// The spot remembers who holds it in objectDetails.heldBy, only that user can take it further or release it;
+// a spot without a recorded holder (status set through PUT /aii/objects) is held by nobody. OPERATOR users may
+// invoke these commands too and override the holder check (clear a stuck spot).
+// The change is a conditional UPDATE (same status and version as when read), so two concurrent reservations
+// of one spot cannot both succeed; a lost race is re-read and re-decided, up to aii.spot-status.max-attempts times.
+public abstract class SpotStatusCommandHandler implements CommandHandler {
+	protected static final String HELD_BY = "heldBy"; // objectDetails key of the holding user (email@@systemID)
+
+	private final ObjectCrud objectCrud;
+	private final ObjectConverter objectConverter;
+	private final ObjectsSpatialIndex spatialIndex;
+	private final ContentionCounters contentionCounters;
+	private final ObjectChangeFeed changeFeed;
+	private final ObjectOccupancyCounts occupancyCounts;
+	private final PrincipalResolver principalResolver;
+	private final int maxAttempts;
+
+	protected SpotStatusCommandHandler(SpotStatusSupport support) {
+		this.objectCrud = support.objectCrud();
+		this.objectConverter = support.objectConverter();
+		this.spatialIndex = support.spatialIndex();
+		this.contentionCounters = support.contentionCounters();
+		this.changeFeed = support.changeFeed();
+		this.occupancyCounts = support.occupancyCounts();
+		this.principalResolver = support.principalResolver();
+		this.maxAttempts = support.maxAttempts();
+	}
+
+	@Override
+	public boolean allowsOperator() {
+		return true;
+	}
+
+	@Override
+	public Object handle(CommandBoundary command) {
+		String objectId = CompositeId.combine(command.getTargetObject().getObjectId().getId(),
+				command.getTargetObject().getObjectId().getSystemID());
+		String invoker = CompositeId.combine(command.getInvokedBy().getUserId().getEmail(),
+				command.getInvokedBy().getUserId().getSystemID());
+		// already resolved for this request: no extra lookup
+		boolean override = this.principalResolver.resolveRole(command.getInvokedBy().getUserId().getSystemID(),
+				command.getInvokedBy().getUserId().getEmail()) == UserRole.OPERATOR;
+
+		String previousStatus;
+		for (int attempt = 1; ; attempt++) {
+			ObjectState state = this.objectCrud.findActiveState(objectId)
+					.orElseThrow(() -> new NotFoundException("Object not found."));
+
+			Map<String, Object> current = state.details();
+			String heldBy = current == null ? null : (String) current.get(HELD_BY);
+			ParkingSpotStatus next = nextStatus(currentStatus(state), heldBy, invoker, override); // may reject: no retry
+
+			Map<String, Object> details = current == null ? new HashMap<>() : new HashMap<>(current);
+			if (next == ParkingSpotStatus.AVAILABLE) {
+				details.remove(HELD_BY);
+			} else {
+				details.put(HELD_BY, invoker);
+			}
+
+			if (this.objectCrud.updateStatusIfUnchanged(objectId, state.status(), state.version(), next.name(),
+					LazyJsonMap.of(details).json()) == 1) {
+				previousStatus = state.status();
+				break;
+			}
+			this.contentionCounters.conflict();
+			if (attempt >= this.maxAttempts) {
+				this.contentionCounters.exhausted();
+				throw new ConflictException("Parking spot is being changed concurrently, please retry.");
+			}
+			this.contentionCounters.retry();
+		}
+
+		ObjectEntity saved = this.objectCrud.findById(objectId)
+				.orElseThrow(() -> new NotFoundException("Object not found."));
+		this.spatialIndex.put(saved);
+		this.occupancyCounts.moved(this.occupancyCounts.groupOf(saved).withStatus(previousStatus), saved);
+		ObjectBoundary result = this.objectConverter.toBoundary(saved);
+		if (!result.getStatus().equals(previousStatus)) {
+			this.changeFeed.publish(ObjectChangeEvent.of(result, previousStatus));
+		}
+		return result;
+	}
+
+	// Status after the command, or ConflictException when the move is not allowed.
+	// override: the invoker is an OPERATOR and may act on a spot held by someone else (or by nobody)
+	protected abstract ParkingSpotStatus nextStatus(ParkingSpotStatus current, String heldBy, String invoker,
+			boolean override);
+
+	// A missing holder is not the invoker: only the override takes such a spot further
+	protected boolean isHeldBy(String heldBy, String invoker, boolean override) {
+		return override || (heldBy != null && heldBy.equals(invoker));
+	}
+
+	private ParkingSpotStatus currentStatus(ObjectState state) {
+		try {
+			return ParkingSpotStatus.valueOf(state.status());
+		} catch (IllegalArgumentException | NullPointerException e) {
+			throw new ConflictException("Object status '" + state.status() + "' is not a parking spot status.");
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package aii.logic.commands;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import aii.converter.ObjectConverter;
+import aii.dal.ObjectCrud;
+import aii.logic.ContentionCounters;
+import aii.logic.ObjectChangeFeed;
+import aii.logic.ObjectOccupancyCounts;
+import aii.logic.ObjectsSpatialIndex;
+import aii.logic.PrincipalResolver;
+
+// Collaborators and settings shared by the spot status handlers
+@Component
+public class SpotStatusSupport {
+	private final ObjectCrud objectCrud;
+	private final ObjectConverter objectConverter;
+	private final ObjectsSpatialIndex spatialIndex;
+	private final ContentionCounters contentionCounters;
+	private final ObjectChangeFeed changeFeed;
+	private final ObjectOccupancyCounts occupancyCounts;
+	private final PrincipalResolver principalResolver;
+	private final int maxAttempts;
+
+	public SpotStatusSupport(ObjectCrud objectCrud, ObjectConverter objectConverter, ObjectsSpatialIndex spatialIndex,
+			ContentionCounters contentionCounters, ObjectChangeFeed changeFeed, ObjectOccupancyCounts occupancyCounts,
+			PrincipalResolver principalResolver, @Value("${aii.spot-status.max-attempts:3}") int maxAttempts) {
+		if (maxAttempts < 1) {
+			throw new IllegalArgumentException("aii.spot-status.max-attempts must be positive");
+		}
+		this.objectCrud = objectCrud;
+		this.objectConverter = objectConverter;
+		this.spatialIndex = spatialIndex;
+		this.contentionCounters = contentionCounters;
+		this.changeFeed = changeFeed;
+		this.occupancyCounts = occupancyCounts;
+		this.principalResolver = principalResolver;
+		this.maxAttempts = maxAttempts;
+	}
+
+	ObjectCrud objectCrud() {
+		return this.objectCrud;
+	}
+
+	ObjectConverter objectConverter() {
+		return this.objectConverter;
+	}
+
+	ObjectsSpatialIndex spatialIndex() {
+		return this.spatialIndex;
+	}
+
+	ContentionCounters contentionCounters() {
+		return this.contentionCounters;
+	}
+
+	ObjectChangeFeed changeFeed() {
+		return this.changeFeed;
+	}
+
+	ObjectOccupancyCounts occupancyCounts() {
+		return this.occupancyCounts;
+	}
+
+	PrincipalResolver principalResolver() {
+		return this.principalResolver;
+	}
+
+	int maxAttempts() {
+		return this.maxAttempts;
+	}
+}
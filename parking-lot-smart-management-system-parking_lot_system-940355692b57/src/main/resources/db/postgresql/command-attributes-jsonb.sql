@@ -0,0 +1,17 @@
+-- Moves COMMANDS.command_attributes from the old @Lob text (large object) to jsonb, like object-details-jsonb.sql,
+-- and unlinks the large objects: they are not freed with their rows, so deleted / expired commands kept them.
+-- Run once before starting a version with CommandEntity.commandAttributes mapped as JSON
+-- (spring.jpa.hibernate.ddl-auto=validate expects jsonb). Works before or after commands-partitioning.sql.
+BEGIN;
+
+ALTER TABLE commands RENAME COLUMN command_attributes TO command_attributes_oid;
+ALTER TABLE commands ADD COLUMN command_attributes jsonb;
+UPDATE commands SET command_attributes = convert_from(lo_get(command_attributes_oid), 'UTF8')::jsonb
+    WHERE command_attributes_oid IS NOT NULL;
+SELECT lo_unlink(command_attributes_oid) FROM commands WHERE command_attributes_oid IS NOT NULL;
+ALTER TABLE commands DROP COLUMN command_attributes_oid;
+
+COMMIT;
+
+-- Large objects of commands deleted before this script (deleteAllCommands) have no row left to find them by;
+-- remove those orphans with the vacuumlo client program.
@@ -0,0 +1,22 @@
+-- Turns COMMANDS into a table partitioned by month of invocation_timestamp (CommandPartitions).
+-- Run once, with the application stopped. Every existing row lands in commands_default; at startup
+-- CommandRetention creates the partitions of the current and coming months (moving their rows out of
+-- commands_default), older months stay there until the retention expires them.
+-- A partitioned table's primary key must contain the partition column: it becomes
+-- (command_id, invocation_timestamp). Command ids are still unique, they are fresh UUIDs.
+-- The indexes are created on the new table by NativeSchemaInitializer at startup.
+BEGIN;
+
+ALTER TABLE commands RENAME TO commands_unpartitioned;
+
+CREATE TABLE commands (LIKE commands_unpartitioned INCLUDING DEFAULTS)
+    PARTITION BY RANGE (invocation_timestamp);
+ALTER TABLE commands ALTER COLUMN invocation_timestamp SET NOT NULL;
+ALTER TABLE commands ADD PRIMARY KEY (command_id, invocation_timestamp);
+
+CREATE TABLE commands_default PARTITION OF commands DEFAULT;
+
+INSERT INTO commands SELECT * FROM commands_unpartitioned;
+DROP TABLE commands_unpartitioned;
+
+COMMIT;
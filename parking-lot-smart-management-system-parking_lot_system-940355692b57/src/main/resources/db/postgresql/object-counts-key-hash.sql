@@ -0,0 +1,9 @@
+-- OBJECT_COUNTS keys became a SHA-256 of the group (ObjectCountEntity.key) instead of the joined texts, which
+-- overflowed the column for long types / statuses. For a table created by an earlier object-counts.sql: run once
+-- before starting the new version; the reconciliation job refills the counts right after startup.
+BEGIN;
+
+TRUNCATE object_counts;
+ALTER TABLE object_counts ALTER COLUMN count_key TYPE VARCHAR(64);
+
+COMMIT;
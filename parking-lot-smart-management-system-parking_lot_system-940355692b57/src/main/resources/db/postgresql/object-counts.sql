@@ -0,0 +1,12 @@
+-- Materialized object counts behind GET /aii/objects/stats (ObjectCountEntity).
+-- Run once before starting a version with ObjectOccupancyCounts (spring.jpa.hibernate.ddl-auto=validate
+-- expects the table); the counts are filled by the reconciliation job right after startup.
+CREATE TABLE IF NOT EXISTS object_counts (
+    count_key    VARCHAR(64) NOT NULL PRIMARY KEY,
+    type         VARCHAR(255),
+    status       VARCHAR(255),
+    active       BOOLEAN NOT NULL,
+    area_row     BIGINT NOT NULL,
+    area_col     BIGINT NOT NULL,
+    object_count BIGINT NOT NULL
+);
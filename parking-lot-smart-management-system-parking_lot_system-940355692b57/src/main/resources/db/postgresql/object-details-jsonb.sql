@@ -0,0 +1,17 @@
+-- Moves OBJECTS.object_details from the old @Lob text (large object) to jsonb, and unlinks the large objects:
+-- they are not freed with their rows.
+-- Run once before starting a version with ObjectEntity.objectDetails mapped as JSON
+-- (spring.jpa.hibernate.ddl-auto=validate expects jsonb). The GIN index is created at startup.
+BEGIN;
+
+ALTER TABLE objects RENAME COLUMN object_details TO object_details_oid;
+ALTER TABLE objects ADD COLUMN object_details jsonb;
+UPDATE objects SET object_details = convert_from(lo_get(object_details_oid), 'UTF8')::jsonb
+    WHERE object_details_oid IS NOT NULL;
+SELECT lo_unlink(object_details_oid) FROM objects WHERE object_details_oid IS NOT NULL;
+ALTER TABLE objects DROP COLUMN object_details_oid;
+
+COMMIT;
+
+-- Large objects of objects deleted before this script (deleteAllObjects) have no row left to find them by;
+-- remove those orphans with the vacuumlo client program.
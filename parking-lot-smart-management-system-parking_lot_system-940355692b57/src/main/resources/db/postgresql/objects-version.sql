@@ -0,0 +1,4 @@
+-- Adds OBJECTS.version, the optimistic lock of ObjectEntity (@Version).
+-- Run once before starting a version with the column mapped (spring.jpa.hibernate.ddl-auto=validate
+-- expects it); existing objects start at version 0.
+ALTER TABLE objects ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
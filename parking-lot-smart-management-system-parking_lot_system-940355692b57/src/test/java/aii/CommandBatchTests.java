@@ -0,0 +1,142 @@
+package aii;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.client.RestTemplate;
+
+import aii.boundary.*;
+import aii.boundary.CommandBoundary.InvokedBy;
+import aii.boundary.CommandBoundary.TargetObject;
+import aii.data.UserRole;
+
+// POST /aii/commands/batch: every item succeeds or fails on its own, in request order
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+class CommandBatchTests {
+	private static final String ADMIN = "admin@demo.org";
+	private static final String OPERATOR = "operator@demo.org";
+	private static final String DRIVER = "driver@demo.org";
+	private static final String OTHER_DRIVER = "other-driver@demo.org";
+
+	@LocalServerPort
+	private int port;
+
+	private String baseUrl;
+	private RestTemplate restTemplate;
+
+	@Value("${spring.application.name}")
+	private String systemID;
+
+	private ObjectBoundary spot;
+	private ObjectBoundary inactiveSpot;
+
+	@BeforeEach
+	public void setup() {
+		this.baseUrl = "http://localhost:" + this.port;
+		this.restTemplate = new RestTemplate();
+
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary(ADMIN, UserRole.ADMIN, "Admin User", "admin-avatar"), UserBoundary.class);
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary(OPERATOR, UserRole.OPERATOR, "Operator User", "operator-avatar"),
+				UserBoundary.class);
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary(DRIVER, UserRole.END_USER, "Driver", "driver-avatar"), UserBoundary.class);
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary(OTHER_DRIVER, UserRole.END_USER, "Other Driver", "driver-avatar"),
+				UserBoundary.class);
+
+		this.spot = restTemplate.postForObject(baseUrl + "/aii/objects", spot("spot-1", true), ObjectBoundary.class);
+		this.inactiveSpot = restTemplate.postForObject(baseUrl + "/aii/objects", spot("spot-2", false),
+				ObjectBoundary.class);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.restTemplate.delete(baseUrl + "/aii/admin/commands?userSystemID=" + systemID + "&userEmail=" + ADMIN);
+		this.restTemplate.delete(baseUrl + "/aii/admin/objects?userSystemID=" + systemID + "&userEmail=" + ADMIN);
+		this.restTemplate.delete(baseUrl + "/aii/admin/users?userSystemID=" + systemID + "&userEmail=" + ADMIN);
+	}
+
+	@Test
+	@DisplayName("Test: A Batch Reports Each Item and Keeps the Successful Ones")
+	public void testMixedBatch() {
+		CommandBoundary invalid = command("ping", DRIVER, this.spot);
+		invalid.setCommand("");
+
+		List<CommandBoundary> batch = List.of(
+				command("ping", DRIVER, this.spot),                    // 0 ok
+				command("reserve", DRIVER, this.spot),                 // 1 ok, handled
+				command("reserve", OTHER_DRIVER, this.spot),           // 2 conflict: already reserved
+				command("ping", DRIVER, this.inactiveSpot),            // 3 inactive target
+				command("ping", "nobody@demo.org", this.spot),         // 4 unknown invoker
+				command("ping", OPERATOR, this.spot),                  // 5 role may not execute it
+				invalid,                                               // 6 invalid command
+				command("ping", OTHER_DRIVER, this.spot));             // 7 ok
+
+		CommandBatchResult[] results = restTemplate.postForObject(baseUrl + "/aii/commands/batch", batch,
+				CommandBatchResult[].class);
+
+		assertThat(results).hasSize(batch.size());
+		for (int i = 0; i < results.length; i++) {
+			assertThat(results[i].getIndex()).isEqualTo(i);
+		}
+		assertThat(results).extracting(CommandBatchResult::isSuccess)
+				.containsExactly(true, true, false, false, false, false, false, true);
+		for (CommandBatchResult result : results) {
+			if (result.isSuccess()) {
+				assertThat(result.getResult()).isNotNull();
+				assertThat(result.getError()).isNull();
+			} else {
+				assertThat(result.getError()).isNotBlank();
+				assertThat(result.getResult()).isNull();
+			}
+		}
+		assertThat(results[3].getError()).contains("not active");
+		assertThat(results[5].getError()).contains("not allowed");
+
+		// the failed reservation rolled back alone: the first one holds, the accepted commands are stored
+		ObjectBoundary stored = restTemplate.getForObject(
+				baseUrl + "/aii/objects/{systemID}/{id}?userSystemID={userSystemID}&userEmail={userEmail}",
+				ObjectBoundary.class, spot.getObjectId().getSystemID(), spot.getObjectId().getId(), systemID, OPERATOR);
+		assertThat(stored.getStatus()).isEqualTo("RESERVED");
+		assertThat(stored.getObjectDetails()).containsEntry("heldBy", DRIVER + "@@" + systemID);
+
+		CommandBoundary[] commands = restTemplate.getForObject(
+				baseUrl + "/aii/admin/commands?userSystemID={systemID}&userEmail={email}&size=20",
+				CommandBoundary[].class, systemID, ADMIN);
+		assertThat(commands).extracting(CommandBoundary::getCommand)
+				.containsExactlyInAnyOrder("ping", "reserve", "ping");
+	}
+
+	private CommandBoundary command(String name, String invoker, ObjectBoundary target) {
+		CommandBoundary command = new CommandBoundary();
+		command.setCommand(name);
+		command.setInvokedBy(new InvokedBy(new UserBoundary.UserId(systemID, invoker)));
+		command.setTargetObject(new TargetObject(new ObjectId(target.getObjectId().getSystemID(),
+				target.getObjectId().getId())));
+		command.setCommandAttributes(Map.of());
+		return command;
+	}
+
+	private ObjectBoundary spot(String alias, boolean active) {
+		ObjectBoundary spot = new ObjectBoundary();
+		spot.setType("parking");
+		spot.setAlias(alias);
+		spot.setStatus("AVAILABLE");
+		spot.setActive(active);
+		spot.setLocation(new Location(32.1, 34.8));
+		spot.setCreatedBy(new CreatedBy(new UserBoundary.UserId(systemID, OPERATOR)));
+		return spot;
+	}
+}
@@ -0,0 +1,187 @@
+package aii;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import aii.converter.CommandConverter;
+import aii.dal.CommandsCrud;
+import aii.data.CommandEntity;
+import aii.logic.CommandLogWriter;
+import aii.logic.ServiceUnavailableException;
+
+// The write-behind log on its own: a mocked CommandsCrud records the batches, no database and no Spring context
+class CommandLogWriterTests {
+	private static final long LONG_INTERVAL_MS = 60000; // never reached by a test: only the size flushes
+
+	@TempDir
+	Path tempDir;
+
+	private final CommandsCrud commandsCrud = mock(CommandsCrud.class);
+	private final List<List<CommandEntity>> batches = new CopyOnWriteArrayList<>();
+	private CommandLogWriter writer;
+
+	@AfterEach
+	public void tearDown() {
+		if (this.writer != null) {
+			this.writer.stop();
+		}
+	}
+
+	@Test
+	@DisplayName("Test: A Full Batch Is Written Without Waiting for the Interval")
+	public void testFlushBySize() {
+		recordBatches();
+		this.writer = start(100, 3, LONG_INTERVAL_MS, 100);
+
+		for (int i = 0; i < 3; i++) {
+			this.writer.enqueue(command());
+		}
+
+		verify(this.commandsCrud, timeout(5000)).saveAll(argThat(batch -> size(batch) == 3));
+		assertThat(this.batches).hasSize(1);
+	}
+
+	@Test
+	@DisplayName("Test: A Partial Batch Is Written After the Flush Interval")
+	public void testFlushByInterval() {
+		recordBatches();
+		this.writer = start(100, 100, 50, 100);
+
+		this.writer.enqueue(command());
+		this.writer.enqueue(command());
+
+		verify(this.commandsCrud, timeout(5000)).saveAll(argThat(batch -> size(batch) == 2));
+		assertThat(this.writer.getWrittenCount()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("Test: A Full Queue Rejects Commands After the Offer Timeout")
+	public void testBackpressureRejection() throws InterruptedException {
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			writing.countDown();
+			release.await(10, TimeUnit.SECONDS); // the writer is stuck in this batch
+			return invocation.getArgument(0);
+		}).when(this.commandsCrud).saveAll(anyList());
+		this.writer = start(2, 1, LONG_INTERVAL_MS, 50);
+
+		this.writer.enqueue(command()); // taken by the writer
+		assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+		this.writer.enqueue(command()); // fills the queue
+		this.writer.enqueue(command());
+
+		assertThatThrownBy(() -> this.writer.enqueue(command())).isInstanceOf(ServiceUnavailableException.class);
+		assertThat(this.writer.getQueueSize()).isEqualTo(2);
+		release.countDown();
+	}
+
+	@Test
+	@DisplayName("Test: Stopping Writes Everything Still Queued, Then Rejects")
+	public void testShutdownDrain() {
+		recordBatches();
+		this.writer = start(100, 1000, 200, 100);
+
+		for (int i = 0; i < 5; i++) {
+			this.writer.enqueue(command());
+		}
+		this.writer.stop();
+
+		assertThat(this.batches.stream().mapToInt(List::size).sum()).isEqualTo(5);
+		assertThat(this.writer.getWrittenCount()).isEqualTo(5);
+		assertThat(this.writer.getQueueSize()).isZero();
+		assertThatThrownBy(() -> this.writer.enqueue(command())).isInstanceOf(ServiceUnavailableException.class);
+	}
+
+	@Test
+	@DisplayName("Test: A Failed Batch Is Retried Row by Row and Only the Bad Row Is Dead-Lettered")
+	public void testFailedBatchDeadLettersOnlyBadRows() throws Exception {
+		CommandEntity bad = command();
+		String badId = bad.getCommandId().substring(0, bad.getCommandId().indexOf("@@"));
+		when(this.commandsCrud.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("batch"));
+		when(this.commandsCrud.save(any(CommandEntity.class))).thenAnswer(invocation -> {
+			if (invocation.getArgument(0) == bad) {
+				throw new DataIntegrityViolationException("row");
+			}
+			return invocation.getArgument(0);
+		});
+		this.writer = start(100, 3, LONG_INTERVAL_MS, 100);
+
+		this.writer.enqueue(command());
+		this.writer.enqueue(bad);
+		this.writer.enqueue(command());
+		this.writer.stop();
+
+		assertThat(this.writer.getWrittenCount()).isEqualTo(2);
+		assertThat(this.writer.getFailedCount()).isEqualTo(1);
+		List<String> deadLetters = Files.readAllLines(this.tempDir.resolve("dead-letter.ndjson"));
+		assertThat(deadLetters).hasSize(1);
+		assertThat(deadLetters.get(0)).contains(badId);
+	}
+
+	private void recordBatches() {
+		when(this.commandsCrud.saveAll(anyList())).thenAnswer(invocation -> {
+			List<CommandEntity> batch = invocation.getArgument(0);
+			this.batches.add(new ArrayList<>(batch));
+			return batch;
+		});
+	}
+
+	private CommandLogWriter start(int queueCapacity, int flushSize, long flushIntervalMillis, long offerTimeoutMillis) {
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+		CommandLogWriter commandLogWriter = new CommandLogWriter(this.commandsCrud, new CommandConverter(),
+				new ObjectMapper(), transactionManager, true, queueCapacity, flushSize, flushIntervalMillis,
+				offerTimeoutMillis, 10000, this.tempDir.resolve("dead-letter.ndjson").toString());
+		commandLogWriter.start();
+		return commandLogWriter;
+	}
+
+	private static int size(Iterable<?> batch) {
+		int size = 0;
+		for (Object ignored : batch) {
+			size++;
+		}
+		return size;
+	}
+
+	private static CommandEntity command() {
+		CommandEntity entity = new CommandEntity();
+		entity.setCommandId(UUID.randomUUID() + "@@2025a.Shir.Falach");
+		entity.setCommand("ping");
+		entity.setInvokedBy("driver@demo.org@@2025a.Shir.Falach");
+		entity.setTargetObject("spot-1@@2025a.Shir.Falach");
+		entity.setInvocationTimestamp(new Date());
+		entity.setCommandAttributes(Map.of());
+		return entity;
+	}
+}
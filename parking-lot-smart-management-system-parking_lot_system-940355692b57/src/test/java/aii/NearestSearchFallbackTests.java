@@ -0,0 +1,36 @@
+package aii;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+// NearestSearchTests without the spatial index: the database answers with circles growing from 1 km (x4 each),
+// every one a bounded box query, and stops at the first circle holding k objects
+@TestPropertySource(properties = "aii.spatial-index.enabled=false")
+class NearestSearchFallbackTests extends NearestSearchTests {
+
+	@Test
+	@DisplayName("Test: A Circle Holding k Objects Ends the Search")
+	public void testStopsAtFirstFullCircle() {
+		SqlStatementCounter.reset();
+
+		assertThat(aliases(nearest("&k=2"))).containsExactly("a", "b");
+		assertThat(SqlStatementCounter.countOn("objects")).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Test: A Sparse Filter Grows the Circle Up to the Default Radius Only")
+	public void testGrowsUpToDefaultRadius() {
+		SqlStatementCounter.reset();
+
+		assertThat(aliases(nearest("&k=2&status=FREE"))).containsExactly("free");
+		// 1, 4, 16, then 50 km: never the whole table
+		assertThat(SqlStatementCounter.countOn("objects")).isEqualTo(4);
+		assertThat(SqlStatementCounter.statements())
+				.filteredOn(sql -> sql.toLowerCase().replaceAll("\\s+", " ").contains("from objects "))
+				.hasSize(4)
+				.allSatisfy(sql -> assertThat(sql.toLowerCase()).contains("between"));
+	}
+}
@@ -0,0 +1,115 @@
+package aii;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.client.RestTemplate;
+
+import aii.boundary.*;
+import aii.data.UserRole;
+
+// GET /aii/objects/search/nearest: the k nearest active objects in distance order, found within
+// aii.objects.nearest.max-distance-km (50) unless the request gives its own maxDistance.
+// Runs on the spatial index here, on the database queries in NearestSearchFallbackTests.
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=aii.SqlStatementCounter" })
+class NearestSearchTests {
+	protected static final double CENTER_LAT = 32.0;
+	protected static final double CENTER_LNG = 34.0;
+	private static final String ADMIN = "admin@demo.org";
+	private static final String OPERATOR = "operator@demo.org";
+	private static final String DRIVER = "driver@demo.org";
+
+	@LocalServerPort
+	private int port;
+
+	private String baseUrl;
+	private RestTemplate restTemplate;
+
+	@Value("${spring.application.name}")
+	private String systemID;
+
+	@BeforeEach
+	public void setup() {
+		this.baseUrl = "http://localhost:" + this.port;
+		this.restTemplate = new RestTemplate();
+
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary(ADMIN, UserRole.ADMIN, "Admin User", "admin-avatar"), UserBoundary.class);
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary(OPERATOR, UserRole.OPERATOR, "Operator User", "operator-avatar"),
+				UserBoundary.class);
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary(DRIVER, UserRole.END_USER, "Driver", "driver-avatar"), UserBoundary.class);
+
+		// due north of the center, at these distances (km)
+		create("d", 2, "AVAILABLE", true);
+		create("b", 0.5, "AVAILABLE", true);
+		create("inactive", 0.3, "AVAILABLE", false);
+		create("a", 0.2, "AVAILABLE", true);
+		create("free", 30, "FREE", true);
+		create("far-free", 100, "FREE", true);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.restTemplate.delete(baseUrl + "/aii/admin/objects?userSystemID=" + systemID + "&userEmail=" + ADMIN);
+		this.restTemplate.delete(baseUrl + "/aii/admin/users?userSystemID=" + systemID + "&userEmail=" + ADMIN);
+	}
+
+	@Test
+	@DisplayName("Test: The k Nearest Active Objects Come Nearest First With Their Distance")
+	public void testNearestOrder() {
+		ObjectBoundary[] nearest = nearest("&k=3");
+
+		assertThat(aliases(nearest)).containsExactly("a", "b", "d");
+		assertThat(nearest[0].getDistance()).isCloseTo(0.2, within(0.001));
+		assertThat(nearest[1].getDistance()).isCloseTo(0.5, within(0.001));
+		assertThat(nearest[2].getDistance()).isCloseTo(2, within(0.001));
+	}
+
+	@Test
+	@DisplayName("Test: A Sparse Filter Finds Its Match Far From the Center")
+	public void testSparseFilter() {
+		assertThat(aliases(nearest("&k=1&status=FREE"))).containsExactly("free");
+	}
+
+	@Test
+	@DisplayName("Test: Without maxDistance Nothing Beyond the Default Radius Is Returned")
+	public void testDefaultRadius() {
+		assertThat(aliases(nearest("&k=5&status=FREE"))).containsExactly("free");
+		assertThat(aliases(nearest("&k=5&status=FREE&maxDistance=200"))).containsExactly("free", "far-free");
+		assertThat(aliases(nearest("&k=5&maxDistance=1"))).containsExactly("a", "b");
+	}
+
+	protected ObjectBoundary[] nearest(String query) {
+		return restTemplate.getForObject(baseUrl + "/aii/objects/search/nearest/" + CENTER_LAT + "/" + CENTER_LNG
+				+ "?userSystemID=" + systemID + "&userEmail=" + DRIVER + query, ObjectBoundary[].class);
+	}
+
+	protected static List<String> aliases(ObjectBoundary[] objects) {
+		return Arrays.stream(objects).map(ObjectBoundary::getAlias).toList();
+	}
+
+	private void create(String alias, double kmNorth, String status, boolean active) {
+		ObjectBoundary object = new ObjectBoundary();
+		object.setType("parking");
+		object.setAlias(alias);
+		object.setStatus(status);
+		object.setActive(active);
+		object.setLocation(new Location(CENTER_LAT + Math.toDegrees(kmNorth / 6371.0), CENTER_LNG));
+		object.setCreatedBy(new CreatedBy(new UserBoundary.UserId(systemID, OPERATOR)));
+		restTemplate.postForObject(baseUrl + "/aii/objects", object, ObjectBoundary.class);
+	}
+}
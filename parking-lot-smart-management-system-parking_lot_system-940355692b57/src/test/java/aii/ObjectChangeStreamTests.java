@@ -0,0 +1,245 @@
+package aii;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.client.RestTemplate;
+
+import aii.boundary.*;
+import aii.boundary.CommandBoundary.InvokedBy;
+import aii.boundary.CommandBoundary.TargetObject;
+import aii.data.UserRole;
+import aii.logic.ObjectChangeFeed;
+
+// GET /aii/objects/stream end to end, a subscriber that stops reading must not hold up the others and open streams
+// must not hold database connections. Short heartbeats notice closed streams quickly, a short connection timeout
+// fails a request waiting for the pool quickly.
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"aii.objects.stream.subscriber-queue-capacity=4",
+		"aii.objects.stream.heartbeat-interval-ms=200",
+		"spring.datasource.hikari.connection-timeout=2000" })
+class ObjectChangeStreamTests {
+	private static final String ADMIN = "admin@demo.org";
+	private static final String OPERATOR = "operator@demo.org";
+	private static final String DRIVER = "driver@demo.org";
+	private static final long WAIT_SECONDS = 10;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private ObjectChangeFeed changeFeed;
+
+	private String baseUrl;
+	private RestTemplate restTemplate;
+
+	@Value("${spring.application.name}")
+	private String systemID;
+
+	@Value("${spring.datasource.hikari.maximum-pool-size}")
+	private int maximumPoolSize;
+
+	private ObjectBoundary spot;
+
+	@BeforeEach
+	public void setup() {
+		this.baseUrl = "http://localhost:" + this.port;
+		this.restTemplate = new RestTemplate();
+
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary(ADMIN, UserRole.ADMIN, "Admin User", "admin-avatar"), UserBoundary.class);
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary(OPERATOR, UserRole.OPERATOR, "Operator User", "operator-avatar"),
+				UserBoundary.class);
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary(DRIVER, UserRole.END_USER, "Driver", "driver-avatar"), UserBoundary.class);
+
+		ObjectBoundary newObject = new ObjectBoundary();
+		newObject.setType("parking");
+		newObject.setAlias("streamed-spot");
+		newObject.setStatus("AVAILABLE");
+		newObject.setActive(true);
+		newObject.setLocation(new Location(32.1, 34.8));
+		newObject.setCreatedBy(new CreatedBy(new UserBoundary.UserId(systemID, OPERATOR)));
+		this.spot = restTemplate.postForObject(baseUrl + "/aii/objects", newObject, ObjectBoundary.class);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.restTemplate.delete(baseUrl + "/aii/admin/commands?userSystemID=" + systemID + "&userEmail=" + ADMIN);
+		this.restTemplate.delete(baseUrl + "/aii/admin/objects?userSystemID=" + systemID + "&userEmail=" + ADMIN);
+		this.restTemplate.delete(baseUrl + "/aii/admin/users?userSystemID=" + systemID + "&userEmail=" + ADMIN);
+	}
+
+	@Test
+	@DisplayName("Test: A Spot Change Arrives on the Open Stream")
+	public void testSpotChangeArrivesOnStream() throws Exception {
+		HttpClient client = HttpClient.newHttpClient();
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/aii/objects/stream?userSystemID="
+				+ systemID + "&userEmail=" + DRIVER + "&type=parking")).GET().build();
+		BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+		int subscribers = this.changeFeed.getSubscriberCount();
+
+		// the headers may only be written with the first event: subscribed once the feed counts the stream
+		CompletableFuture<HttpResponse<Stream<String>>> stream = client.sendAsync(request,
+				HttpResponse.BodyHandlers.ofLines());
+		awaitTrue(() -> this.changeFeed.getSubscriberCount() == subscribers + 1);
+
+		restTemplate.postForObject(baseUrl + "/aii/commands", reserve(), Object[].class);
+
+		HttpResponse<Stream<String>> response = stream.get(WAIT_SECONDS, TimeUnit.SECONDS);
+		Thread reader = new Thread(() -> response.body().forEach(lines::add), "stream-reader");
+		reader.setDaemon(true);
+		reader.start();
+		try {
+			assertThat(response.statusCode()).isEqualTo(200);
+			String event = null;
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+			while (event == null && System.nanoTime() < deadline) {
+				String line = lines.poll(100, TimeUnit.MILLISECONDS);
+				if (line != null && line.startsWith("data:") && line.contains(this.spot.getObjectId().getId())) {
+					event = line;
+				}
+			}
+			assertThat(event).as("object-change event of the reserved spot").isNotNull();
+			assertThat(event).contains("\"status\":\"RESERVED\"").contains("\"previousStatus\":\"AVAILABLE\"");
+		} finally {
+			response.body().close();
+			reader.interrupt();
+		}
+	}
+
+	@Test
+	@DisplayName("Test: A Subscriber That Stops Reading Is Dropped Without Delaying the Others")
+	public void testLaggingSubscriberIsDropped() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch slowClosed = new CountDownLatch(1);
+		List<ObjectChangeEvent> received = new CopyOnWriteArrayList<>();
+		long lagging = this.changeFeed.getLaggingCount();
+
+		ObjectChangeFeed.Subscription slow = this.changeFeed.subscribe(event -> true, new TestListener() {
+			@Override
+			public void onChange(ObjectChangeEvent event) {
+				try {
+					release.await(); // a client that stopped reading: its write never completes
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+
+			@Override
+			public void onClose() {
+				slowClosed.countDown();
+			}
+		});
+		ObjectChangeFeed.Subscription fast = this.changeFeed.subscribe(event -> true, new TestListener() {
+			@Override
+			public void onChange(ObjectChangeEvent event) {
+				received.add(event);
+			}
+		});
+		try {
+			int changes = 20; // far more than the subscriber queue (4)
+			for (int i = 0; i < changes; i++) {
+				this.changeFeed.publish(ObjectChangeEvent.of(this.spot, null)); // no transaction: queued right away
+			}
+
+			awaitTrue(() -> received.size() == changes);
+			assertThat(slowClosed.await(WAIT_SECONDS, TimeUnit.SECONDS)).as("lagging stream completed").isTrue();
+			assertThat(this.changeFeed.getLaggingCount()).isEqualTo(lagging + 1);
+		} finally {
+			release.countDown();
+			slow.cancel();
+			fast.cancel();
+		}
+	}
+
+	@Test
+	@DisplayName("Test: Open Streams of More Users Than Pooled Connections Leave the Pool to Other Requests")
+	public void testOpenStreamsHoldNoConnections() throws Exception {
+		int streams = this.maximumPoolSize + 2;
+		HttpClient client = HttpClient.newHttpClient();
+		int subscribers = this.changeFeed.getSubscriberCount();
+		List<CompletableFuture<HttpResponse<Stream<String>>>> opened = new ArrayList<>();
+
+		// distinct users: each stream looks its caller up in the database (role cache miss)
+		for (int i = 0; i < streams; i++) {
+			String email = "streamer" + i + "@demo.org";
+			restTemplate.postForObject(baseUrl + "/aii/users",
+					new NewUserBoundary(email, UserRole.END_USER, "Streamer " + i, "streamer-avatar"),
+					UserBoundary.class);
+			HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/aii/objects/stream?userSystemID="
+					+ systemID + "&userEmail=" + email)).GET().build();
+			opened.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofLines()));
+		}
+		try {
+			awaitTrue(() -> this.changeFeed.getSubscriberCount() == subscribers + streams);
+
+			ObjectBoundary found = restTemplate.getForObject(
+					baseUrl + "/aii/objects/{systemID}/{id}?userSystemID={userSystemID}&userEmail={userEmail}",
+					ObjectBoundary.class, this.spot.getObjectId().getSystemID(), this.spot.getObjectId().getId(),
+					systemID, OPERATOR);
+			assertThat(found.getAlias()).isEqualTo("streamed-spot");
+		} finally {
+			// one change writes the headers of every stream, then the clients hang up
+			restTemplate.postForObject(baseUrl + "/aii/commands", reserve(), Object[].class);
+			for (CompletableFuture<HttpResponse<Stream<String>>> stream : opened) {
+				stream.get(WAIT_SECONDS, TimeUnit.SECONDS).body().close();
+			}
+			awaitTrue(() -> this.changeFeed.getSubscriberCount() == subscribers);
+		}
+	}
+
+	private CommandBoundary reserve() {
+		CommandBoundary command = new CommandBoundary();
+		command.setCommand("reserve");
+		command.setInvokedBy(new InvokedBy(new UserBoundary.UserId(systemID, DRIVER)));
+		command.setTargetObject(new TargetObject(new ObjectId(spot.getObjectId().getSystemID(),
+				spot.getObjectId().getId())));
+		command.setCommandAttributes(Map.of());
+		return command;
+	}
+
+	private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+		while (!condition.getAsBoolean()) {
+			assertThat(System.nanoTime() < deadline).as("condition reached within " + WAIT_SECONDS + "s").isTrue();
+			Thread.sleep(20);
+		}
+	}
+
+	private abstract static class TestListener implements ObjectChangeFeed.Listener {
+		@Override
+		public void onHeartbeat() throws IOException {
+		}
+
+		@Override
+		public void onClose() {
+		}
+	}
+}
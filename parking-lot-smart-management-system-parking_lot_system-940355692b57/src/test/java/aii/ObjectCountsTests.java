@@ -0,0 +1,197 @@
+package aii;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.client.RestTemplate;
+
+import aii.boundary.*;
+import aii.boundary.CommandBoundary.InvokedBy;
+import aii.boundary.CommandBoundary.TargetObject;
+import aii.dal.ObjectCountCrud;
+import aii.data.ObjectCountEntity;
+import aii.data.UserRole;
+import aii.logic.ObjectOccupancyCounts;
+
+// GET /aii/objects/stats follows every writer of OBJECTS, and the reconciliation repairs counts that drifted
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+class ObjectCountsTests {
+	private static final String ADMIN = "admin@demo.org";
+	private static final String OPERATOR = "operator@demo.org";
+	private static final String DRIVER = "driver@demo.org";
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private ObjectCountCrud countCrud;
+
+	@Autowired
+	private ObjectOccupancyCounts occupancyCounts;
+
+	private String baseUrl;
+	private RestTemplate restTemplate;
+
+	@Value("${spring.application.name}")
+	private String systemID;
+
+	private ObjectBoundary first;
+	private ObjectBoundary second;
+
+	@BeforeEach
+	public void setup() {
+		this.baseUrl = "http://localhost:" + this.port;
+		this.restTemplate = new RestTemplate();
+
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary(ADMIN, UserRole.ADMIN, "Admin User", "admin-avatar"), UserBoundary.class);
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary(OPERATOR, UserRole.OPERATOR, "Operator User", "operator-avatar"),
+				UserBoundary.class);
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary(DRIVER, UserRole.END_USER, "Driver", "driver-avatar"), UserBoundary.class);
+
+		this.first = restTemplate.postForObject(baseUrl + "/aii/objects", spot("spot-1"), ObjectBoundary.class);
+		this.second = restTemplate.postForObject(baseUrl + "/aii/objects", spot("spot-2"), ObjectBoundary.class);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.restTemplate.delete(baseUrl + "/aii/admin/commands?userSystemID=" + systemID + "&userEmail=" + ADMIN);
+		this.restTemplate.delete(baseUrl + "/aii/admin/objects?userSystemID=" + systemID + "&userEmail=" + ADMIN);
+		this.restTemplate.delete(baseUrl + "/aii/admin/users?userSystemID=" + systemID + "&userEmail=" + ADMIN);
+	}
+
+	@Test
+	@DisplayName("Test: Created Objects Are Counted")
+	public void testCreateIsCounted() {
+		assertThat(counts()).isEqualTo(Map.of("parking/AVAILABLE", 2L));
+	}
+
+	@Test
+	@DisplayName("Test: An Update Moves the Object to Its New Group and Empties the Old One")
+	public void testUpdateMovesCount() {
+		this.first.setStatus("OCCUPIED");
+		update(this.first);
+		assertThat(counts()).isEqualTo(Map.of("parking/AVAILABLE", 1L, "parking/OCCUPIED", 1L));
+
+		this.second.setStatus("OCCUPIED");
+		update(this.second);
+		assertThat(counts()).isEqualTo(Map.of("parking/OCCUPIED", 2L));
+		assertNoEmptyRows();
+	}
+
+	@Test
+	@DisplayName("Test: A Spot Status Command Moves the Count")
+	public void testStatusCommandMovesCount() {
+		restTemplate.postForObject(baseUrl + "/aii/commands", reserve(this.first), Object[].class);
+		restTemplate.postForObject(baseUrl + "/aii/commands", reserve(this.second), Object[].class);
+
+		assertThat(counts()).isEqualTo(Map.of("parking/RESERVED", 2L));
+		assertNoEmptyRows();
+	}
+
+	@Test
+	@DisplayName("Test: Deleting All Objects Clears the Counts")
+	public void testDeleteAllClearsCounts() {
+		this.restTemplate.delete(baseUrl + "/aii/admin/objects?userSystemID=" + systemID + "&userEmail=" + ADMIN);
+
+		assertThat(counts()).isEmpty();
+		assertThat(this.countCrud.count()).isZero();
+	}
+
+	@Test
+	@DisplayName("Test: Reconciliation Corrects Drifted Counts")
+	public void testReconcileCorrectsDrift() {
+		ObjectCountEntity row = this.countCrud.findAll().get(0);
+		row.setObjectCount(42); // a count off from OBJECTS
+		this.countCrud.save(row);
+		this.countCrud.save(new ObjectCountEntity("parking", "OCCUPIED", true, 0, 0, 5)); // a group with no objects
+		assertThat(counts()).isEqualTo(Map.of("parking/AVAILABLE", 42L, "parking/OCCUPIED", 5L));
+
+		assertThat(this.occupancyCounts.reconcile()).isEqualTo(2);
+
+		assertThat(counts()).isEqualTo(Map.of("parking/AVAILABLE", 2L));
+		assertThat(this.countCrud.count()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Test: Long Types and Statuses Are Counted")
+	public void testLongDimensions() {
+		ObjectBoundary spot = spot("long-spot");
+		spot.setType("t".repeat(255));
+		spot.setStatus("s".repeat(255));
+		restTemplate.postForObject(baseUrl + "/aii/objects", spot, ObjectBoundary.class);
+
+		assertThat(counts()).containsEntry("t".repeat(255) + "/" + "s".repeat(255), 1L);
+	}
+
+	@Test
+	@DisplayName("Test: Separators Inside Types and Statuses Do Not Merge Groups")
+	public void testSeparatorsKeepGroupsApart() {
+		ObjectBoundary left = spot("left");
+		left.setType("a|b");
+		left.setStatus("c");
+		ObjectBoundary right = spot("right");
+		right.setType("a");
+		right.setStatus("b|c");
+		restTemplate.postForObject(baseUrl + "/aii/objects", left, ObjectBoundary.class);
+		restTemplate.postForObject(baseUrl + "/aii/objects", right, ObjectBoundary.class);
+
+		assertThat(counts()).containsEntry("a|b/c", 1L).containsEntry("a/b|c", 1L);
+		assertThat(this.occupancyCounts.reconcile()).isZero();
+	}
+
+	// type/status -> count, as the operator sees them
+	private Map<String, Long> counts() {
+		ObjectCountBoundary[] counts = restTemplate.getForObject(
+				baseUrl + "/aii/objects/stats?groupBy=type,status&userSystemID={systemID}&userEmail={email}",
+				ObjectCountBoundary[].class, systemID, OPERATOR);
+		Map<String, Long> result = new TreeMap<>();
+		for (ObjectCountBoundary count : counts) {
+			result.put(count.getType() + "/" + count.getStatus(), count.getCount());
+		}
+		return result;
+	}
+
+	private void assertNoEmptyRows() {
+		assertThat(this.countCrud.findAll()).allSatisfy(row -> assertThat(row.getObjectCount()).isPositive());
+	}
+
+	private void update(ObjectBoundary object) {
+		restTemplate.put(baseUrl + "/aii/objects/{systemID}/{id}?userSystemID={userSystemID}&userEmail={userEmail}",
+				object, object.getObjectId().getSystemID(), object.getObjectId().getId(), systemID, OPERATOR);
+	}
+
+	private ObjectBoundary spot(String alias) {
+		ObjectBoundary spot = new ObjectBoundary();
+		spot.setType("parking");
+		spot.setAlias(alias);
+		spot.setStatus("AVAILABLE");
+		spot.setActive(true);
+		spot.setLocation(new Location(32.1, 34.8));
+		spot.setCreatedBy(new CreatedBy(new UserBoundary.UserId(systemID, OPERATOR)));
+		return spot;
+	}
+
+	private CommandBoundary reserve(ObjectBoundary spot) {
+		CommandBoundary command = new CommandBoundary();
+		command.setCommand("reserve");
+		command.setInvokedBy(new InvokedBy(new UserBoundary.UserId(systemID, DRIVER)));
+		command.setTargetObject(new TargetObject(new ObjectId(spot.getObjectId().getSystemID(),
+				spot.getObjectId().getId())));
+		command.setCommandAttributes(Map.of());
+		return command;
+	}
+}
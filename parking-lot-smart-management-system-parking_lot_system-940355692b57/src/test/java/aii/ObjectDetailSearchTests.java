@@ -0,0 +1,131 @@
+package aii;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.client.RestTemplate;
+
+import aii.boundary.*;
+import aii.data.UserRole;
+
+// GET /aii/objects/search/byDetail/{key}/{value} on H2 matches top-level members only, like @> on PostgreSQL
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+class ObjectDetailSearchTests {
+	private static final String ADMIN = "admin@demo.org";
+	private static final String OPERATOR = "operator@demo.org";
+	private static final String DRIVER = "driver@demo.org";
+
+	@LocalServerPort
+	private int port;
+
+	private String baseUrl;
+	private RestTemplate restTemplate;
+
+	@Value("${spring.application.name}")
+	private String systemID;
+
+	@BeforeEach
+	public void setup() {
+		this.baseUrl = "http://localhost:" + this.port;
+		this.restTemplate = new RestTemplate();
+
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary(ADMIN, UserRole.ADMIN, "Admin User", "admin-avatar"), UserBoundary.class);
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary(OPERATOR, UserRole.OPERATOR, "Operator User", "operator-avatar"),
+				UserBoundary.class);
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary(DRIVER, UserRole.END_USER, "Driver", "driver-avatar"), UserBoundary.class);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.restTemplate.delete(baseUrl + "/aii/admin/objects?userSystemID=" + systemID + "&userEmail=" + ADMIN);
+		this.restTemplate.delete(baseUrl + "/aii/admin/users?userSystemID=" + systemID + "&userEmail=" + ADMIN);
+	}
+
+	@Test
+	@DisplayName("Test: Only a Top-Level Key With the Same Typed Value Matches")
+	public void testTopLevelTypedMatch() {
+		create("top-level", true, Map.of("hasEVCharger", true, "floor", 2));
+		create("nested", true, Map.of("meta", Map.of("hasEVCharger", true)));
+		create("other-value", true, Map.of("hasEVCharger", false));
+		create("text-value", true, Map.of("hasEVCharger", "true"));
+
+		assertThat(aliases(search("hasEVCharger", "true", OPERATOR, 0, 10))).containsExactly("top-level");
+		assertThat(aliases(search("floor", "2", OPERATOR, 0, 10))).containsExactly("top-level");
+		assertThat(aliases(search("hasEVCharger", "false", OPERATOR, 0, 10))).containsExactly("other-value");
+	}
+
+	@Test
+	@DisplayName("Test: A Text Value Must Match Whole")
+	public void testTextValueMatch() {
+		create("north", true, Map.of("zone", "north"));
+		create("north-east", true, Map.of("zone", "north-east"));
+
+		assertThat(aliases(search("zone", "north", OPERATOR, 0, 10))).containsExactly("north");
+	}
+
+	@Test
+	@DisplayName("Test: Pages Count Only Matches, Nested Pairs Are Skipped")
+	public void testPagesSkipNestedPairs() {
+		for (int i = 0; i < 3; i++) {
+			create("match-" + i, true, Map.of("covered", true));
+			create("nested-" + i, true, Map.of("roof", Map.of("covered", true)));
+		}
+
+		List<String> first = aliases(search("covered", "true", OPERATOR, 0, 2));
+		List<String> second = aliases(search("covered", "true", OPERATOR, 1, 2));
+
+		assertThat(first).hasSize(2);
+		assertThat(second).hasSize(1);
+		List<String> all = new ArrayList<>(first);
+		all.addAll(second);
+		assertThat(all).containsExactlyInAnyOrder("match-0", "match-1", "match-2");
+	}
+
+	@Test
+	@DisplayName("Test: End Users Do Not Find Inactive Objects")
+	public void testEndUserSeesActiveOnly() {
+		create("active", true, Map.of("hasEVCharger", true));
+		create("inactive", false, Map.of("hasEVCharger", true));
+
+		assertThat(aliases(search("hasEVCharger", "true", DRIVER, 0, 10))).containsExactly("active");
+		assertThat(aliases(search("hasEVCharger", "true", OPERATOR, 0, 10)))
+				.containsExactlyInAnyOrder("active", "inactive");
+	}
+
+	private ObjectBoundary[] search(String key, String value, String email, int page, int size) {
+		return restTemplate.getForObject(baseUrl + "/aii/objects/search/byDetail/{key}/{value}"
+				+ "?userSystemID={systemID}&userEmail={email}&page={page}&size={size}",
+				ObjectBoundary[].class, key, value, systemID, email, page, size);
+	}
+
+	private void create(String alias, boolean active, Map<String, Object> details) {
+		ObjectBoundary object = new ObjectBoundary();
+		object.setType("parking");
+		object.setAlias(alias);
+		object.setStatus("AVAILABLE");
+		object.setActive(active);
+		object.setLocation(new Location(32.1, 34.8));
+		object.setCreatedBy(new CreatedBy(new UserBoundary.UserId(systemID, OPERATOR)));
+		object.setObjectDetails(details);
+		restTemplate.postForObject(baseUrl + "/aii/objects", object, ObjectBoundary.class);
+	}
+
+	private static List<String> aliases(ObjectBoundary[] objects) {
+		return Arrays.stream(objects).map(ObjectBoundary::getAlias).toList();
+	}
+}
@@ -0,0 +1,150 @@
+package aii;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import aii.dal.ObjectCrud;
+import aii.data.ObjectEntity;
+import aii.data.ObjectLocation;
+import aii.logic.ObjectOccupancyCounts;
+import aii.logic.ObjectsSpatialIndex;
+
+// The in-memory location index answers like the database queries it replaces, picks up rows it was not told
+// about on a rebuild, and keeps the changes committed while a rebuild reads OBJECTS
+@SpringBootTest
+class ObjectsSpatialIndexTests {
+	private static final double CENTER_LAT = 32.1;
+	private static final double CENTER_LNG = 34.8;
+	private static final PageRequest ALL = PageRequest.of(0, 1000);
+
+	@Autowired
+	private ObjectCrud objectCrud;
+
+	@Autowired
+	private ObjectsSpatialIndex spatialIndex;
+
+	@Autowired
+	private ObjectOccupancyCounts occupancyCounts;
+
+	@BeforeEach
+	public void setup() {
+		// written straight to OBJECTS, not through the logic: only a rebuild brings them into the index
+		Random random = new Random(42);
+		for (int i = 0; i < 200; i++) {
+			this.objectCrud.save(object(CENTER_LAT + (random.nextDouble() - 0.5) * 0.4,
+					CENTER_LNG + (random.nextDouble() - 0.5) * 0.4, i % 4 != 0));
+		}
+		this.spatialIndex.rebuild();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.objectCrud.deleteAll();
+		this.spatialIndex.rebuild();
+		this.occupancyCounts.reconcile(); // in case the background reconciliation counted these rows
+	}
+
+	@Test
+	@DisplayName("Test: Box Searches Match the Database")
+	public void testBoxMatchesDatabase() {
+		double minLat = CENTER_LAT - 0.07, maxLat = CENTER_LAT + 0.05;
+		double minLng = CENTER_LNG - 0.03, maxLng = CENTER_LNG + 0.09;
+		for (Boolean active : new Boolean[] { null, true }) {
+			Set<String> indexed = ids(this.spatialIndex.findInBox(minLat, maxLat, minLng, maxLng, active).orElseThrow());
+			Set<String> queried = entityIds(this.objectCrud.findObjectsInBox(minLat, maxLat, minLng, maxLng, active, ALL));
+
+			assertThat(queried).isNotEmpty();
+			assertThat(indexed).isEqualTo(queried);
+		}
+	}
+
+	@Test
+	@DisplayName("Test: Circle Searches Match the Database")
+	public void testCircleMatchesDatabase() {
+		for (double distanceInKm : new double[] { 0.5, 3, 12 }) {
+			for (Boolean active : new Boolean[] { null, true }) {
+				Set<String> indexed = ids(this.spatialIndex.findInCircle(CENTER_LAT, CENTER_LNG, distanceInKm, active)
+						.orElseThrow());
+				// the whole world as the prefilter box: the exact distance alone decides
+				Set<String> queried = entityIds(this.objectCrud.findObjectsInCircle(CENTER_LAT, CENTER_LNG,
+						distanceInKm, -90, 90, -180, 180, active, ALL));
+
+				assertThat(indexed).as("%s km, active %s", distanceInKm, active).isEqualTo(queried);
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("Test: A Rebuild Picks Up Rows Written Outside the Logic")
+	public void testRebuildPicksUpDrift() {
+		ObjectEntity added = this.objectCrud.save(object(CENTER_LAT, CENTER_LNG, true));
+		assertThat(ids(this.spatialIndex.findInCircle(CENTER_LAT, CENTER_LNG, 0.01, null).orElseThrow()))
+				.doesNotContain(added.getId());
+
+		this.spatialIndex.rebuild();
+
+		assertThat(ids(this.spatialIndex.findInCircle(CENTER_LAT, CENTER_LNG, 0.01, null).orElseThrow()))
+				.contains(added.getId());
+	}
+
+	@Test
+	@DisplayName("Test: Changes Committed While a Rebuild Reads Are Kept")
+	public void testRebuildKeepsChangesDuringRead() {
+		ObjectCrud crud = mock(ObjectCrud.class);
+		ObjectsSpatialIndex index = new ObjectsSpatialIndex(crud, true, 0.01, 40000, 300000);
+		ObjectEntity moved = object(20, 20, true);
+		ObjectEntity created = object(30, 30, true);
+		when(crud.findAllLocations()).thenAnswer(invocation -> {
+			// committed after the rows were read: the read still has 'moved' at its old place, not 'created'
+			index.put(moved);
+			index.put(created);
+			ObjectEntity old = object(10, 10, true);
+			old.setId(moved.getId());
+			return List.of(ObjectLocation.of(old));
+		});
+
+		index.rebuild();
+
+		assertThat(ids(index.findInBox(19, 21, 19, 21, null).orElseThrow())).containsExactly(moved.getId());
+		assertThat(ids(index.findInBox(29, 31, 29, 31, null).orElseThrow())).containsExactly(created.getId());
+		assertThat(index.findInBox(9, 11, 9, 11, null).orElseThrow()).isEmpty();
+	}
+
+	private static ObjectEntity object(double lat, double lng, boolean active) {
+		ObjectEntity entity = new ObjectEntity();
+		entity.setId(UUID.randomUUID() + "@@2025a.Shir.Falach");
+		entity.setCreationTimestamp(new Date());
+		entity.setType("parking");
+		entity.setAlias("spot");
+		entity.setStatus("AVAILABLE");
+		entity.setActive(active);
+		entity.setLat(lat);
+		entity.setLng(lng);
+		entity.setCreatedBy("operator@demo.org@@2025a.Shir.Falach");
+		return entity;
+	}
+
+	private static Set<String> ids(List<ObjectLocation> locations) {
+		return locations.stream().map(ObjectLocation::objectId).collect(Collectors.toSet());
+	}
+
+	private static Set<String> entityIds(List<ObjectEntity> entities) {
+		return entities.stream().map(ObjectEntity::getId).collect(Collectors.toSet());
+	}
+}
@@ -0,0 +1,182 @@
+package aii;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.client.RestTemplate;
+
+import aii.boundary.*;
+import aii.boundary.CommandBoundary.InvokedBy;
+import aii.boundary.CommandBoundary.TargetObject;
+import aii.data.UserRole;
+
+// Every route resolves its caller once: exactly one USERS lookup per request, whatever the controller,
+// logic and nested object lookups ask for. The role cache expires immediately here (ttl 0) so every
+// request has to resolve the user itself (the admin exports check again on their streaming thread).
+// GET /aii/objects/stream is not covered: it never completes.
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=aii.SqlStatementCounter",
+		"aii.user-role-cache.ttl-seconds=0" })
+class PrincipalQueryCountTests {
+	private static final String ADMIN = "admin@demo.org";
+	private static final String OPERATOR = "operator@demo.org";
+	private static final String DRIVER = "driver@demo.org";
+
+	@LocalServerPort
+	private int port;
+
+	private String baseUrl;
+	private RestTemplate restTemplate;
+
+	@Value("${spring.application.name}")
+	private String systemID;
+
+	private ObjectBoundary createdObject;
+	private boolean usersDeleted;
+
+	@BeforeEach
+	public void setup() {
+		this.baseUrl = "http://localhost:" + this.port;
+		this.restTemplate = new RestTemplate();
+		this.usersDeleted = false;
+
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary(ADMIN, UserRole.ADMIN, "Admin User", "admin-avatar"), UserBoundary.class);
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary(OPERATOR, UserRole.OPERATOR, "Operator User", "operator-avatar"),
+				UserBoundary.class);
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary(DRIVER, UserRole.END_USER, "Driver", "driver-avatar"), UserBoundary.class);
+		this.createdObject = restTemplate.postForObject(baseUrl + "/aii/objects", spot("spot-1"), ObjectBoundary.class);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.restTemplate.delete(baseUrl + "/aii/admin/commands?userSystemID=" + systemID + "&userEmail=" + ADMIN);
+		this.restTemplate.delete(baseUrl + "/aii/admin/objects?userSystemID=" + systemID + "&userEmail=" + ADMIN);
+		if (!this.usersDeleted) {
+			this.restTemplate.delete(baseUrl + "/aii/admin/users?userSystemID=" + systemID + "&userEmail=" + ADMIN);
+		}
+	}
+
+	@Test
+	@DisplayName("Test: User Routes Look the User Up Once")
+	public void testUserRoutesLookUpOnce() {
+		assertOneUserLookup("POST /aii/users", () -> restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary("new@demo.org", UserRole.END_USER, "New User", "new-avatar"), UserBoundary.class));
+		assertOneUserLookup("GET /aii/users/login", () -> restTemplate
+				.getForObject(baseUrl + "/aii/users/login/{systemID}/{email}", UserBoundary.class, systemID, DRIVER));
+		assertOneUserLookup("PUT /aii/users", () -> restTemplate.put(baseUrl + "/aii/users/{systemID}/{email}",
+				new UserBoundary(new UserBoundary.UserId(systemID, DRIVER), UserRole.END_USER, "Driver Renamed",
+						"driver-avatar"),
+				systemID, DRIVER));
+	}
+
+	@Test
+	@DisplayName("Test: Object Routes Look the User Up Once")
+	public void testObjectRoutesLookUpOnce() {
+		String user = "userSystemID=" + systemID + "&userEmail=" + DRIVER;
+		String objects = baseUrl + "/aii/objects";
+
+		assertOneUserLookup("POST /aii/objects",
+				() -> restTemplate.postForObject(objects, spot("spot-2"), ObjectBoundary.class));
+		assertOneUserLookup("PUT /aii/objects", () -> restTemplate.put(objects + "/{systemID}/{id}?userSystemID={userSystemID}&userEmail={userEmail}",
+				createdObject, createdObject.getObjectId().getSystemID(), createdObject.getObjectId().getId(),
+				systemID, OPERATOR));
+		assertOneUserLookup("GET /aii/objects/{systemID}/{id}", () -> restTemplate.getForObject(
+				objects + "/{systemID}/{id}?" + user, ObjectBoundary.class,
+				createdObject.getObjectId().getSystemID(), createdObject.getObjectId().getId()));
+
+		for (String route : List.of("", "/search/byAlias/spot-1", "/search/byAliasPattern/spot",
+				"/search/byType/parking", "/search/byDetail/hasEVCharger/true",
+				"/search/byTypeAndStatus/parking/AVAILABLE", "/search/byLocation/32.1/34.8/5",
+				"/search/nearest/32.1/34.8")) {
+			assertOneUserLookup("GET /aii/objects" + route,
+					() -> restTemplate.getForObject(objects + route + "?" + user, ObjectBoundary[].class));
+		}
+		assertOneUserLookup("GET /aii/objects/stats",
+				() -> restTemplate.getForObject(objects + "/stats?groupBy=type,area&" + user, ObjectCountBoundary[].class));
+	}
+
+	@Test
+	@DisplayName("Test: Command Routes Look the Invoker Up Once")
+	public void testCommandRoutesLookUpOnce() {
+		// the target object check goes through the object logic, which resolves the invoker again
+		assertOneUserLookup("POST /aii/commands",
+				() -> restTemplate.postForObject(baseUrl + "/aii/commands", ping(), Object[].class));
+		assertOneUserLookup("POST /aii/commands/batch", () -> restTemplate
+				.postForObject(baseUrl + "/aii/commands/batch", List.of(ping(), ping(), ping()), Object[].class));
+		assertOneUserLookup("GET /aii/commands/byObject", () -> restTemplate.getForObject(
+				baseUrl + "/aii/commands/byObject/{systemID}/{id}?userSystemID={userSystemID}&userEmail={userEmail}",
+				CommandBoundary[].class, createdObject.getObjectId().getSystemID(), createdObject.getObjectId().getId(),
+				systemID, OPERATOR));
+		assertOneUserLookup("GET /aii/commands/byUser", () -> restTemplate.getForObject(
+				baseUrl + "/aii/commands/byUser/{systemID}/{email}?userSystemID={userSystemID}&userEmail={userEmail}",
+				CommandBoundary[].class, systemID, DRIVER, systemID, DRIVER));
+	}
+
+	@Test
+	@DisplayName("Test: Admin Routes Look the Admin Up Once")
+	public void testAdminRoutesLookUpOnce() {
+		// controller check plus the same check in the logic
+		String admin = baseUrl + "/aii/admin";
+		String user = "?userSystemID=" + systemID + "&userEmail=" + ADMIN;
+
+		for (String route : List.of("/users", "/commands", "/stats/userRoleCache", "/stats/contention")) {
+			assertOneUserLookup("GET /aii/admin" + route,
+					() -> restTemplate.getForObject(admin + route + user, Object.class));
+		}
+		// the export logic checks the admin again on the streaming thread, outside the request: through the
+		// role cache, which expires immediately here
+		for (String route : List.of("/users/export", "/commands/export")) {
+			assertUserLookups("GET /aii/admin" + route, 2,
+					() -> restTemplate.getForObject(admin + route + user, String.class));
+		}
+		assertOneUserLookup("DELETE /aii/admin/commands", () -> restTemplate.delete(admin + "/commands" + user));
+		assertOneUserLookup("DELETE /aii/admin/objects", () -> restTemplate.delete(admin + "/objects" + user));
+		assertOneUserLookup("DELETE /aii/admin/users", () -> restTemplate.delete(admin + "/users" + user));
+		this.usersDeleted = true;
+	}
+
+	private void assertOneUserLookup(String route, Runnable request) {
+		assertUserLookups(route, 1, request);
+	}
+
+	private void assertUserLookups(String route, int lookups, Runnable request) {
+		SqlStatementCounter.reset();
+		request.run();
+		assertThat(SqlStatementCounter.countLookupsOn("users")).as(route + " " + SqlStatementCounter.statements())
+				.isEqualTo(lookups);
+	}
+
+	private ObjectBoundary spot(String alias) {
+		ObjectBoundary spot = new ObjectBoundary();
+		spot.setType("parking");
+		spot.setAlias(alias);
+		spot.setStatus("AVAILABLE");
+		spot.setActive(true);
+		spot.setLocation(new Location(32.1, 34.8));
+		spot.setCreatedBy(new CreatedBy(new UserBoundary.UserId(systemID, OPERATOR)));
+		return spot;
+	}
+
+	private CommandBoundary ping() {
+		CommandBoundary command = new CommandBoundary();
+		command.setCommand("ping");
+		command.setInvokedBy(new InvokedBy(new UserBoundary.UserId(systemID, DRIVER)));
+		command.setTargetObject(new TargetObject(new ObjectId(createdObject.getObjectId().getSystemID(),
+				createdObject.getObjectId().getId())));
+		command.setCommandAttributes(Map.of());
+		return command;
+	}
+}
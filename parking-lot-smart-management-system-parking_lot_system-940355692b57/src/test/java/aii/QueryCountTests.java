@@ -0,0 +1,92 @@
+package aii;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.client.RestTemplate;
+
+import aii.boundary.*;
+import aii.data.UserRole;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=aii.SqlStatementCounter" })
+class QueryCountTests {
+
+	@LocalServerPort
+	private int port;
+
+	private String baseUrl;
+	private RestTemplate restTemplate;
+
+	@Value("${spring.application.name}")
+	private String systemID;
+
+	private ObjectBoundary createdObject;
+
+	@BeforeEach
+	public void setup() {
+		this.baseUrl = "http://localhost:" + this.port;
+		this.restTemplate = new RestTemplate();
+
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary("admin@demo.org", UserRole.ADMIN, "Admin User", "admin-avatar"), UserBoundary.class);
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary("operator@demo.org", UserRole.OPERATOR, "Operator User", "operator-avatar"),
+				UserBoundary.class);
+
+		ObjectBoundary newObject = new ObjectBoundary();
+		newObject.setType("parking");
+		newObject.setAlias("spot-1");
+		newObject.setStatus("AVAILABLE");
+		newObject.setActive(true);
+		newObject.setLocation(new Location(32.1, 34.8));
+		newObject.setCreatedBy(new CreatedBy(new UserBoundary.UserId(systemID, "operator@demo.org")));
+		this.createdObject = restTemplate.postForObject(baseUrl + "/aii/objects", newObject, ObjectBoundary.class);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.restTemplate
+				.delete(baseUrl + "/aii/admin/objects?userSystemID=" + systemID + "&userEmail=admin@demo.org");
+		this.restTemplate
+				.delete(baseUrl + "/aii/admin/users?userSystemID=" + systemID + "&userEmail=admin@demo.org");
+	}
+
+	@Test
+	@DisplayName("Test: Get Object Issues a Single Query")
+	public void testGetObjectIssuesSingleQuery() {
+		String url = baseUrl + "/aii/objects/{systemID}/{id}?userSystemID={userSystemID}&userEmail={userEmail}";
+		Object[] params = { createdObject.getObjectId().getSystemID(), createdObject.getObjectId().getId(), systemID,
+				"operator@demo.org" };
+		restTemplate.getForObject(url, ObjectBoundary.class, params); // warm up the user role cache
+
+		SqlStatementCounter.reset();
+		ObjectBoundary retrieved = restTemplate.getForObject(url, ObjectBoundary.class, params);
+
+		assertThat(retrieved).isNotNull();
+		assertThat(SqlStatementCounter.statements()).hasSize(1);
+		assertThat(SqlStatementCounter.countOn("objects")).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Test: Get All Objects Issues a Single Query")
+	public void testGetAllObjectsIssuesSingleQuery() {
+		String url = baseUrl + "/aii/objects?userSystemID={userSystemID}&userEmail={userEmail}&page=0&size=10";
+		restTemplate.getForObject(url, ObjectBoundary[].class, systemID, "operator@demo.org"); // warm up
+
+		SqlStatementCounter.reset();
+		ObjectBoundary[] objects = restTemplate.getForObject(url, ObjectBoundary[].class, systemID,
+				"operator@demo.org");
+
+		assertThat(objects).hasSize(1);
+		assertThat(SqlStatementCounter.statements()).hasSize(1);
+		assertThat(SqlStatementCounter.countOn("objects")).isEqualTo(1);
+	}
+}
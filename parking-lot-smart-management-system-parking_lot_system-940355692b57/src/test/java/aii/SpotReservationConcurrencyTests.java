@@ -0,0 +1,154 @@
+package aii;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import aii.boundary.*;
+import aii.boundary.CommandBoundary.InvokedBy;
+import aii.boundary.CommandBoundary.TargetObject;
+import aii.data.UserRole;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+class SpotReservationConcurrencyTests {
+
+	private static final int DRIVERS = 24;
+	private static final int SPOTS = 3;
+
+	@LocalServerPort
+	private int port;
+
+	private String baseUrl;
+	private RestTemplate restTemplate;
+
+	@Value("${spring.application.name}")
+	private String systemID;
+
+	private final List<ObjectBoundary> spots = new ArrayList<>();
+
+	@BeforeEach
+	public void setup() {
+		this.baseUrl = "http://localhost:" + this.port;
+		this.restTemplate = new RestTemplate();
+
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary("admin@demo.org", UserRole.ADMIN, "Admin User", "admin-avatar"), UserBoundary.class);
+		restTemplate.postForObject(baseUrl + "/aii/users",
+				new NewUserBoundary("operator@demo.org", UserRole.OPERATOR, "Operator User", "operator-avatar"),
+				UserBoundary.class);
+		for (int i = 0; i < DRIVERS; i++) {
+			restTemplate.postForObject(baseUrl + "/aii/users",
+					new NewUserBoundary(driver(i), UserRole.END_USER, "Driver " + i, "driver-avatar"),
+					UserBoundary.class);
+		}
+
+		for (int i = 0; i < SPOTS; i++) {
+			ObjectBoundary newObject = new ObjectBoundary();
+			newObject.setType("parking");
+			newObject.setAlias("hot-spot-" + i);
+			newObject.setStatus("AVAILABLE");
+			newObject.setActive(true);
+			newObject.setLocation(new Location(32.1, 34.8));
+			newObject.setCreatedBy(new CreatedBy(new UserBoundary.UserId(systemID, "operator@demo.org")));
+			this.spots.add(restTemplate.postForObject(baseUrl + "/aii/objects", newObject, ObjectBoundary.class));
+		}
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.restTemplate
+				.delete(baseUrl + "/aii/admin/commands?userSystemID=" + systemID + "&userEmail=admin@demo.org");
+		this.restTemplate
+				.delete(baseUrl + "/aii/admin/objects?userSystemID=" + systemID + "&userEmail=admin@demo.org");
+		this.restTemplate
+				.delete(baseUrl + "/aii/admin/users?userSystemID=" + systemID + "&userEmail=admin@demo.org");
+	}
+
+	@Test
+	@DisplayName("Test: Concurrent Reservations Never Double Book a Spot")
+	public void testConcurrentReservationsNeverDoubleBook() throws Exception {
+		Map<String, AtomicInteger> winsPerSpot = new ConcurrentHashMap<>();
+		Map<String, String> winnerPerSpot = new ConcurrentHashMap<>();
+		AtomicInteger conflicts = new AtomicInteger();
+		AtomicInteger unexpected = new AtomicInteger();
+
+		ExecutorService executor = Executors.newFixedThreadPool(DRIVERS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (int i = 0; i < DRIVERS; i++) {
+				String driver = driver(i);
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (ObjectBoundary spot : spots) {
+						String spotId = spot.getObjectId().getId();
+						try {
+							restTemplate.postForObject(baseUrl + "/aii/commands", reserve(driver, spot), Object[].class);
+							winsPerSpot.computeIfAbsent(spotId, id -> new AtomicInteger()).incrementAndGet();
+							winnerPerSpot.put(spotId, driver);
+						} catch (HttpClientErrorException.Conflict e) {
+							conflicts.incrementAndGet();
+						} catch (RuntimeException e) {
+							unexpected.incrementAndGet();
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(2, TimeUnit.MINUTES);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(unexpected.get()).isZero();
+		assertThat(conflicts.get()).isEqualTo(SPOTS * (DRIVERS - 1));
+		for (ObjectBoundary spot : spots) {
+			String spotId = spot.getObjectId().getId();
+			assertThat(winsPerSpot.get(spotId)).as("reservations of " + spotId).hasValue(1);
+
+			ObjectBoundary stored = restTemplate.getForObject(
+					baseUrl + "/aii/objects/{systemID}/{id}?userSystemID={userSystemID}&userEmail={userEmail}",
+					ObjectBoundary.class, spot.getObjectId().getSystemID(), spotId, systemID, "operator@demo.org");
+			assertThat(stored.getStatus()).isEqualTo("RESERVED");
+			assertThat(stored.getObjectDetails()).containsEntry("heldBy",
+					winnerPerSpot.get(spotId) + "@@" + systemID);
+		}
+	}
+
+	private CommandBoundary reserve(String driver, ObjectBoundary spot) {
+		CommandBoundary command = new CommandBoundary();
+		command.setCommand("reserve");
+		command.setInvokedBy(new InvokedBy(new UserBoundary.UserId(systemID, driver)));
+		command.setTargetObject(new TargetObject(new ObjectId(spot.getObjectId().getSystemID(),
+				spot.getObjectId().getId())));
+		command.setCommandAttributes(Map.of());
+		return command;
+	}
+
+	private static String driver(int i) {
+		return "driver" + i + "@demo.org";
+	}
+}
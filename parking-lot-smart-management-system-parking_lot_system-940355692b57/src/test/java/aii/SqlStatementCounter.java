@@ -0,0 +1,41 @@
+package aii;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Records every SQL statement Hibernate prepares, so tests can assert how many queries a request issues.
+// Enabled per test class with:
+// spring.jpa.properties.hibernate.session_factory.statement_inspector=aii.SqlStatementCounter
+public class SqlStatementCounter implements StatementInspector {
+	private static final long serialVersionUID = 1L;
+
+	private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+	@Override
+	public String inspect(String sql) {
+		statements.add(sql);
+		return sql;
+	}
+
+	public static void reset() {
+		statements.clear();
+	}
+
+	public static List<String> statements() {
+		return List.copyOf(statements);
+	}
+
+	// Statements that read from / write to the given table
+	public static long countOn(String table) {
+		String pattern = ".*\\b" + table.toLowerCase() + "\\b.*";
+		return statements.stream().filter(sql -> sql.toLowerCase().replace('\n', ' ').matches(pattern)).count();
+	}
+
+	// SELECTs that look rows of the given table up (have a WHERE), i.e. not the listings and counts of a page
+	public static long countLookupsOn(String table) {
+		String pattern = "select .* from " + table.toLowerCase() + "\\b.* where .*";
+		return statements.stream().filter(sql -> sql.toLowerCase().replace('\n', ' ').matches(pattern)).count();
+	}
+}